@@ -5,17 +5,11 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Random;
 import java.util.Scanner;
 
 @Configuration
 public class AppConfig {
 
-    @Bean
-    public Random random() {
-        return new Random();
-    }
-
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -23,9 +17,6 @@ public class AppConfig {
         // Write dates as strings instead of timestamps
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        // Pretty print JSON output
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-
         return mapper;
     }
 
@@ -0,0 +1,28 @@
+package com.flashcard.config;
+
+import com.flashcard.model.Card;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in spaced repetition state for cards created before scheduling existed.
+ * Such cards become due at their creation time, so the due-card index covers every card.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class CardScheduleInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initializeSchedules() {
+        jdbcTemplate.update("UPDATE cards SET due_at = COALESCE(created_at, CURRENT_TIMESTAMP), "
+                        + "interval_days = 0, ease_factor = ?, repetitions = 0, lapses = 0 "
+                        + "WHERE due_at IS NULL",
+                Card.INITIAL_EASE_FACTOR);
+    }
+}
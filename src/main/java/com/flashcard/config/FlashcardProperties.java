@@ -0,0 +1,179 @@
+package com.flashcard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application settings bound from the "flashcard.*" properties
+ */
+@Component
+@ConfigurationProperties(prefix = "flashcard")
+@Getter
+@Setter
+public class FlashcardProperties {
+
+    private File file = new File();
+
+    private Jobs jobs = new Jobs();
+
+    private Quiz quiz = new Quiz();
+
+    private ReviewLog reviewLog = new ReviewLog();
+
+    /**
+     * Settings for file import/export operations
+     */
+    @Getter
+    @Setter
+    public static class File {
+
+        /**
+         * Number of cards written to the database per transaction during import
+         */
+        private int importBatchSize = 1000;
+
+        /**
+         * Whether JSON exports are indented for readability
+         */
+        private boolean prettyPrintJson = true;
+
+        /**
+         * Target size in bytes of the record-aligned chunks used by large CSV imports
+         */
+        private long largeImportChunkSize = 16L * 1024 * 1024;
+
+        /**
+         * Number of threads parsing large CSV imports; 0 uses one per available processor
+         */
+        private int importThreads = 0;
+
+        /**
+         * Maximum number of files imported concurrently by a directory import.
+         * Each worker holds a database connection, so keep this below the connection pool size.
+         */
+        private int directoryImportThreads = 8;
+    }
+
+    /**
+     * Settings for background import/export jobs
+     */
+    @Getter
+    @Setter
+    public static class Jobs {
+
+        /**
+         * Number of jobs that run at the same time; further jobs wait in a queue
+         */
+        private int threads = 2;
+
+        /**
+         * Seconds to wait for running jobs to stop on shutdown
+         */
+        private int shutdownTimeoutSeconds = 10;
+    }
+
+    /**
+     * Settings for quiz sessions
+     */
+    @Getter
+    @Setter
+    public static class Quiz {
+
+        /**
+         * Maximum number of due cards fetched for one quiz session
+         */
+        private int sessionSize = 50;
+
+        /**
+         * Number of cards fetched at a time by sessions that review every due card of a deck
+         */
+        private int pageSize = 20;
+
+        /**
+         * Number of threads loading the next page of such sessions in the background
+         */
+        private int prefetchThreads = 2;
+
+        /**
+         * Maximum number of cards in one quiz session, which bounds its memory at 8 bytes per card
+         */
+        private int maxSessionCards = 1_000_000;
+
+        /**
+         * Maximum number of quiz sessions active at the same time
+         */
+        private int maxActiveSessions = 10000;
+
+        /**
+         * Minutes after which an unused quiz session is closed
+         */
+        private int sessionIdleTimeoutMinutes = 30;
+
+        /**
+         * Maximum number of compiled answer matchers kept in memory; 0 disables caching
+         */
+        private int matcherCacheSize = 10000;
+
+        /**
+         * Maximum number of typos (Levenshtein edits) accepted in an answer; 0 disables typo tolerance.
+         * When enabled it replaces the substring match for long answers.
+         */
+        private int maxTypoDistance = 0;
+
+        /**
+         * Number of threads grading batches of answers; 0 uses one per available processor
+         */
+        private int gradingThreads = 0;
+
+        /**
+         * Number of decks whose cards are kept in shared in-memory snapshots for starting quizzes; 0 disables them
+         */
+        private int snapshotCacheSize = 100;
+
+        /**
+         * Decks with more cards than this are not snapshotted and quizzes on them query the database
+         */
+        private int snapshotMaxCards = 50_000;
+    }
+
+    /**
+     * Settings for the write-behind log of quiz answers
+     */
+    @Getter
+    @Setter
+    public static class ReviewLog {
+
+        /**
+         * What recording an answer does when the write queue is full
+         */
+        public enum OverflowPolicy {
+            /**
+             * Wait until the writer has made room
+             */
+            BLOCK,
+            /**
+             * Discard the answer and count it as dropped
+             */
+            DROP
+        }
+
+        /**
+         * Maximum number of answers waiting to be written
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Maximum number of answers written per JDBC batch
+         */
+        private int batchSize = 500;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        /**
+         * Seconds to wait for queued answers to be written on shutdown
+         */
+        private int shutdownTimeoutSeconds = 10;
+    }
+}
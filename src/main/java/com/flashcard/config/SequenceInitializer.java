@@ -0,0 +1,43 @@
+package com.flashcard.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequences past existing rows on startup.
+ * Databases created while ids were IDENTITY columns already contain rows
+ * the freshly created sequences know nothing about.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SequenceInitializer {
+
+    /**
+     * Must match allocationSize of the entity sequence generators
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        alignSequence("decks", "deck_seq");
+        alignSequence("cards", "card_seq");
+        alignSequence("file_jobs", "file_job_seq");
+    }
+
+    /**
+     * Restart sequence so the next pooled block starts above the highest id in the table
+     */
+    private void alignSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE + 1));
+    }
+}
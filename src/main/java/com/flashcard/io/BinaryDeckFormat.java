@@ -0,0 +1,40 @@
+package com.flashcard.io;
+
+/**
+ * Constants of the binary deck file format.
+ *
+ * Layout (all integers big-endian):
+ * <pre>
+ * header: magic "FCDK" | version u8 | flags u8 | name length i32 | name UTF-8 | card count i64
+ * block:  card count i32 | raw length i32 | stored length i32 | CRC32 of stored bytes i32 | stored bytes
+ * raw block payload, per card: question length i32 | question UTF-8 | answer length i32 | answer UTF-8
+ * </pre>
+ * When FLAG_DEFLATE is set, the stored bytes of every block are the raw payload compressed with Deflate.
+ */
+public final class BinaryDeckFormat {
+
+    public static final int MAGIC = 0x4643444B; // "FCDK"
+    public static final byte VERSION = 1;
+
+    public static final byte FLAG_DEFLATE = 0x01;
+
+    /**
+     * Card count held in the header until the writer finishes, so a file left by a failed export is rejected
+     */
+    public static final long INCOMPLETE_CARD_COUNT = -1L;
+
+    /**
+     * Raw payload size after which a block is written out
+     */
+    public static final int TARGET_BLOCK_SIZE = 64 * 1024;
+
+    public static final int BLOCK_HEADER_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * Upper bound for any length field, protecting readers from corrupted files
+     */
+    public static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private BinaryDeckFormat() {
+    }
+}
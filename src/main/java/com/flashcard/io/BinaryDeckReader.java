@@ -0,0 +1,218 @@
+package com.flashcard.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads cards in the binary deck format from a FileChannel, one block at a time.
+ * Every block's checksum is verified before its cards are returned.
+ * The current card is exposed through {@link #getQuestion()} and {@link #getAnswer()}
+ * after a successful call to {@link #next()}.
+ */
+public class BinaryDeckReader implements CardRecordReader {
+
+    private final FileChannel channel;
+    private final Inflater inflater;
+    private final CRC32 crc = new CRC32();
+
+    private final String deckName;
+    private final long cardCount;
+    private final boolean compressed;
+
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BinaryDeckFormat.BLOCK_HEADER_SIZE);
+    private ByteBuffer storedBlock = ByteBuffer.allocate(BinaryDeckFormat.TARGET_BLOCK_SIZE);
+    private ByteBuffer rawBlock = ByteBuffer.allocate(BinaryDeckFormat.TARGET_BLOCK_SIZE);
+    private int blockCardsRemaining;
+    private long cardsRead;
+
+    private String question;
+    private String answer;
+
+    public BinaryDeckReader(FileChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+
+        ByteBuffer header = readExactly(ByteBuffer.allocate(4 + 1 + 1 + 4), "header");
+        if (header.getInt() != BinaryDeckFormat.MAGIC) {
+            throw new IOException("Not a binary deck file");
+        }
+        byte version = header.get();
+        if (version != BinaryDeckFormat.VERSION) {
+            throw new IOException("Unsupported binary deck version: " + version);
+        }
+        compressed = (header.get() & BinaryDeckFormat.FLAG_DEFLATE) != 0;
+
+        int nameLength = checkLength(header.getInt(), "deck name");
+        ByteBuffer rest = readExactly(ByteBuffer.allocate(nameLength + Long.BYTES), "header");
+        deckName = new String(rest.array(), 0, nameLength, StandardCharsets.UTF_8);
+        rest.position(nameLength);
+        cardCount = rest.getLong();
+        if (cardCount == BinaryDeckFormat.INCOMPLETE_CARD_COUNT) {
+            throw new IOException("Incomplete binary deck file: the export did not finish");
+        }
+        if (cardCount < 0) {
+            throw new IOException("Corrupted binary deck file: negative card count");
+        }
+
+        inflater = compressed ? new Inflater() : null;
+    }
+
+    @Override
+    public String getDeckName() {
+        return deckName;
+    }
+
+    public long getCardCount() {
+        return cardCount;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Advance to the next card
+     * Returns false once all cards announced in the header have been read
+     */
+    @Override
+    public boolean next() throws IOException {
+        if (cardsRead >= cardCount) {
+            return false;
+        }
+        if (blockCardsRemaining == 0) {
+            readBlock();
+        }
+
+        question = readString(rawBlock);
+        answer = readString(rawBlock);
+        blockCardsRemaining--;
+        cardsRead++;
+        return true;
+    }
+
+    @Override
+    public String getQuestion() {
+        return question;
+    }
+
+    @Override
+    public String getAnswer() {
+        return answer;
+    }
+
+    @Override
+    public long getSourceLine() {
+        return cardsRead;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private void readBlock() throws IOException {
+        blockHeader.clear();
+        readExactly(blockHeader, "block header");
+        int blockCards = blockHeader.getInt();
+        int rawLength = checkLength(blockHeader.getInt(), "block");
+        int storedLength = checkLength(blockHeader.getInt(), "block");
+        int checksum = blockHeader.getInt();
+        if (blockCards <= 0) {
+            throw new IOException("Corrupted binary deck file: empty block after card " + cardsRead);
+        }
+
+        storedBlock = ensureCapacity(storedBlock, storedLength);
+        storedBlock.limit(storedLength);
+        readExactly(storedBlock, "block");
+
+        crc.reset();
+        crc.update(storedBlock.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in block after card " + cardsRead);
+        }
+
+        if (compressed) {
+            rawBlock = ensureCapacity(rawBlock, rawLength);
+            inflate(storedBlock, rawBlock, rawLength);
+        } else {
+            if (storedLength != rawLength) {
+                throw new IOException("Corrupted binary deck file: block length mismatch");
+            }
+            // Swap buffers so the stored bytes are read in place
+            ByteBuffer swap = rawBlock;
+            rawBlock = storedBlock;
+            storedBlock = swap;
+        }
+        blockCardsRemaining = blockCards;
+    }
+
+    private void inflate(ByteBuffer source, ByteBuffer target, int rawLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(source.array(), source.position(), source.remaining());
+        target.clear();
+        try {
+            int total = 0;
+            while (total < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(target.array(), total, rawLength - total);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += inflated;
+            }
+            if (total != rawLength) {
+                throw new IOException("Corrupted binary deck file: block decompressed to "
+                        + total + " bytes, expected " + rawLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted binary deck file: " + e.getMessage(), e);
+        }
+        target.limit(rawLength);
+    }
+
+    private String readString(ByteBuffer block) throws IOException {
+        if (block.remaining() < Integer.BYTES) {
+            throw new IOException("Corrupted binary deck file: truncated block after card " + cardsRead);
+        }
+        int length = block.getInt();
+        if (length < 0 || length > block.remaining()) {
+            throw new IOException("Corrupted binary deck file: invalid string length after card " + cardsRead);
+        }
+        String value = new String(block.array(), block.arrayOffset() + block.position(), length, StandardCharsets.UTF_8);
+        block.position(block.position() + length);
+        return value;
+    }
+
+    private ByteBuffer readExactly(ByteBuffer buffer, String what) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of binary deck file while reading " + what);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int capacity) {
+        if (buffer.capacity() >= capacity) {
+            buffer.clear();
+            return buffer;
+        }
+        return ByteBuffer.allocate(capacity);
+    }
+
+    private static int checkLength(int length, String what) throws IOException {
+        if (length < 0 || length > BinaryDeckFormat.MAX_BLOCK_SIZE) {
+            throw new IOException("Corrupted binary deck file: invalid " + what + " length " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,167 @@
+package com.flashcard.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes cards in the binary deck format to a FileChannel.
+ * Cards are collected into blocks of about {@link BinaryDeckFormat#TARGET_BLOCK_SIZE} bytes,
+ * each written with its own checksum and optionally Deflate-compressed.
+ * The card count in the header is filled in by {@link #finish()}; a file closed without finishing
+ * keeps {@link BinaryDeckFormat#INCOMPLETE_CARD_COUNT} and is rejected by readers.
+ */
+public class BinaryDeckWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+
+    private final long cardCountPosition;
+    private ByteBuffer rawBlock = ByteBuffer.allocate(BinaryDeckFormat.TARGET_BLOCK_SIZE + 4096);
+    private ByteBuffer storedBlock = ByteBuffer.allocate(BinaryDeckFormat.TARGET_BLOCK_SIZE + 4096);
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BinaryDeckFormat.BLOCK_HEADER_SIZE);
+    private int blockCardCount;
+    private long cardCount;
+    private boolean finished;
+    private boolean closed;
+
+    public BinaryDeckWriter(FileChannel channel, String deckName, boolean compress) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (deckName == null) {
+            throw new IllegalArgumentException("Deck name cannot be null");
+        }
+        this.channel = channel;
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+
+        byte[] name = deckName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 + 1 + 1 + 4 + name.length + 8);
+        header.putInt(BinaryDeckFormat.MAGIC);
+        header.put(BinaryDeckFormat.VERSION);
+        header.put(compress ? BinaryDeckFormat.FLAG_DEFLATE : 0);
+        header.putInt(name.length);
+        header.put(name);
+        cardCountPosition = channel.position() + header.position();
+        header.putLong(BinaryDeckFormat.INCOMPLETE_CARD_COUNT);
+        header.flip();
+        writeFully(header);
+    }
+
+    /**
+     * Append a card to the current block
+     */
+    public void write(String question, String answer) throws IOException {
+        if (finished || closed) {
+            throw new IOException("Writer is closed");
+        }
+        byte[] questionBytes = question.getBytes(StandardCharsets.UTF_8);
+        byte[] answerBytes = answer.getBytes(StandardCharsets.UTF_8);
+
+        int needed = 2 * Integer.BYTES + questionBytes.length + answerBytes.length;
+        if (rawBlock.remaining() < needed) {
+            flushBlock();
+            if (rawBlock.capacity() < needed) {
+                rawBlock = ByteBuffer.allocate(needed);
+            }
+        }
+
+        rawBlock.putInt(questionBytes.length).put(questionBytes);
+        rawBlock.putInt(answerBytes.length).put(answerBytes);
+        blockCardCount++;
+        cardCount++;
+
+        if (rawBlock.position() >= BinaryDeckFormat.TARGET_BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    public long getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * Write the last block and patch the card count into the header, once every card was written
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        if (finished) {
+            return;
+        }
+        flushBlock();
+        ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, cardCount);
+        channel.write(count, cardCountPosition);
+        finished = true;
+    }
+
+    /**
+     * Release the compressor. Cards of an unfinished block are dropped and the header is left incomplete.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockCardCount == 0) {
+            return;
+        }
+
+        rawBlock.flip();
+        int rawLength = rawBlock.remaining();
+        ByteBuffer stored = deflater != null ? deflate(rawBlock) : rawBlock;
+
+        crc.reset();
+        crc.update(stored.duplicate());
+
+        blockHeader.clear();
+        blockHeader.putInt(blockCardCount)
+                .putInt(rawLength)
+                .putInt(stored.remaining())
+                .putInt((int) crc.getValue())
+                .flip();
+        writeFully(blockHeader);
+        writeFully(stored);
+
+        rawBlock.clear();
+        blockCardCount = 0;
+    }
+
+    private ByteBuffer deflate(ByteBuffer raw) {
+        deflater.reset();
+        deflater.setInput(raw.array(), raw.position(), raw.remaining());
+        deflater.finish();
+
+        storedBlock.clear();
+        while (!deflater.finished()) {
+            if (!storedBlock.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(storedBlock.capacity() * 2);
+                storedBlock.flip();
+                larger.put(storedBlock);
+                storedBlock = larger;
+            }
+            int written = deflater.deflate(storedBlock.array(), storedBlock.position(), storedBlock.remaining());
+            storedBlock.position(storedBlock.position() + written);
+        }
+        return storedBlock.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
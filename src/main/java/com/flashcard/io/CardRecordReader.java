@@ -0,0 +1,30 @@
+package com.flashcard.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential reader of question/answer records from a deck file
+ */
+public interface CardRecordReader extends Closeable {
+
+    /**
+     * Deck name stored in the file, or null if the format or file has none
+     */
+    String getDeckName();
+
+    /**
+     * Advance to the next card
+     * Returns false when there are no more cards
+     */
+    boolean next() throws IOException;
+
+    String getQuestion();
+
+    String getAnswer();
+
+    /**
+     * Line on which the current card starts, or its 1-based position for formats without lines
+     */
+    long getSourceLine();
+}
@@ -0,0 +1,137 @@
+package com.flashcard.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Opens file streams that transparently compress or decompress based on the file extension.
+ * Data is always streamed; a compressed file is never expanded to disk or into memory first.
+ */
+public final class CompressedStreams {
+
+    /**
+     * Buffer size for the compressor/decompressor and the underlying file stream
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compression codec, detected from the last file extension
+     */
+    public enum Codec {
+        NONE(""),
+        GZIP(".gz"),
+        DEFLATE(".deflate");
+
+        private final String extension;
+
+        Codec(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private CompressedStreams() {
+    }
+
+    /**
+     * Detect the codec from the file name
+     */
+    public static Codec detect(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(Codec.GZIP.extension)) {
+            return Codec.GZIP;
+        }
+        if (fileName.endsWith(Codec.DEFLATE.extension)) {
+            return Codec.DEFLATE;
+        }
+        return Codec.NONE;
+    }
+
+    /**
+     * File name without the compression extension, e.g. "deck.json.gz" becomes "deck.json"
+     */
+    public static String stripCompressionExtension(String fileName) {
+        String lowerCase = fileName.toLowerCase();
+        for (Codec codec : Codec.values()) {
+            if (codec != Codec.NONE && lowerCase.endsWith(codec.extension)) {
+                return fileName.substring(0, fileName.length() - codec.extension.length());
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Open a decompressing input stream for the file
+     */
+    public static InputStream newInputStream(Path path) throws IOException {
+        return wrapInput(Files.newInputStream(path), detect(path));
+    }
+
+    /**
+     * Wrap a raw input stream in a decompressing stream for the codec.
+     * The raw stream is closed if wrapping fails.
+     */
+    public static InputStream wrapInput(InputStream input, Codec codec) throws IOException {
+        try {
+            return switch (codec) {
+                case GZIP -> new GZIPInputStream(input, BUFFER_SIZE);
+                case DEFLATE -> new InflaterInputStream(input, new Inflater(), BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        // A caller-supplied Inflater is not released by InflaterInputStream itself
+                        try {
+                            super.close();
+                        } finally {
+                            inf.end();
+                        }
+                    }
+                };
+                case NONE -> new BufferedInputStream(input, BUFFER_SIZE);
+            };
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a compressing output stream for the file, replacing any existing content
+     */
+    public static OutputStream newOutputStream(Path path) throws IOException {
+        OutputStream output = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        try {
+            return switch (detect(path)) {
+                case GZIP -> new GZIPOutputStream(output, BUFFER_SIZE);
+                case DEFLATE -> new DeflaterOutputStream(output, new Deflater(), BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        // A caller-supplied Deflater is not released by DeflaterOutputStream itself
+                        try {
+                            super.close();
+                        } finally {
+                            def.end();
+                        }
+                    }
+                };
+                case NONE -> output;
+            };
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.flashcard.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads cards from a "Question,Answer" CSV file.
+ * The header record is skipped, as are empty lines and records with a blank question or answer.
+ */
+public class CsvCardReader implements CardRecordReader {
+
+    private final CsvReader csvReader;
+    private String question;
+    private String answer;
+
+    public CsvCardReader(Reader reader) throws IOException {
+        this.csvReader = new CsvReader(reader);
+        // Skip header record
+        csvReader.nextRecord();
+    }
+
+    @Override
+    public String getDeckName() {
+        return null;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (csvReader.nextRecord()) {
+            // Skip empty lines and records without an answer column
+            if (csvReader.getFieldCount() < 2) {
+                continue;
+            }
+
+            String nextQuestion = csvReader.getField(0);
+            String nextAnswer = csvReader.getField(1);
+            if (!nextQuestion.trim().isEmpty() && !nextAnswer.trim().isEmpty()) {
+                question = nextQuestion;
+                answer = nextAnswer;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getQuestion() {
+        return question;
+    }
+
+    @Override
+    public String getAnswer() {
+        return answer;
+    }
+
+    @Override
+    public long getSourceLine() {
+        return csvReader.getRecordLineNumber();
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+}
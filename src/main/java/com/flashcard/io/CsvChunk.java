@@ -0,0 +1,27 @@
+package com.flashcard.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Byte range of a CSV file that starts and ends on a record boundary
+ */
+@Getter
+@AllArgsConstructor
+public class CsvChunk {
+
+    private final int index;
+    private final long offset;
+    private final long length;
+
+    /**
+     * Line number (1-based) of the first line in the chunk
+     */
+    private final long firstLine;
+
+    @Override
+    public String toString() {
+        return String.format("CsvChunk{index=%d, offset=%d, length=%d, firstLine=%d}",
+                index, offset, length, firstLine);
+    }
+}
@@ -0,0 +1,74 @@
+package com.flashcard.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a CSV file into record-aligned chunks that can be parsed independently.
+ * The file is scanned once through memory-mapped windows, tracking quote state,
+ * so a chunk never ends on a line break that sits inside a quoted field.
+ */
+public final class CsvChunker {
+
+    private static final long SCAN_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private CsvChunker() {
+    }
+
+    /**
+     * Split the channel contents into chunks of roughly the target size
+     */
+    public static List<CsvChunk> split(FileChannel channel, long targetChunkSize) throws IOException {
+        if (targetChunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (targetChunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size cannot exceed " + Integer.MAX_VALUE + " bytes");
+        }
+
+        long size = channel.size();
+        List<CsvChunk> chunks = new ArrayList<>();
+
+        long chunkStart = 0;
+        long chunkFirstLine = 1;
+        long line = 1;
+        boolean inQuotes = false;
+
+        for (long windowStart = 0; windowStart < size; windowStart += SCAN_WINDOW_SIZE) {
+            int windowSize = (int) Math.min(SCAN_WINDOW_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+
+            for (int i = 0; i < windowSize; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    // A doubled quote toggles twice, so escaped quotes leave the state unchanged
+                    inQuotes = !inQuotes;
+                } else if (b == '\n') {
+                    line++;
+                    long recordEnd = windowStart + i + 1;
+                    if (!inQuotes && recordEnd - chunkStart >= targetChunkSize) {
+                        addChunk(chunks, chunkStart, recordEnd, chunkFirstLine);
+                        chunkStart = recordEnd;
+                        chunkFirstLine = line;
+                    }
+                }
+            }
+        }
+
+        if (chunkStart < size) {
+            addChunk(chunks, chunkStart, size, chunkFirstLine);
+        }
+
+        return chunks;
+    }
+
+    private static void addChunk(List<CsvChunk> chunks, long start, long end, long firstLine) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Chunk starting on line " + firstLine + " is too large to map");
+        }
+        chunks.add(new CsvChunk(chunks.size(), start, end - start, firstLine));
+    }
+}
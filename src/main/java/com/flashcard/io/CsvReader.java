@@ -0,0 +1,263 @@
+package com.flashcard.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV tokenizer working on a reusable char buffer.
+ * Handles quoted fields with embedded commas, newlines and doubled quotes,
+ * CRLF/LF/CR line endings and a leading byte order mark.
+ * Fields of the current record are exposed through {@link #getField(int)}
+ * and are only valid until the next call to {@link #nextRecord()}.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean started;
+
+    // Used only for fields that span buffer refills or contain escaped quotes
+    private final StringBuilder fieldBuilder = new StringBuilder();
+
+    private String[] fields = new String[4];
+    private int fieldCount;
+
+    private long lineNumber = 1;
+    private long recordLineNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader reader, int bufferSize) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Advance to the next record
+     * Returns false when the end of input has been reached
+     */
+    public boolean nextRecord() throws IOException {
+        if (!started) {
+            started = true;
+            if (ensureData() && buffer[position] == BOM) {
+                position++;
+            }
+        }
+        if (!ensureData()) {
+            fieldCount = 0;
+            return false;
+        }
+
+        recordLineNumber = lineNumber;
+        fieldCount = 0;
+        while (!readField()) {
+            // keep reading fields until the record ends
+        }
+        return true;
+    }
+
+    /**
+     * Number of fields in the current record
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Field of the current record by zero-based index
+     */
+    public String getField(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field index " + index + " out of range for " + fieldCount + " fields");
+        }
+        return fields[index];
+    }
+
+    /**
+     * Line number (1-based) on which the current record starts
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Read one field; returns true if it was the last field of the record
+     */
+    private boolean readField() throws IOException {
+        if (!ensureData()) {
+            // Input ended right after a comma
+            addField("");
+            return true;
+        }
+        if (buffer[position] == '"') {
+            position++;
+            return readQuotedField();
+        }
+        return readUnquotedField();
+    }
+
+    private boolean readUnquotedField() throws IOException {
+        fieldBuilder.setLength(0);
+        boolean buffered = false;
+
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == ',' || c == '\n' || c == '\r') {
+                    if (buffered) {
+                        fieldBuilder.append(buffer, start, position - start);
+                        addField(fieldBuilder.toString());
+                    } else {
+                        addField(new String(buffer, start, position - start));
+                    }
+                    return consumeDelimiter(c);
+                }
+                position++;
+            }
+
+            // Field continues past the end of the buffer
+            fieldBuilder.append(buffer, start, position - start);
+            buffered = true;
+            if (!fill()) {
+                addField(fieldBuilder.toString());
+                return true;
+            }
+        }
+    }
+
+    private boolean readQuotedField() throws IOException {
+        fieldBuilder.setLength(0);
+        boolean buffered = false;
+        int start = position;
+
+        while (true) {
+            if (position >= limit) {
+                fieldBuilder.append(buffer, start, position - start);
+                buffered = true;
+                if (!fill()) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                start = position;
+            }
+
+            char c = buffer[position];
+            if (c != '"') {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                position++;
+                continue;
+            }
+
+            int end = position++;
+            if (position >= limit) {
+                // Need the next buffer to tell an escaped quote from a closing one
+                fieldBuilder.append(buffer, start, end - start);
+                buffered = true;
+                if (!fill()) {
+                    addField(fieldBuilder.toString());
+                    return true;
+                }
+                start = position;
+                if (buffer[position] == '"') {
+                    fieldBuilder.append('"');
+                    start = ++position;
+                    continue;
+                }
+            } else if (buffer[position] == '"') {
+                // Escaped quote: keep one of the pair
+                fieldBuilder.append(buffer, start, end - start + 1);
+                buffered = true;
+                start = ++position;
+                continue;
+            } else if (buffered) {
+                fieldBuilder.append(buffer, start, end - start);
+            }
+
+            addField(buffered ? fieldBuilder.toString() : new String(buffer, start, end - start));
+            return skipToDelimiter();
+        }
+    }
+
+    /**
+     * Skip stray characters between a closing quote and the next delimiter
+     */
+    private boolean skipToDelimiter() throws IOException {
+        while (ensureData()) {
+            char c = buffer[position];
+            if (c == ',' || c == '\n' || c == '\r') {
+                return consumeDelimiter(c);
+            }
+            position++;
+        }
+        return true;
+    }
+
+    /**
+     * Consume a delimiter; returns true if it ended the record
+     */
+    private boolean consumeDelimiter(char c) throws IOException {
+        position++;
+        if (c == ',') {
+            return false;
+        }
+        lineNumber++;
+        if (c == '\r' && ensureData() && buffer[position] == '\n') {
+            position++;
+        }
+        return true;
+    }
+
+    private void addField(String value) {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+        }
+        fields[fieldCount++] = value;
+    }
+
+    private boolean ensureData() throws IOException {
+        return position < limit || fill();
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+
+        if (read < 0) {
+            endOfInput = true;
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.flashcard.io;
+
+import java.nio.file.Path;
+
+/**
+ * Deck file formats supported for import and export, detected from the file extension.
+ * A trailing compression extension such as ".gz" is ignored.
+ */
+public enum DeckFileFormat {
+    JSON(".json"),
+    CSV(".csv"),
+    BINARY(".fcdk");
+
+    private final String extension;
+
+    DeckFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Detect the format of a file, or return null if the extension is not recognized
+     */
+    public static DeckFileFormat detect(Path path) {
+        String fileName = CompressedStreams.stripCompressionExtension(path.getFileName().toString()).toLowerCase();
+        for (DeckFileFormat format : values()) {
+            if (fileName.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
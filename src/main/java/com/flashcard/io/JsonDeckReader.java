@@ -0,0 +1,118 @@
+package com.flashcard.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads cards from a deck in the JSON export format token by token:
+ * {"name": "...", "cards": [{"question": "...", "answer": "..."}, ...]}
+ * Only the current card is held in memory.
+ */
+public class JsonDeckReader implements CardRecordReader {
+
+    private final JsonParser parser;
+    private String deckName;
+    private boolean inCards;
+    private String question;
+    private String answer;
+    private long sourceLine;
+
+    /**
+     * Reads up to the start of the cards array; the deck name is available if it comes first
+     */
+    public JsonDeckReader(JsonParser parser) throws IOException {
+        this.parser = parser;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid deck file: expected JSON object at root");
+        }
+        readFieldsUntilCards();
+        if (!inCards && deckName == null) {
+            throw new IOException("Invalid deck file: missing deck name");
+        }
+    }
+
+    @Override
+    public String getDeckName() {
+        return deckName;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (!inCards) {
+            return false;
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            inCards = false;
+            readFieldsUntilCards();
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid deck file: expected card object in 'cards' array");
+        }
+
+        question = null;
+        answer = null;
+        sourceLine = parser.currentTokenLocation().getLineNr();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("question".equals(field) && value.isScalarValue()) {
+                question = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else if ("answer".equals(field) && value.isScalarValue()) {
+                answer = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getQuestion() {
+        return question;
+    }
+
+    @Override
+    public String getAnswer() {
+        return answer;
+    }
+
+    @Override
+    public long getSourceLine() {
+        return sourceLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Read root object fields until the cards array starts or the object ends
+     */
+    private void readFieldsUntilCards() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+                if (deckName == null) {
+                    deckName = parser.getText();
+                }
+            } else if ("cards".equals(field) && value == JsonToken.START_ARRAY) {
+                inCards = true;
+                return;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Invalid deck file: unexpected end of JSON");
+        }
+    }
+}
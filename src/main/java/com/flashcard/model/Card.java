@@ -1,8 +1,11 @@
 package com.flashcard.model;
 
+import com.flashcard.util.AnswerNormalizer;
+import com.flashcard.util.ContentHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,13 +15,22 @@ import java.time.LocalDateTime;
  * Entity representing a flashcard with question and answer
  */
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = {
+        @Index(name = "idx_cards_deck_created", columnList = "deck_id, created_at"),
+        @Index(name = "idx_cards_deck_content_hash", columnList = "deck_id, content_hash"),
+        @Index(name = "idx_cards_deck_due", columnList = "deck_id, due_at")
+})
 @Getter
 @Setter
 public class Card {
 
+    public static final double INITIAL_EASE_FACTOR = 2.5;
+
+    public static final int NORMALIZED_ANSWER_LENGTH = 1000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_seq")
+    @SequenceGenerator(name = "card_seq", sequenceName = "card_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Question cannot be empty")
@@ -28,25 +40,90 @@ public class Card {
 
     @NotBlank(message = "Answer cannot be empty")
     @Size(max = 500, message = "Answer cannot exceed 500 characters")
+    @Setter(AccessLevel.NONE)
     @Column(nullable = false, length = 500)
     private String answer;
 
+    /**
+     * Answer variants folded for grading, see {@link AnswerNormalizer#normalizeAnswer(String)}.
+     * Null for cards saved before normalization existed or whose folded form does not fit the column.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "normalized_answer", length = NORMALIZED_ANSWER_LENGTH)
+    private String normalizedAnswer;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * Digest of the normalized question, see {@link ContentHash}
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "question_hash")
+    private Long questionHash;
+
+    /**
+     * Digest of the normalized question and exact answer, see {@link ContentHash}
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "content_hash")
+    private Long contentHash;
+
+    // Spaced repetition state, maintained by SpacedRepetitionScheduler
+
+    /**
+     * Days between the last review and the next one; 0 until the first successful review
+     */
+    @Column(name = "interval_days")
+    private Integer intervalDays;
+
+    @Column(name = "ease_factor")
+    private Double easeFactor;
+
+    /**
+     * Successful reviews in a row since the card was last forgotten
+     */
+    @Column(name = "repetitions")
+    private Integer repetitions;
+
+    /**
+     * Number of times the card was forgotten after having been learned
+     */
+    @Column(name = "lapses")
+    private Integer lapses;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "last_reviewed_at")
+    private LocalDateTime lastReviewedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "deck_id", nullable = false)
     private Deck deck;
 
+    /**
+     * Maintained by ReviewLogWriter; null while every statistics column is null
+     */
+    @Setter(AccessLevel.NONE)
+    @Embedded
+    private LearningStats learningStats;
+
     // Constructors
     public Card() {
         this.createdAt = LocalDateTime.now();
+        this.intervalDays = 0;
+        this.easeFactor = INITIAL_EASE_FACTOR;
+        this.repetitions = 0;
+        this.lapses = 0;
+        // New cards are due immediately
+        this.dueAt = createdAt;
     }
 
     public Card(String question, String answer) {
         this();
         this.question = question;
-        this.answer = answer;
+        setAnswer(answer);
     }
 
     public Card(String question, String answer, Deck deck) {
@@ -54,6 +131,51 @@ public class Card {
         this.deck = deck;
     }
 
+    /**
+     * Set the answer and its normalized form together, so they never disagree
+     */
+    public void setAnswer(String answer) {
+        this.answer = answer;
+        String normalized = answer == null ? null : AnswerNormalizer.normalizeAnswer(answer);
+        this.normalizedAnswer = normalized != null && normalized.length() <= NORMALIZED_ANSWER_LENGTH ? normalized : null;
+    }
+
+    /**
+     * Set the answer together with the normalized form setAnswer(String) computed for it earlier,
+     * such as one read back from the database
+     */
+    public void setAnswer(String answer, String normalizedAnswer) {
+        this.answer = answer;
+        this.normalizedAnswer = normalizedAnswer;
+    }
+
+    /**
+     * Recompute the fields derived from the question and answer before the card is written
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateDerivedFields() {
+        updateHashes();
+        if (normalizedAnswer == null) {
+            setAnswer(answer);
+        }
+    }
+
+    /**
+     * Recompute the content hashes from the current question and answer
+     */
+    public void updateHashes() {
+        questionHash = ContentHash.ofQuestion(question);
+        contentHash = ContentHash.ofCard(question, answer);
+    }
+
+    /**
+     * Learning statistics, empty before the first logged answer
+     */
+    public LearningStats getLearningStats() {
+        return learningStats != null ? learningStats : new LearningStats();
+    }
+
     @Override
     public String toString() {
         return String.format("Card{id=%d, question='%s', answer='%s'}", id, question, answer);
@@ -3,6 +3,7 @@ package com.flashcard.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,7 +21,8 @@ import java.util.List;
 public class Deck {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deck_seq")
+    @SequenceGenerator(name = "deck_seq", sequenceName = "deck_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Deck name cannot be empty")
@@ -34,6 +36,13 @@ public class Deck {
     @OneToMany(mappedBy = "deck", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Card> cards = new ArrayList<>();
 
+    /**
+     * Maintained by ReviewLogWriter; null while every statistics column is null
+     */
+    @Setter(AccessLevel.NONE)
+    @Embedded
+    private LearningStats learningStats;
+
     // Constructors
     public Deck() {
         this.createdAt = LocalDateTime.now();
@@ -49,6 +58,13 @@ public class Deck {
         return cards.size();
     }
 
+    /**
+     * Learning statistics, empty before the first logged answer
+     */
+    public LearningStats getLearningStats() {
+        return learningStats != null ? learningStats : new LearningStats();
+    }
+
     @Override
     public String toString() {
         return String.format("Deck{id=%d, name='%s', cardCount=%d}", id, name, getCardCount());
@@ -0,0 +1,106 @@
+package com.flashcard.model;
+
+import com.flashcard.io.DeckFileFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording a background import or export job.
+ * For imports, recordsCommitted is the checkpoint: it is updated in the same
+ * transaction as each saved batch, so an interrupted import resumes exactly after it.
+ */
+@Entity
+@Table(name = "file_jobs")
+@Getter
+@Setter
+public class FileJob {
+
+    public enum Type {
+        IMPORT,
+        EXPORT
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_job_seq")
+    @SequenceGenerator(name = "file_job_seq", sequenceName = "file_job_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DeckFileFormat format;
+
+    @Column(name = "file_path", nullable = false, length = 1000)
+    private String filePath;
+
+    /**
+     * Requested deck name for imports, exported deck name for exports
+     */
+    @Column(name = "deck_name", length = 100)
+    private String deckName;
+
+    /**
+     * Deck being imported into or exported; set once an import has created its deck
+     */
+    @Column(name = "deck_id")
+    private Long deckId;
+
+    /**
+     * Whether a binary export uses block compression
+     */
+    @Column(nullable = false)
+    private boolean compress;
+
+    @Column(name = "records_committed", nullable = false)
+    private long recordsCommitted;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public FileJob() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+        this.status = Status.QUEUED;
+    }
+
+    public FileJob(Type type, DeckFileFormat format, String filePath) {
+        this();
+        this.type = type;
+        this.format = format;
+        this.filePath = filePath;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FileJob{id=%d, type=%s, file='%s', status=%s}", id, type, filePath, status);
+    }
+}
@@ -0,0 +1,91 @@
+package com.flashcard.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running learning statistics of a card or deck.
+ * The columns are maintained incrementally by ReviewLogWriter as answers are logged, never by
+ * scanning the review history, so entities only read them: the columns are neither inserted nor
+ * updated through JPA, and saving a card or deck never overwrites newer statistics.
+ * Columns are null until the first answer.
+ */
+@Embeddable
+@Getter
+public class LearningStats {
+
+    /**
+     * Weight of the newest answer in the rolling accuracy; older answers decay by (1 - weight) each
+     */
+    public static final double ROLLING_ACCURACY_WEIGHT = 0.1;
+
+    @Column(name = "stat_attempts", insertable = false, updatable = false)
+    private Long attempts;
+
+    @Column(name = "stat_correct", insertable = false, updatable = false)
+    private Long correctCount;
+
+    @Column(name = "stat_response_ms_total", insertable = false, updatable = false)
+    private Long responseMillisTotal;
+
+    /**
+     * Number of answers whose response time was measured
+     */
+    @Column(name = "stat_responses", insertable = false, updatable = false)
+    private Long responseCount;
+
+    /**
+     * Exponentially weighted accuracy between 0 and 1, favouring recent answers
+     */
+    @Column(name = "stat_rolling_accuracy", insertable = false, updatable = false)
+    private Double rollingAccuracy;
+
+    @Column(name = "stat_last_reviewed_at", insertable = false, updatable = false)
+    private LocalDateTime lastReviewedAt;
+
+    public LearningStats() {
+    }
+
+    public LearningStats(long attempts, long correctCount, long responseMillisTotal, long responseCount,
+                         Double rollingAccuracy, LocalDateTime lastReviewedAt) {
+        this.attempts = attempts;
+        this.correctCount = correctCount;
+        this.responseMillisTotal = responseMillisTotal;
+        this.responseCount = responseCount;
+        this.rollingAccuracy = rollingAccuracy;
+        this.lastReviewedAt = lastReviewedAt;
+    }
+
+    public long getAttempts() {
+        return attempts != null ? attempts : 0;
+    }
+
+    public long getCorrectCount() {
+        return correctCount != null ? correctCount : 0;
+    }
+
+    /**
+     * Share of all answers that were correct, or null before the first answer
+     */
+    public Double getAccuracy() {
+        long total = getAttempts();
+        return total > 0 ? (double) getCorrectCount() / total : null;
+    }
+
+    /**
+     * Average response time in milliseconds, or null if no response time was measured
+     */
+    public Double getAverageResponseMillis() {
+        long count = responseCount != null ? responseCount : 0;
+        return count > 0 && responseMillisTotal != null ? (double) responseMillisTotal / count : null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LearningStats{attempts=%d, correct=%d, rollingAccuracy=%s, lastReviewedAt=%s}",
+                getAttempts(), getCorrectCount(), rollingAccuracy, lastReviewedAt);
+    }
+}
@@ -0,0 +1,64 @@
+package com.flashcard.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one answer given in a quiz.
+ * Rows are written in batches by ReviewLogWriter, not through the entity manager.
+ * The card ID is a plain column, so the history survives deleting the card.
+ */
+@Entity
+@Table(name = "review_log", indexes = {
+        @Index(name = "idx_review_log_card_reviewed", columnList = "card_id, reviewed_at")
+})
+@Getter
+@Setter
+public class ReviewLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(name = "deck_id")
+    private Long deckId;
+
+    @Column(nullable = false)
+    private boolean correct;
+
+    /**
+     * Milliseconds between showing the question and receiving the answer; null if not measured
+     */
+    @Column(name = "response_time_ms")
+    private Long responseTimeMs;
+
+    @Column(name = "reviewed_at", nullable = false)
+    private LocalDateTime reviewedAt;
+
+    // Constructors
+    public ReviewLog() {
+    }
+
+    public ReviewLog(Long cardId, boolean correct, Long responseTimeMs, LocalDateTime reviewedAt) {
+        this(cardId, null, correct, responseTimeMs, reviewedAt);
+    }
+
+    public ReviewLog(Long cardId, Long deckId, boolean correct, Long responseTimeMs, LocalDateTime reviewedAt) {
+        this.cardId = cardId;
+        this.deckId = deckId;
+        this.correct = correct;
+        this.responseTimeMs = responseTimeMs;
+        this.reviewedAt = reviewedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReviewLog{cardId=%d, correct=%s, reviewedAt=%s}", cardId, correct, reviewedAt);
+    }
+}
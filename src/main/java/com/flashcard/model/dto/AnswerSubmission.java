@@ -0,0 +1,15 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Answer given to one card, as submitted for batch grading
+ */
+@Getter
+@AllArgsConstructor
+public class AnswerSubmission {
+
+    private final Long cardId;
+    private final String answer;
+}
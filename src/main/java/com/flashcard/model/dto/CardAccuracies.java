@@ -0,0 +1,20 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * IDs and rolling accuracies of the cards of a deck as parallel primitive arrays,
+ * with NaN for cards that were never answered
+ */
+@Getter
+@AllArgsConstructor
+public class CardAccuracies {
+
+    private final long[] cardIds;
+    private final double[] rollingAccuracies;
+
+    public int size() {
+        return cardIds.length;
+    }
+}
@@ -0,0 +1,15 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Card ID with its rolling accuracy, loaded for difficulty-weighted quizzes
+ */
+@Getter
+@AllArgsConstructor
+public class CardAccuracyRow {
+
+    private final Long cardId;
+    private final Double rollingAccuracy;
+}
@@ -0,0 +1,16 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Card ID with its raw and normalized answer, loaded for batch grading
+ */
+@Getter
+@AllArgsConstructor
+public class CardAnswerRow {
+
+    private final Long cardId;
+    private final String answer;
+    private final String normalizedAnswer;
+}
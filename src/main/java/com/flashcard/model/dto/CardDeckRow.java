@@ -0,0 +1,15 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Card ID with the ID of its deck, loaded for multi-deck quizzes
+ */
+@Getter
+@AllArgsConstructor
+public class CardDeckRow {
+
+    private final Long cardId;
+    private final Long deckId;
+}
@@ -0,0 +1,16 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Card ID with its question and content hashes, loaded for merge imports
+ */
+@Getter
+@AllArgsConstructor
+public class CardHashRow {
+
+    private final Long cardId;
+    private final Long questionHash;
+    private final Long contentHash;
+}
@@ -0,0 +1,35 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Per-file results and totals of a directory import
+ */
+@Getter
+@AllArgsConstructor
+public class DirectoryImportSummary {
+
+    private final List<FileImportResult> results;
+    private final long durationMillis;
+
+    public long getSuccessCount() {
+        return results.stream().filter(FileImportResult::isSuccess).count();
+    }
+
+    public long getFailureCount() {
+        return results.size() - getSuccessCount();
+    }
+
+    public long getTotalCardCount() {
+        return results.stream().mapToLong(FileImportResult::getCardCount).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DirectoryImportSummary{files=%d, succeeded=%d, failed=%d, cards=%d, %dms}",
+                results.size(), getSuccessCount(), getFailureCount(), getTotalCardCount(), durationMillis);
+    }
+}
@@ -0,0 +1,19 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * IDs of due cards with the ID of each card's deck, as parallel primitive arrays, most overdue first
+ */
+@Getter
+@AllArgsConstructor
+public class DueCardIds {
+
+    private final long[] cardIds;
+    private final long[] deckIds;
+
+    public int size() {
+        return cardIds.length;
+    }
+}
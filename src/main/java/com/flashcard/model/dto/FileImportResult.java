@@ -0,0 +1,36 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of importing a single file during a directory import
+ */
+@Getter
+@AllArgsConstructor
+public class FileImportResult {
+
+    private final String fileName;
+    private final boolean success;
+    private final String deckName;
+    private final long cardCount;
+    private final long durationMillis;
+    private final String errorMessage;
+
+    public static FileImportResult success(String fileName, String deckName, long cardCount, long durationMillis) {
+        return new FileImportResult(fileName, true, deckName, cardCount, durationMillis, null);
+    }
+
+    public static FileImportResult failure(String fileName, String errorMessage, long durationMillis) {
+        return new FileImportResult(fileName, false, null, 0, durationMillis, errorMessage);
+    }
+
+    @Override
+    public String toString() {
+        return success
+                ? String.format("FileImportResult{file='%s', deck='%s', cards=%d, %dms}",
+                        fileName, deckName, cardCount, durationMillis)
+                : String.format("FileImportResult{file='%s', error='%s', %dms}",
+                        fileName, errorMessage, durationMillis);
+    }
+}
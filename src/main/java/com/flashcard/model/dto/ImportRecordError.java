@@ -0,0 +1,23 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Validation error for a single record of an import file
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRecordError {
+
+    /**
+     * Line on which the record starts, or its position for formats without lines
+     */
+    private final long line;
+    private final String message;
+
+    @Override
+    public String toString() {
+        return "Line " + line + ": " + message;
+    }
+}
@@ -0,0 +1,63 @@
+package com.flashcard.model.dto;
+
+import com.flashcard.io.DeckFileFormat;
+import com.flashcard.model.FileJob;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of a background job, combining its stored state with live progress
+ */
+@Getter
+@AllArgsConstructor
+public class JobInfo {
+
+    private final long id;
+    private final FileJob.Type type;
+    private final DeckFileFormat format;
+    private final String filePath;
+    private final String deckName;
+    private final FileJob.Status status;
+    private final long recordsProcessed;
+    private final long recordsCommitted;
+    private final long totalRecords;
+    private final long bytesProcessed;
+    private final long totalBytes;
+    private final long elapsedMillis;
+    private final String errorMessage;
+
+    /**
+     * Completion in percent, or -1 if the total is unknown
+     */
+    public int getPercentComplete() {
+        if (status == FileJob.Status.COMPLETED) {
+            return 100;
+        }
+        if (totalBytes > 0) {
+            return (int) Math.min(100, bytesProcessed * 100 / totalBytes);
+        }
+        if (totalRecords > 0) {
+            return (int) Math.min(100, recordsProcessed * 100 / totalRecords);
+        }
+        return -1;
+    }
+
+    /**
+     * Records processed per second in the current run
+     */
+    public double getRecordsPerSecond() {
+        return elapsedMillis > 0 ? recordsProcessed * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * Bytes read per second in the current run
+     */
+    public double getBytesPerSecond() {
+        return elapsedMillis > 0 ? bytesProcessed * 1000.0 / elapsedMillis : 0;
+    }
+
+    public boolean isResumable() {
+        return type == FileJob.Type.IMPORT
+                && (status == FileJob.Status.FAILED || status == FileJob.Status.CANCELLED);
+    }
+}
@@ -0,0 +1,25 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of merging a deck file into an existing deck
+ */
+@Getter
+@AllArgsConstructor
+public class MergeImportResult {
+
+    private final String deckName;
+    private final boolean deckCreated;
+    private final long insertedCount;
+    private final long updatedCount;
+    private final long unchangedCount;
+    private final long durationMillis;
+
+    @Override
+    public String toString() {
+        return String.format("MergeImportResult{deck='%s', created=%s, inserted=%d, updated=%d, unchanged=%d, %dms}",
+                deckName, deckCreated, insertedCount, updatedCount, unchangedCount, durationMillis);
+    }
+}
@@ -0,0 +1,22 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of the ordered snapshot scan: a deck and one of its cards.
+ * Question and answer are null for decks without cards.
+ */
+@Getter
+@AllArgsConstructor
+public class SnapshotRow {
+
+    private final Long deckId;
+    private final String deckName;
+    private final String question;
+    private final String answer;
+
+    public boolean hasCard() {
+        return question != null;
+    }
+}
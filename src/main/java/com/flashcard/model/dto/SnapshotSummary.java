@@ -0,0 +1,21 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Totals of a snapshot export or restore
+ */
+@Getter
+@AllArgsConstructor
+public class SnapshotSummary {
+
+    private final long deckCount;
+    private final long cardCount;
+    private final long durationMillis;
+
+    @Override
+    public String toString() {
+        return String.format("SnapshotSummary{decks=%d, cards=%d, %dms}", deckCount, cardCount, durationMillis);
+    }
+}
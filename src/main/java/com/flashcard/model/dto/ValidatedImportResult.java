@@ -0,0 +1,32 @@
+package com.flashcard.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of an import that validates every record before writing.
+ * deckName is null when nothing was imported because of validation errors.
+ */
+@Getter
+@AllArgsConstructor
+public class ValidatedImportResult {
+
+    private final String deckName;
+    private final long recordCount;
+    private final long importedCount;
+    private final List<ImportRecordError> errors;
+    private final long durationMillis;
+
+    public boolean isImported() {
+        return deckName != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValidatedImportResult{deck=%s, records=%d, imported=%d, errors=%d, %dms}",
+                deckName == null ? "none" : "'" + deckName + "'", recordCount, importedCount,
+                errors.size(), durationMillis);
+    }
+}
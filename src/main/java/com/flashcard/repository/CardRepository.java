@@ -2,11 +2,23 @@ package com.flashcard.repository;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.dto.CardAccuracyRow;
+import com.flashcard.model.dto.CardAnswerRow;
+import com.flashcard.model.dto.CardDeckRow;
+import com.flashcard.model.dto.CardHashRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Card entity operations
@@ -19,11 +31,133 @@ public interface CardRepository extends JpaRepository<Card, Long> {
      */
     List<Card> findByDeckOrderByCreatedAtDesc(Deck deck);
 
+    /**
+     * Stream all cards in a specific deck without loading them into a list.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Card c WHERE c.deck = :deck ORDER BY c.createdAt DESC")
+    Stream<Card> streamByDeckOrderByCreatedAtDesc(@Param("deck") Deck deck);
+
+    /**
+     * Stream all cards in a deck in due order, cards without a due time last.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Card c WHERE c.deck = :deck ORDER BY c.dueAt ASC NULLS LAST, c.id ASC")
+    Stream<Card> streamByDeckOrderByDueAt(@Param("deck") Deck deck);
+
+    /**
+     * Stream the ID and hashes of every card in a deck.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.flashcard.model.dto.CardHashRow(c.id, c.questionHash, c.contentHash) " +
+            "FROM Card c WHERE c.deck = :deck")
+    Stream<CardHashRow> streamHashesByDeck(@Param("deck") Deck deck);
+
+    /**
+     * Stream the ID and rolling accuracy of every card in a deck, in ID order.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.flashcard.model.dto.CardAccuracyRow(c.id, c.learningStats.rollingAccuracy) " +
+            "FROM Card c WHERE c.deck = :deck ORDER BY c.id")
+    Stream<CardAccuracyRow> streamAccuraciesByDeck(@Param("deck") Deck deck);
+
+    /**
+     * Find the answers of the given cards without loading the cards
+     */
+    @Query("SELECT new com.flashcard.model.dto.CardAnswerRow(c.id, c.answer, c.normalizedAnswer) " +
+            "FROM Card c WHERE c.id IN :ids")
+    List<CardAnswerRow> findAnswersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find cards in a deck that were saved before content hashes were introduced
+     */
+    List<Card> findByDeckAndContentHashIsNull(Deck deck);
+
+    /**
+     * Find the cards of a deck that are due, most overdue first.
+     * Served by the (deck_id, due_at) index, so only the requested page of rows is read.
+     */
+    @Query("SELECT c FROM Card c WHERE c.deck = :deck AND c.dueAt <= :now ORDER BY c.dueAt ASC")
+    List<Card> findDueCards(@Param("deck") Deck deck, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Stream the IDs of the cards of a deck that are due, most overdue first, without loading the cards.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id FROM Card c WHERE c.deck = :deck AND c.dueAt <= :now ORDER BY c.dueAt ASC")
+    Stream<Long> streamDueCardIds(@Param("deck") Deck deck, @Param("now") LocalDateTime now);
+
+    /**
+     * Stream the IDs and deck IDs of the due cards of several decks with one query, most overdue first.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.flashcard.model.dto.CardDeckRow(c.id, c.deck.id) FROM Card c " +
+            "WHERE c.deck IN :decks AND c.dueAt <= :now ORDER BY c.dueAt ASC")
+    Stream<CardDeckRow> streamDueCardIdsInDecks(@Param("decks") Collection<Deck> decks, @Param("now") LocalDateTime now);
+
+    /**
+     * Count the due cards of several decks with one query
+     */
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.deck IN :decks AND c.dueAt <= :now")
+    long countDueCardsInDecks(@Param("decks") Collection<Deck> decks, @Param("now") LocalDateTime now);
+
+    /**
+     * Earliest due time of any card in several decks, or null if they are all empty
+     */
+    @Query("SELECT MIN(c.dueAt) FROM Card c WHERE c.deck IN :decks")
+    LocalDateTime findNextDueAtInDecks(@Param("decks") Collection<Deck> decks);
+
+    /**
+     * Count the cards of a deck that are due, using the (deck_id, due_at) index
+     */
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.deck = :deck AND c.dueAt <= :now")
+    long countDueCards(@Param("deck") Deck deck, @Param("now") LocalDateTime now);
+
+    /**
+     * Earliest due time of any card in a deck, or null if the deck is empty
+     */
+    @Query("SELECT MIN(c.dueAt) FROM Card c WHERE c.deck = :deck")
+    LocalDateTime findNextDueAt(@Param("deck") Deck deck);
+
+    /**
+     * Write a card's spaced repetition state without touching its question and answer
+     */
+    @Modifying
+    @Query("UPDATE Card c SET c.intervalDays = :intervalDays, c.easeFactor = :easeFactor, " +
+            "c.repetitions = :repetitions, c.lapses = :lapses, c.dueAt = :dueAt, " +
+            "c.lastReviewedAt = :lastReviewedAt WHERE c.id = :id")
+    int updateSchedule(@Param("id") Long id,
+                       @Param("intervalDays") Integer intervalDays,
+                       @Param("easeFactor") Double easeFactor,
+                       @Param("repetitions") Integer repetitions,
+                       @Param("lapses") Integer lapses,
+                       @Param("dueAt") LocalDateTime dueAt,
+                       @Param("lastReviewedAt") LocalDateTime lastReviewedAt);
+
     /**
      * Count cards in a specific deck
      */
     long countByDeck(Deck deck);
 
+    /**
+     * Delete all cards in a single statement
+     */
+    @Modifying
+    @Query("DELETE FROM Card c")
+    int deleteAllInBulk();
+
     /**
      * Find cards in deck that contain keyword in question or answer
      */
@@ -1,11 +1,18 @@
 package com.flashcard.repository;
 
 import com.flashcard.model.Deck;
+import com.flashcard.model.dto.SnapshotRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Deck entity operations
@@ -28,6 +35,31 @@ public interface DeckRepository extends JpaRepository<Deck, Long> {
      */
     boolean existsByNameIgnoreCase(String name);
 
+    /**
+     * Find names equal to the given name or to a numbered variant "name (n)" (case-insensitive).
+     * The pattern must be the LIKE-escaped name followed by " (%)", using '!' as escape character.
+     */
+    @Query("SELECT d.name FROM Deck d WHERE LOWER(d.name) = LOWER(:name) " +
+            "OR LOWER(d.name) LIKE LOWER(:pattern) ESCAPE '!'")
+    List<String> findNamesMatching(@Param("name") String name, @Param("pattern") String pattern);
+
+    /**
+     * Stream every deck with its cards, ordered by deck and card creation time.
+     * Decks without cards appear once with null question and answer.
+     * Must be called inside a transaction and the stream must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.flashcard.model.dto.SnapshotRow(d.id, d.name, c.question, c.answer) " +
+            "FROM Deck d LEFT JOIN d.cards c ORDER BY d.id, c.createdAt, c.id")
+    Stream<SnapshotRow> streamSnapshotRows();
+
+    /**
+     * Delete all decks in a single statement; cards must be deleted first
+     */
+    @Modifying
+    @Query("DELETE FROM Deck d")
+    int deleteAllInBulk();
+
     /**
      * Find decks with at least one card
      */
@@ -0,0 +1,41 @@
+package com.flashcard.repository;
+
+import com.flashcard.model.FileJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for FileJob entity operations
+ */
+@Repository
+public interface FileJobRepository extends JpaRepository<FileJob, Long> {
+
+    /**
+     * Find all jobs, newest first
+     */
+    List<FileJob> findAllByOrderByIdDesc();
+
+    /**
+     * Record the import checkpoint; must run in the transaction that saved the batch
+     */
+    @Modifying
+    @Query("UPDATE FileJob j SET j.recordsCommitted = :records, j.updatedAt = :now WHERE j.id = :id")
+    int updateCheckpoint(@Param("id") Long id, @Param("records") long records, @Param("now") LocalDateTime now);
+
+    /**
+     * Move every job in one of the given statuses to a new status, e.g. to fail jobs left running by a previous run
+     */
+    @Modifying
+    @Query("UPDATE FileJob j SET j.status = :status, j.errorMessage = :message, j.updatedAt = :now " +
+            "WHERE j.status IN :fromStatuses")
+    int updateStatusWhereStatusIn(@Param("fromStatuses") Collection<FileJob.Status> fromStatuses,
+                                  @Param("status") FileJob.Status status,
+                                  @Param("message") String message,
+                                  @Param("now") LocalDateTime now);
+}
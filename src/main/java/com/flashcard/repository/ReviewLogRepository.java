@@ -0,0 +1,23 @@
+package com.flashcard.repository;
+
+import com.flashcard.model.ReviewLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Repository interface for ReviewLog entity operations
+ */
+@Repository
+public interface ReviewLogRepository extends JpaRepository<ReviewLog, Long> {
+
+    /**
+     * Find the review history of a card, newest first
+     */
+    List<ReviewLog> findByCardIdOrderByReviewedAtDesc(Long cardId);
+
+    /**
+     * Count the answers recorded for a card
+     */
+    long countByCardId(Long cardId);
+}
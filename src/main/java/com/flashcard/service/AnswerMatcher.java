@@ -0,0 +1,228 @@
+package com.flashcard.service;
+
+import com.flashcard.util.AnswerNormalizer;
+import com.flashcard.util.BoundedEditDistance;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Precompiled matcher for one card answer.
+ * The answer is split into its acceptable variants and normalized with {@link AnswerNormalizer} once,
+ * so checking a user answer only folds the input into a reused per-thread buffer and compares
+ * characters: no regex, no Normalizer call and no allocation.
+ * With a typo budget, each variant also accepts answers within a bounded edit distance
+ * instead of the substring match used for long answers.
+ */
+public final class AnswerMatcher {
+
+    /**
+     * Answers longer than this accept partial matches
+     */
+    private static final int PARTIAL_MATCH_MIN_ANSWER_LENGTH = 10;
+
+    /**
+     * User answers longer than this can be a partial match
+     */
+    private static final int PARTIAL_MATCH_MIN_INPUT_LENGTH = 5;
+
+    /**
+     * A variant tolerates one typo per this many characters, up to the configured maximum,
+     * so short answers like "cat" still need to be exact
+     */
+    private static final int CHARACTERS_PER_TYPO = 4;
+
+    /**
+     * Per-thread input buffers grown beyond this are dropped instead of kept
+     */
+    private static final int MAX_RETAINED_INPUT_CAPACITY = 4096;
+
+    private static final ThreadLocal<StringBuilder> INPUT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private final String source;
+    private final String answer;
+    private final String normalizedAnswer;
+    private final String[] variants;
+    private final int minVariantLength;
+    private final int maxVariantLength;
+    private final boolean partialMatch;
+    private final int maxTypoDistance;
+    private final BoundedEditDistance[] fuzzyVariants;
+    private final int[] typoBudgets;
+
+    private AnswerMatcher(String source, String normalizedVariants, int maxTypoDistance) {
+        this.source = source;
+        this.answer = source.trim();
+
+        // Variants that fold to the same text are kept once, in their original order
+        Set<String> distinctVariants = new LinkedHashSet<>();
+        int variantStart = 0;
+        for (int i = 0; i <= normalizedVariants.length(); i++) {
+            if (i == normalizedVariants.length() || normalizedVariants.charAt(i) == AnswerNormalizer.VARIANT_SEPARATOR) {
+                if (i > variantStart) {
+                    distinctVariants.add(normalizedVariants.substring(variantStart, i));
+                }
+                variantStart = i + 1;
+            }
+        }
+        this.variants = distinctVariants.toArray(new String[0]);
+        this.normalizedAnswer = String.join(" ", variants);
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (String variant : variants) {
+            min = Math.min(min, variant.length());
+            max = Math.max(max, variant.length());
+        }
+        this.minVariantLength = min;
+        this.maxVariantLength = max;
+        this.maxTypoDistance = maxTypoDistance;
+        this.partialMatch = maxTypoDistance == 0 && normalizedAnswer.length() > PARTIAL_MATCH_MIN_ANSWER_LENGTH;
+
+        if (maxTypoDistance > 0) {
+            this.fuzzyVariants = new BoundedEditDistance[variants.length];
+            this.typoBudgets = new int[variants.length];
+            for (int i = 0; i < variants.length; i++) {
+                fuzzyVariants[i] = BoundedEditDistance.compile(variants[i]);
+                typoBudgets[i] = Math.min(maxTypoDistance, variants[i].length() / CHARACTERS_PER_TYPO);
+            }
+        } else {
+            this.fuzzyVariants = null;
+            this.typoBudgets = null;
+        }
+    }
+
+    /**
+     * Compile a matcher for the raw answer text of a card
+     */
+    public static AnswerMatcher compile(String answer) {
+        return compile(answer, 0);
+    }
+
+    /**
+     * Compile a typo-tolerant matcher; a maxTypoDistance of 0 only accepts exact and partial matches
+     */
+    public static AnswerMatcher compile(String answer, int maxTypoDistance) {
+        return compile(answer, null, maxTypoDistance);
+    }
+
+    /**
+     * Compile a matcher from an answer and its stored {@link AnswerNormalizer#normalizeAnswer(String)} form.
+     * A null normalized form is computed from the answer.
+     */
+    public static AnswerMatcher compile(String answer, String normalizedAnswer, int maxTypoDistance) {
+        if (answer == null) {
+            throw new IllegalArgumentException("Answer cannot be null");
+        }
+        if (maxTypoDistance < 0) {
+            throw new IllegalArgumentException("Maximum typo distance cannot be negative");
+        }
+        String normalized = normalizedAnswer != null ? normalizedAnswer : AnswerNormalizer.normalizeAnswer(answer);
+        return new AnswerMatcher(answer, normalized, maxTypoDistance);
+    }
+
+    /**
+     * Answer text this matcher was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Trimmed correct answer
+     */
+    public String getAnswer() {
+        return answer;
+    }
+
+    public int getMaxTypoDistance() {
+        return maxTypoDistance;
+    }
+
+    /**
+     * Whether the matcher was compiled from exactly this answer text
+     */
+    public boolean isCompiledFrom(String answerText) {
+        return source.equals(answerText);
+    }
+
+    /**
+     * Check a normalized user answer against the whole answer, each acceptable variant
+     * and either variants within the typo budget or, for long answers, a partial match
+     */
+    public boolean matches(String userAnswer) {
+        StringBuilder input = INPUT_BUFFER.get();
+        input.setLength(0);
+        if (userAnswer != null) {
+            AnswerNormalizer.appendNormalized(userAnswer, input);
+        }
+        try {
+            return matchesNormalized(input);
+        } finally {
+            if (input.capacity() > MAX_RETAINED_INPUT_CAPACITY) {
+                INPUT_BUFFER.remove();
+            }
+        }
+    }
+
+    private boolean matchesNormalized(CharSequence input) {
+        int length = input.length();
+        if (length == 0) {
+            return false;
+        }
+
+        if (contentEquals(normalizedAnswer, input)) {
+            return true;
+        }
+
+        // Handle multiple acceptable answers separated by semicolons or commas
+        if (length >= minVariantLength && length <= maxVariantLength) {
+            for (String variant : variants) {
+                if (contentEquals(variant, input)) {
+                    return true;
+                }
+            }
+        }
+
+        // Handle typos within each variant's budget
+        if (fuzzyVariants != null) {
+            if (length >= minVariantLength - maxTypoDistance && length <= maxVariantLength + maxTypoDistance) {
+                for (int i = 0; i < fuzzyVariants.length; i++) {
+                    if (typoBudgets[i] > 0 && fuzzyVariants[i].isWithin(input, 0, length, typoBudgets[i])) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Handle partial matches for longer answers
+        if (partialMatch && length > PARTIAL_MATCH_MIN_INPUT_LENGTH) {
+            return contains(normalizedAnswer, input) || contains(input, normalizedAnswer);
+        }
+
+        return false;
+    }
+
+    private static boolean contentEquals(String expected, CharSequence text) {
+        return expected.length() == text.length() && regionEquals(expected, 0, text);
+    }
+
+    private static boolean contains(CharSequence text, CharSequence part) {
+        int last = text.length() - part.length();
+        for (int i = 0; i <= last; i++) {
+            if (regionEquals(text, i, part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(CharSequence text, int offset, CharSequence part) {
+        for (int i = 0; i < part.length(); i++) {
+            if (text.charAt(offset + i) != part.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded cache of compiled answer matchers keyed by card ID.
+ * The answer text a matcher was compiled from acts as its version: a cached matcher
+ * is only reused while the card still has that answer, so an edit that bypasses
+ * {@link #invalidate(Long)} can never produce a stale result.
+ * Matchers are compiled from the normalized answer stored on the card when it has one.
+ * Cards are spread over segments by ID, each with its own lock and an equal share of the
+ * configured size, so concurrent grades rarely wait on each other. Least recently used
+ * matchers are evicted per segment once its share is reached.
+ */
+@Component
+public class AnswerMatcherCache {
+
+    /**
+     * Upper bound on the number of segments; small caches use fewer so each keeps a useful share
+     */
+    static final int MAX_SEGMENTS = 16;
+
+    private final int maxSize;
+    private final int maxTypoDistance;
+    private final Segment[] segments;
+
+    public AnswerMatcherCache(FlashcardProperties properties) {
+        this.maxSize = Math.max(0, properties.getQuiz().getMatcherCacheSize());
+        this.maxTypoDistance = Math.max(0, properties.getQuiz().getMaxTypoDistance());
+
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize)));
+        int segmentSize = maxSize / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * Get the matcher for the card's current answer, compiling it on a miss.
+     * Cards without an ID are compiled without being cached.
+     */
+    public AnswerMatcher getMatcher(Card card) {
+        return getMatcher(card.getId(), card.getAnswer(), card.getNormalizedAnswer());
+    }
+
+    /**
+     * Get the matcher for a card's answer without loading the card, compiling it on a miss.
+     * normalizedAnswer may be null, in which case it is computed from the answer.
+     */
+    public AnswerMatcher getMatcher(Long cardId, String answer, String normalizedAnswer) {
+        if (cardId == null || maxSize == 0) {
+            return AnswerMatcher.compile(answer, normalizedAnswer, maxTypoDistance);
+        }
+
+        Segment segment = segmentFor(cardId);
+        synchronized (segment) {
+            AnswerMatcher matcher = segment.get(cardId);
+            if (matcher != null && matcher.isCompiledFrom(answer)) {
+                return matcher;
+            }
+        }
+
+        AnswerMatcher compiled = AnswerMatcher.compile(answer, normalizedAnswer, maxTypoDistance);
+        synchronized (segment) {
+            segment.put(cardId, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Drop the cached matcher of a card whose answer changed or which was deleted
+     */
+    public void invalidate(Long cardId) {
+        if (cardId == null) {
+            return;
+        }
+        Segment segment = segmentFor(cardId);
+        synchronized (segment) {
+            segment.remove(cardId);
+        }
+    }
+
+    /**
+     * Drop every cached matcher
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long cardId) {
+        // Fibonacci hashing spreads sequential IDs evenly; the top bits pick the segment
+        long spread = cardId * 0x9E3779B97F4A7C15L;
+        return segments[(int) (spread >>> 32) & (segments.length - 1)];
+    }
+
+    /**
+     * Access-ordered map evicting its least recently used matcher beyond maxSize; guarded by its own monitor
+     */
+    private static final class Segment extends LinkedHashMap<Long, AnswerMatcher> {
+
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AnswerMatcher> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.flashcard.service;
+
+import com.flashcard.model.dto.AnswerSubmission;
+import com.flashcard.util.ParallelRanges;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Grades a batch of submitted answers in parallel on a ForkJoin pool with {@link ParallelRanges};
+ * results are stored by index, so they keep the order of the submissions.
+ * The matchers are resolved before grading starts and only read while grading.
+ */
+class BatchAnswerGrader {
+
+    private final Map<Long, AnswerMatcher> matchers;
+
+    /**
+     * Grade against the given compiled matcher of every submitted card ID
+     */
+    BatchAnswerGrader(Map<Long, AnswerMatcher> matchers) {
+        this.matchers = matchers;
+    }
+
+    List<QuizService.QuizResult> grade(List<AnswerSubmission> submissions, ForkJoinPool pool) {
+        QuizService.QuizResult[] results = new QuizService.QuizResult[submissions.size()];
+        ParallelRanges.forEach(pool, submissions.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                AnswerSubmission submission = submissions.get(i);
+                results[i] = QuizService.grade(matchers.get(submission.getCardId()), submission.getAnswer());
+            }
+        });
+        return Arrays.asList(results);
+    }
+}
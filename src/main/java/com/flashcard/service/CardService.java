@@ -2,13 +2,34 @@ package com.flashcard.service;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.LearningStats;
+import com.flashcard.model.dto.CardAccuracies;
+import com.flashcard.model.dto.CardAccuracyRow;
+import com.flashcard.model.dto.CardAnswerRow;
+import com.flashcard.model.dto.CardDeckRow;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.CardHashRow;
+import com.flashcard.model.dto.DueCardIds;
 import com.flashcard.repository.CardRepository;
+import com.flashcard.util.CardHashIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service class for card management operations
@@ -17,27 +38,135 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class CardService {
 
+    /**
+     * Maximum number of IDs in the IN list of one answer query
+     */
+    static final int ANSWER_QUERY_CHUNK_SIZE = 1000;
+
     private final CardRepository cardRepository;
     private final Validator validator;
+    private final EntityManager entityManager;
+    private final AnswerMatcherCache answerMatcherCache;
+    private final DeckSnapshotCache deckSnapshotCache;
 
     /**
      * Create a new card in the specified deck
      */
     public Card createCard(String question, String answer, Deck deck) {
-        if (question == null || question.trim().isEmpty()) {
-            throw new IllegalArgumentException("Question cannot be empty");
+        Card card = prepareCard(question, answer, deck);
+        Card saved = cardRepository.save(card);
+        deckSnapshotCache.invalidate(deck.getId());
+        return saved;
+    }
+
+    /**
+     * Create several cards in the specified deck within a single transaction.
+     * Every card is validated before any of them is saved.
+     */
+    @Transactional
+    public List<Card> createCards(Deck deck, Collection<CardExportData> cardData) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
         }
-        if (answer == null || answer.trim().isEmpty()) {
-            throw new IllegalArgumentException("Answer cannot be empty");
+        if (cardData == null || cardData.isEmpty()) {
+            return List.of();
+        }
+
+        List<Card> cards = new ArrayList<>(cardData.size());
+        for (CardExportData data : cardData) {
+            cards.add(prepareCard(data.getQuestion(), data.getAnswer(), deck));
+        }
+
+        List<Card> saved = cardRepository.saveAll(cards);
+        deckSnapshotCache.invalidate(deck.getId());
+        return saved;
+    }
+
+    /**
+     * Insert new cards and update the answers of existing cards within a single transaction.
+     * changedAnswers maps card IDs to their new answer. Returns the inserted cards in the order of newCards.
+     */
+    @Transactional
+    public List<Card> mergeCards(Deck deck, Collection<CardExportData> newCards, Map<Long, String> changedAnswers) {
+        List<Card> inserted = createCards(deck, newCards);
+
+        if (changedAnswers == null || changedAnswers.isEmpty()) {
+            return inserted;
         }
+        deckSnapshotCache.invalidate(deck.getId());
+        for (Card card : cardRepository.findAllById(changedAnswers.keySet())) {
+            String answer = changedAnswers.get(card.getId());
+            if (answer == null || answer.trim().isEmpty()) {
+                throw new IllegalArgumentException("Answer cannot be empty");
+            }
+            card.setAnswer(answer.trim());
+            validateCard(card);
+            answerMatcherCache.invalidate(card.getId());
+        }
+        return inserted;
+    }
+
+    /**
+     * Load the hashes of every card in a deck into an in-memory index with a single query.
+     * Cards saved before content hashes were introduced are hashed first.
+     */
+    @Transactional
+    public CardHashIndex loadHashIndex(Deck deck) {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null");
         }
 
-        Card card = new Card(question.trim(), answer.trim(), deck);
-        validateCard(card);
+        List<Card> unhashed = cardRepository.findByDeckAndContentHashIsNull(deck);
+        if (!unhashed.isEmpty()) {
+            unhashed.forEach(Card::updateHashes);
+            cardRepository.flush();
+        }
+
+        CardHashIndex index = new CardHashIndex();
+        try (Stream<CardHashRow> rows = cardRepository.streamHashesByDeck(deck)) {
+            rows.forEach(row -> index.addCard(row.getCardId(), row.getQuestionHash(), row.getContentHash()));
+        }
+        return index;
+    }
+
+    /**
+     * Assign prepared cards to the deck and save all of them in a single transaction.
+     * The persistence context is flushed and cleared every flushInterval cards so memory stays bounded.
+     */
+    @Transactional
+    public int saveCardsInSingleTransaction(Deck deck, List<Card> cards, int flushInterval) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+
+        int interval = Math.max(1, flushInterval);
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            card.setDeck(deck);
+            entityManager.persist(card);
+            if ((i + 1) % interval == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        deckSnapshotCache.invalidate(deck.getId());
+        return cards.size();
+    }
 
-        return cardRepository.save(card);
+    /**
+     * Save cards built with prepareCard within a single transaction
+     */
+    @Transactional
+    public List<Card> saveCards(Collection<Card> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return List.of();
+        }
+        List<Card> saved = cardRepository.saveAll(cards);
+        cards.stream()
+                .map(card -> card.getDeck() != null ? card.getDeck().getId() : null)
+                .distinct()
+                .forEach(deckSnapshotCache::invalidate);
+        return saved;
     }
 
     /**
@@ -47,6 +176,242 @@ public class CardService {
         return cardRepository.findByDeckOrderByCreatedAtDesc(deck);
     }
 
+    /**
+     * Stream all cards in a deck.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    public Stream<Card> streamCardsByDeck(Deck deck) {
+        return cardRepository.streamByDeckOrderByCreatedAtDesc(deck);
+    }
+
+    /**
+     * Get up to limit cards of a deck that are due at the given time, most overdue first
+     */
+    public List<Card> getDueCards(Deck deck, LocalDateTime now, int limit) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return cardRepository.findDueCards(deck, now, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Get the IDs of up to limit cards of a deck that are due at the given time, most overdue first,
+     * as a primitive array. Only the IDs are read, so this stays cheap for decks with millions of cards.
+     */
+    @Transactional(readOnly = true)
+    public long[] getDueCardIds(Deck deck, LocalDateTime now, int limit) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        long[] ids = new long[Math.min(limit, 1024)];
+        int count = 0;
+        try (Stream<Long> rows = cardRepository.streamDueCardIds(deck, now)) {
+            Iterator<Long> iterator = rows.iterator();
+            while (count < limit && iterator.hasNext()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, (int) Math.min(limit, ids.length * 2L));
+                }
+                ids[count++] = iterator.next();
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Copy every card of a deck into a {@link DeckSnapshot} for the given version with a single query,
+     * or return null if the deck has more than maxCards cards
+     */
+    @Transactional(readOnly = true)
+    public DeckSnapshot buildDeckSnapshot(Deck deck, long version, int maxCards) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        long cardCount = cardRepository.countByDeck(deck);
+        if (cardCount > maxCards) {
+            return null;
+        }
+
+        DeckSnapshot.Builder builder = DeckSnapshot.builder(deck.getId(), version, (int) cardCount);
+        try (Stream<Card> cards = cardRepository.streamByDeckOrderByDueAt(deck)) {
+            cards.forEach(card -> {
+                builder.add(card);
+                entityManager.detach(card);
+            });
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the IDs and deck IDs of up to limit cards of several decks that are due at the given time,
+     * most overdue first, with a single query
+     */
+    @Transactional(readOnly = true)
+    public DueCardIds getDueCardIds(Collection<Deck> decks, LocalDateTime now, int limit) {
+        if (decks == null || decks.isEmpty()) {
+            throw new IllegalArgumentException("At least one deck is required");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        int capacity = Math.min(limit, 1024);
+        long[] cardIds = new long[capacity];
+        long[] deckIds = new long[capacity];
+        int count = 0;
+        try (Stream<CardDeckRow> rows = cardRepository.streamDueCardIdsInDecks(decks, now)) {
+            Iterator<CardDeckRow> iterator = rows.iterator();
+            while (count < limit && iterator.hasNext()) {
+                if (count == cardIds.length) {
+                    int grown = (int) Math.min(limit, cardIds.length * 2L);
+                    cardIds = Arrays.copyOf(cardIds, grown);
+                    deckIds = Arrays.copyOf(deckIds, grown);
+                }
+                CardDeckRow row = iterator.next();
+                cardIds[count] = row.getCardId();
+                deckIds[count] = row.getDeckId();
+                count++;
+            }
+        }
+        return new DueCardIds(Arrays.copyOf(cardIds, count), Arrays.copyOf(deckIds, count));
+    }
+
+    /**
+     * Count the cards of several decks that are due at the given time
+     */
+    public long countDueCards(Collection<Deck> decks, LocalDateTime now) {
+        if (decks == null || decks.isEmpty()) {
+            throw new IllegalArgumentException("At least one deck is required");
+        }
+        return cardRepository.countDueCardsInDecks(decks, now);
+    }
+
+    /**
+     * Get the earliest due time of any card in several decks
+     */
+    public Optional<LocalDateTime> getNextDueAt(Collection<Deck> decks) {
+        return Optional.ofNullable(cardRepository.findNextDueAtInDecks(decks));
+    }
+
+    /**
+     * Get the IDs and rolling accuracies of up to limit cards of a deck, in ID order, as primitive arrays
+     */
+    @Transactional(readOnly = true)
+    public CardAccuracies getCardAccuracies(Deck deck, int limit) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        int capacity = Math.min(limit, 1024);
+        long[] ids = new long[capacity];
+        double[] accuracies = new double[capacity];
+        int count = 0;
+        try (Stream<CardAccuracyRow> rows = cardRepository.streamAccuraciesByDeck(deck)) {
+            Iterator<CardAccuracyRow> iterator = rows.iterator();
+            while (count < limit && iterator.hasNext()) {
+                if (count == ids.length) {
+                    int grown = (int) Math.min(limit, ids.length * 2L);
+                    ids = Arrays.copyOf(ids, grown);
+                    accuracies = Arrays.copyOf(accuracies, grown);
+                }
+                CardAccuracyRow row = iterator.next();
+                ids[count] = row.getCardId();
+                accuracies[count] = row.getRollingAccuracy() != null ? row.getRollingAccuracy() : Double.NaN;
+                count++;
+            }
+        }
+        return new CardAccuracies(Arrays.copyOf(ids, count), Arrays.copyOf(accuracies, count));
+    }
+
+    /**
+     * Count the cards of a deck that are due at the given time
+     */
+    public long countDueCards(Deck deck, LocalDateTime now) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        return cardRepository.countDueCards(deck, now);
+    }
+
+    /**
+     * Load the cards with ids[from, to) in that order with a single query.
+     * IDs of cards deleted in the meantime are skipped.
+     */
+    public List<Card> getCardsByIds(long[] ids, int from, int to) {
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ids[i]);
+        }
+
+        Map<Long, Card> byId = new HashMap<>();
+        for (Card card : cardRepository.findAllById(pageIds)) {
+            byId.put(card.getId(), card);
+        }
+
+        List<Card> cards = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Card card = byId.get(id);
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Get the answers of the given cards with one query per ANSWER_QUERY_CHUNK_SIZE IDs;
+     * IDs of missing cards are left out
+     */
+    public List<CardAnswerRow> getAnswersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() <= ANSWER_QUERY_CHUNK_SIZE) {
+            return cardRepository.findAnswersByIds(ids);
+        }
+
+        List<Long> idList = new ArrayList<>(ids);
+        List<CardAnswerRow> rows = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += ANSWER_QUERY_CHUNK_SIZE) {
+            rows.addAll(cardRepository.findAnswersByIds(
+                    idList.subList(from, Math.min(from + ANSWER_QUERY_CHUNK_SIZE, idList.size()))));
+        }
+        return rows;
+    }
+
+    /**
+     * Get the earliest due time of any card in a deck
+     */
+    public Optional<LocalDateTime> getNextDueAt(Deck deck) {
+        return Optional.ofNullable(cardRepository.findNextDueAt(deck));
+    }
+
+    /**
+     * Save a card's spaced repetition state
+     */
+    @Transactional
+    public void saveSchedule(Card card) {
+        if (card == null || card.getId() == null) {
+            throw new IllegalArgumentException("Card must be saved before it can be scheduled");
+        }
+        cardRepository.updateSchedule(card.getId(), card.getIntervalDays(), card.getEaseFactor(),
+                card.getRepetitions(), card.getLapses(), card.getDueAt(), card.getLastReviewedAt());
+        if (card.getDeck() != null && card.getDeck().getId() != null) {
+            deckSnapshotCache.updateSchedule(card.getDeck().getId(), card);
+        } else {
+            deckSnapshotCache.invalidateCard(card.getId());
+        }
+    }
+
     /**
      * Update card question and answer
      */
@@ -65,7 +430,10 @@ public class CardService {
         card.setAnswer(answer.trim());
         validateCard(card);
 
-        return cardRepository.save(card);
+        Card saved = cardRepository.save(card);
+        answerMatcherCache.invalidate(cardId);
+        deckSnapshotCache.invalidate(card.getDeck() != null ? card.getDeck().getId() : null);
+        return saved;
     }
 
     /**
@@ -74,11 +442,32 @@ public class CardService {
     public boolean deleteCard(Long cardId) {
         if (cardRepository.existsById(cardId)) {
             cardRepository.deleteById(cardId);
+            answerMatcherCache.invalidate(cardId);
+            deckSnapshotCache.invalidateCard(cardId);
             return true;
         }
         return false;
     }
 
+    /**
+     * Delete all cards of all decks
+     */
+    @Transactional
+    public int deleteAllCards() {
+        answerMatcherCache.invalidateAll();
+        deckSnapshotCache.invalidateAll();
+        return cardRepository.deleteAllInBulk();
+    }
+
+    /**
+     * Get the current learning statistics of a card, read from the database
+     */
+    public LearningStats getCardStatistics(Long cardId) {
+        return cardRepository.findById(cardId)
+                .map(Card::getLearningStats)
+                .orElseThrow(() -> new IllegalArgumentException("Card not found with ID: " + cardId));
+    }
+
     /**
      * Search cards by keyword in question or answer
      */
@@ -96,6 +485,36 @@ public class CardService {
         return cardRepository.countByDeck(deck);
     }
 
+    /**
+     * Build a validated, unsaved card with trimmed question and answer.
+     * Safe to call from several threads.
+     */
+    public Card prepareCard(String question, String answer, Deck deck) {
+        Card card = prepareUnassignedCard(question, answer);
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        card.setDeck(deck);
+        return card;
+    }
+
+    /**
+     * Build a validated, unsaved card with trimmed question and answer that has no deck yet.
+     * Safe to call from several threads.
+     */
+    public Card prepareUnassignedCard(String question, String answer) {
+        if (question == null || question.trim().isEmpty()) {
+            throw new IllegalArgumentException("Question cannot be empty");
+        }
+        if (answer == null || answer.trim().isEmpty()) {
+            throw new IllegalArgumentException("Answer cannot be empty");
+        }
+
+        Card card = new Card(question.trim(), answer.trim());
+        validateCard(card);
+        return card;
+    }
+
     /**
      * Validate card entity
      */
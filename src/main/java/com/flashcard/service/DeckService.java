@@ -1,14 +1,19 @@
 package com.flashcard.service;
 
 import com.flashcard.model.Deck;
+import com.flashcard.model.LearningStats;
+import com.flashcard.model.dto.SnapshotRow;
 import com.flashcard.repository.DeckRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service class for deck management operations
@@ -19,11 +24,13 @@ public class DeckService {
 
     private final DeckRepository deckRepository;
     private final Validator validator;
+    private final DeckSnapshotCache deckSnapshotCache;
 
     /**
      * Create a new deck with validation
+     * Synchronized with createDeckWithUniqueName so concurrent callers cannot claim the same name
      */
-    public Deck createDeck(String name) {
+    public synchronized Deck createDeck(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Deck name cannot be empty");
         }
@@ -40,6 +47,33 @@ public class DeckService {
         return deckRepository.save(deck);
     }
 
+    /**
+     * Create a deck named after baseName, appending " (n)" with the lowest free n if the name is taken.
+     * Taken names are loaded with a single query.
+     */
+    public synchronized Deck createDeckWithUniqueName(String baseName) {
+        if (baseName == null || baseName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Deck name cannot be empty");
+        }
+
+        String trimmedName = baseName.trim();
+        List<String> matchingNames = deckRepository.findNamesMatching(trimmedName, escapeLike(trimmedName) + " (%)");
+
+        Set<String> takenNames = new HashSet<>();
+        for (String matchingName : matchingNames) {
+            takenNames.add(matchingName.toLowerCase());
+        }
+
+        String uniqueName = trimmedName;
+        int counter = 1;
+        while (takenNames.contains(uniqueName.toLowerCase())) {
+            uniqueName = trimmedName + " (" + counter + ")";
+            counter++;
+        }
+
+        return createDeck(uniqueName);
+    }
+
     /**
      * Get all decks ordered by creation date
      */
@@ -54,6 +88,16 @@ public class DeckService {
         return deckRepository.findDecksWithCards();
     }
 
+    /**
+     * Find deck by ID
+     */
+    public Optional<Deck> findDeckById(Long deckId) {
+        if (deckId == null) {
+            return Optional.empty();
+        }
+        return deckRepository.findById(deckId);
+    }
+
     /**
      * Find deck by name (case-insensitive)
      */
@@ -64,17 +108,53 @@ public class DeckService {
         return deckRepository.findByNameIgnoreCase(name.trim());
     }
 
+    /**
+     * Get the current learning statistics of a deck, read from the database
+     * since they are updated in the background as answers are logged
+     */
+    public LearningStats getDeckStatistics(Long deckId) {
+        return findDeckById(deckId)
+                .map(Deck::getLearningStats)
+                .orElseThrow(() -> new IllegalArgumentException("Deck not found with ID: " + deckId));
+    }
+
     /**
      * Delete deck by ID
      */
     public boolean deleteDeck(Long deckId) {
         if (deckRepository.existsById(deckId)) {
             deckRepository.deleteById(deckId);
+            deckSnapshotCache.invalidate(deckId);
             return true;
         }
         return false;
     }
 
+    /**
+     * Stream every deck and card for a snapshot in (deck, created_at) order.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    public Stream<SnapshotRow> streamSnapshotRows() {
+        return deckRepository.streamSnapshotRows();
+    }
+
+    /**
+     * Delete all decks; their cards must already be deleted
+     */
+    @Transactional
+    public int deleteAllDecks() {
+        int deleted = deckRepository.deleteAllInBulk();
+        deckSnapshotCache.invalidateAll();
+        return deleted;
+    }
+
+    /**
+     * Escape LIKE wildcards using '!' as escape character
+     */
+    private String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     /**
      * Validate deck entity
      */
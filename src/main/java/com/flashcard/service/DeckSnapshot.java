@@ -0,0 +1,377 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.util.LongLongHashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, compact copy of the cards of one deck, shared by every quiz started on that deck.
+ * Cards are held as parallel arrays sorted by due time (never-due cards last), so selecting the
+ * due cards is a binary search and starting a quiz needs no query. Quizzes get fresh Card objects
+ * built from the arrays, so nothing a quiz changes leaks into the snapshot.
+ * A snapshot is never modified: reviews since the build are kept in a {@link ScheduleOverlay} that quizzes
+ * read through a {@link View}, and any other change to the deck makes {@link DeckSnapshotCache} build a new one.
+ */
+public final class DeckSnapshot {
+
+    private final long deckId;
+    private final long version;
+    private final long[] ids;
+    private final String[] questions;
+    private final String[] answers;
+    private final String[] normalizedAnswers;
+    private final LocalDateTime[] createdAt;
+    private final int[] intervalDays;
+    private final double[] easeFactors;
+    private final int[] repetitions;
+    private final int[] lapses;
+    private final LocalDateTime[] dueAt;
+    private final LocalDateTime[] lastReviewedAt;
+    private final LongLongHashMap positions;
+
+    private DeckSnapshot(long deckId, long version, long[] ids, String[] questions, String[] answers,
+                         String[] normalizedAnswers, LocalDateTime[] createdAt, int[] intervalDays,
+                         double[] easeFactors, int[] repetitions, int[] lapses, LocalDateTime[] dueAt,
+                         LocalDateTime[] lastReviewedAt) {
+        this.deckId = deckId;
+        this.version = version;
+        this.ids = ids;
+        this.questions = questions;
+        this.answers = answers;
+        this.normalizedAnswers = normalizedAnswers;
+        this.createdAt = createdAt;
+        this.intervalDays = intervalDays;
+        this.easeFactors = easeFactors;
+        this.repetitions = repetitions;
+        this.lapses = lapses;
+        this.dueAt = dueAt;
+        this.lastReviewedAt = lastReviewedAt;
+        this.positions = new LongLongHashMap(ids.length, -1);
+        for (int i = 0; i < ids.length; i++) {
+            positions.put(ids[i], i);
+        }
+    }
+
+    /**
+     * Start collecting the cards of a deck; cards must be added in due order, never-due cards last
+     */
+    public static Builder builder(long deckId, long version, int expectedSize) {
+        return new Builder(deckId, version, expectedSize);
+    }
+
+    public long getDeckId() {
+        return deckId;
+    }
+
+    /**
+     * Version of the deck this snapshot was built for, see {@link DeckSnapshotCache}
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * View of this snapshot with the schedule changes recorded in the overlay applied on top
+     */
+    View view(ScheduleOverlay overlay) {
+        return new View(this, overlay);
+    }
+
+    /**
+     * Position of the card with the given ID, or -1 if the snapshot does not hold it
+     */
+    int indexOf(long cardId) {
+        return (int) positions.get(cardId);
+    }
+
+    /**
+     * Whether the snapshot holds the card with the given ID
+     */
+    boolean contains(long cardId) {
+        return indexOf(cardId) >= 0;
+    }
+
+    /**
+     * Number of cards due no later than time, as of the build.
+     * A null time means never due, which sorts after every card.
+     */
+    private int dueCount(LocalDateTime time) {
+        if (time == null) {
+            return ids.length;
+        }
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dueAt[middle] != null && !dueAt[middle].isAfter(time)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean isDue(int index, LocalDateTime now) {
+        return dueAt[index] != null && !dueAt[index].isAfter(now);
+    }
+
+    /**
+     * Whether a reviewed card sorts before the card at index: earlier due time first, then lower ID
+     */
+    private boolean sortsBefore(ScheduleOverlay.Schedule schedule, int index) {
+        int byDue = schedule.getDueAt().compareTo(dueAt[index]);
+        return byDue != 0 ? byDue < 0 : schedule.getCardId() < ids[index];
+    }
+
+    private Card toCard(int index, Deck deck, ScheduleOverlay.Schedule schedule) {
+        Card card = new Card();
+        card.setId(ids[index]);
+        card.setQuestion(questions[index]);
+        card.setAnswer(answers[index], normalizedAnswers[index]);
+        card.setCreatedAt(createdAt[index]);
+        card.setIntervalDays(intervalDays[index]);
+        card.setEaseFactor(easeFactors[index]);
+        card.setRepetitions(repetitions[index]);
+        card.setLapses(lapses[index]);
+        card.setDueAt(dueAt[index]);
+        card.setLastReviewedAt(lastReviewedAt[index]);
+        if (schedule != null) {
+            schedule.applyTo(card);
+        }
+        card.setDeck(deck);
+        return card;
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * A snapshot as quizzes see it: the immutable arrays with the schedule changes recorded since
+     * the build applied on top. Each call reads a point-in-time copy of the overlay, whose size
+     * {@link DeckSnapshotCache} keeps small, so queries stay close to the cost on the bare arrays.
+     */
+    public static final class View {
+
+        private static final Comparator<ScheduleOverlay.Schedule> DUE_ORDER =
+                Comparator.comparing(ScheduleOverlay.Schedule::getDueAt)
+                        .thenComparingLong(ScheduleOverlay.Schedule::getCardId);
+
+        private final DeckSnapshot snapshot;
+        private final ScheduleOverlay overlay;
+
+        private View(DeckSnapshot snapshot, ScheduleOverlay overlay) {
+            this.snapshot = snapshot;
+            this.overlay = overlay;
+        }
+
+        public long getDeckId() {
+            return snapshot.deckId;
+        }
+
+        public int size() {
+            return snapshot.size();
+        }
+
+        /**
+         * Number of cards due at the given time
+         */
+        public int countDue(LocalDateTime now) {
+            int count = snapshot.dueCount(now);
+            for (ScheduleOverlay.Schedule schedule : overlay.copy().values()) {
+                int index = snapshot.indexOf(schedule.getCardId());
+                if (index < 0) {
+                    continue;
+                }
+                if (snapshot.isDue(index, now)) {
+                    count--;
+                }
+                if (schedule.isDue(now)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * IDs of up to limit cards due at the given time, most overdue first
+         */
+        public long[] getDueCardIds(LocalDateTime now, int limit) {
+            int[] order = dueOrder(now, limit, overlay.copy());
+            long[] cardIds = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                cardIds[i] = snapshot.ids[order[i]];
+            }
+            return cardIds;
+        }
+
+        /**
+         * New Card objects for up to limit cards due at the given time, most overdue first, assigned to the deck
+         */
+        public List<Card> getDueCards(Deck deck, LocalDateTime now, int limit) {
+            Map<Long, ScheduleOverlay.Schedule> changes = overlay.copy();
+            int[] order = dueOrder(now, limit, changes);
+            List<Card> cards = new ArrayList<>(order.length);
+            for (int index : order) {
+                cards.add(snapshot.toCard(index, deck, changes.get(snapshot.ids[index])));
+            }
+            return cards;
+        }
+
+        /**
+         * New Card objects for the cards with ids[from, to) in that order, assigned to the deck.
+         * IDs the snapshot does not hold are skipped, like those of deleted cards when loading from the database.
+         */
+        public List<Card> getCardsByIds(long[] ids, int from, int to, Deck deck) {
+            List<Card> cards = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int index = snapshot.indexOf(ids[i]);
+                if (index >= 0) {
+                    cards.add(snapshot.toCard(index, deck, overlay.get(ids[i])));
+                }
+            }
+            return cards;
+        }
+
+        /**
+         * Earliest due time of any card, empty if the deck has no cards with a due time
+         */
+        public Optional<LocalDateTime> getNextDueAt() {
+            Map<Long, ScheduleOverlay.Schedule> changes = overlay.copy();
+            LocalDateTime next = null;
+            // The arrays are in due order, so the first card without a newer schedule is the earliest of them
+            for (int i = 0; i < snapshot.ids.length; i++) {
+                if (!changes.containsKey(snapshot.ids[i])) {
+                    next = snapshot.dueAt[i];
+                    break;
+                }
+            }
+            for (ScheduleOverlay.Schedule schedule : changes.values()) {
+                if (schedule.getDueAt() != null && (next == null || schedule.getDueAt().isBefore(next))) {
+                    next = schedule.getDueAt();
+                }
+            }
+            return Optional.ofNullable(next);
+        }
+
+        /**
+         * Positions of up to limit cards due at the given time, most overdue first: the cards due as of the
+         * build that were not reviewed since, merged with the reviewed cards that are due again
+         */
+        private int[] dueOrder(LocalDateTime now, int limit, Map<Long, ScheduleOverlay.Schedule> changes) {
+            List<ScheduleOverlay.Schedule> changedDue = new ArrayList<>();
+            for (ScheduleOverlay.Schedule schedule : changes.values()) {
+                if (schedule.isDue(now) && snapshot.contains(schedule.getCardId())) {
+                    changedDue.add(schedule);
+                }
+            }
+            changedDue.sort(DUE_ORDER);
+
+            int baseDue = snapshot.dueCount(now);
+            int[] order = new int[Math.max(0, Math.min(limit, baseDue + changedDue.size()))];
+            int count = 0;
+            int next = 0;
+            int changed = 0;
+            while (count < order.length) {
+                while (next < baseDue && changes.containsKey(snapshot.ids[next])) {
+                    next++;
+                }
+                boolean baseLeft = next < baseDue;
+                boolean changedLeft = changed < changedDue.size();
+                if (!baseLeft && !changedLeft) {
+                    break;
+                }
+                if (changedLeft && (!baseLeft || snapshot.sortsBefore(changedDue.get(changed), next))) {
+                    order[count++] = snapshot.indexOf(changedDue.get(changed++).getCardId());
+                } else {
+                    order[count++] = next++;
+                }
+            }
+            return count == order.length ? order : Arrays.copyOf(order, count);
+        }
+    }
+
+    /**
+     * Collects cards into growing arrays and trims them when the snapshot is built
+     */
+    public static final class Builder {
+
+        private final long deckId;
+        private final long version;
+        private int size;
+        private long[] ids;
+        private String[] questions;
+        private String[] answers;
+        private String[] normalizedAnswers;
+        private LocalDateTime[] createdAt;
+        private int[] intervalDays;
+        private double[] easeFactors;
+        private int[] repetitions;
+        private int[] lapses;
+        private LocalDateTime[] dueAt;
+        private LocalDateTime[] lastReviewedAt;
+
+        private Builder(long deckId, long version, int expectedSize) {
+            this.deckId = deckId;
+            this.version = version;
+            resize(Math.max(16, expectedSize));
+        }
+
+        /**
+         * Copy the fields of a card; the card itself is not kept
+         */
+        public Builder add(Card card) {
+            if (size == ids.length) {
+                resize(size * 2);
+            }
+            ids[size] = card.getId();
+            questions[size] = card.getQuestion();
+            answers[size] = card.getAnswer();
+            normalizedAnswers[size] = card.getNormalizedAnswer();
+            createdAt[size] = card.getCreatedAt();
+            intervalDays[size] = orDefault(card.getIntervalDays(), 0);
+            easeFactors[size] = card.getEaseFactor() != null ? card.getEaseFactor() : Card.INITIAL_EASE_FACTOR;
+            repetitions[size] = orDefault(card.getRepetitions(), 0);
+            lapses[size] = orDefault(card.getLapses(), 0);
+            dueAt[size] = card.getDueAt();
+            lastReviewedAt[size] = card.getLastReviewedAt();
+            size++;
+            return this;
+        }
+
+        public DeckSnapshot build() {
+            resize(size);
+            return new DeckSnapshot(deckId, version, ids, questions, answers, normalizedAnswers, createdAt,
+                    intervalDays, easeFactors, repetitions, lapses, dueAt, lastReviewedAt);
+        }
+
+        private void resize(int capacity) {
+            if (ids != null && ids.length == capacity) {
+                return;
+            }
+            ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+            questions = questions == null ? new String[capacity] : Arrays.copyOf(questions, capacity);
+            answers = answers == null ? new String[capacity] : Arrays.copyOf(answers, capacity);
+            normalizedAnswers = normalizedAnswers == null ? new String[capacity] : Arrays.copyOf(normalizedAnswers, capacity);
+            createdAt = createdAt == null ? new LocalDateTime[capacity] : Arrays.copyOf(createdAt, capacity);
+            intervalDays = intervalDays == null ? new int[capacity] : Arrays.copyOf(intervalDays, capacity);
+            easeFactors = easeFactors == null ? new double[capacity] : Arrays.copyOf(easeFactors, capacity);
+            repetitions = repetitions == null ? new int[capacity] : Arrays.copyOf(repetitions, capacity);
+            lapses = lapses == null ? new int[capacity] : Arrays.copyOf(lapses, capacity);
+            dueAt = dueAt == null ? new LocalDateTime[capacity] : Arrays.copyOf(dueAt, capacity);
+            lastReviewedAt = lastReviewedAt == null ? new LocalDateTime[capacity] : Arrays.copyOf(lastReviewedAt, capacity);
+        }
+    }
+}
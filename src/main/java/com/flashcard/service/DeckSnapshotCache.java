@@ -0,0 +1,262 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Shared {@link DeckSnapshot}s, at most one per deck, each built once per deck version.
+ * Concurrent quizzes on a deck whose snapshot is being built wait for that single build instead of
+ * querying the deck themselves. Changing a deck's cards bumps its version, so the next quiz builds a
+ * fresh snapshot while quizzes already running keep the old one (copy-on-write). A schedule change
+ * happens after every answer, so it only records the card's new state in the snapshot's
+ * {@link ScheduleOverlay}; once the overlay outgrows a fraction of the deck, the snapshot is rebuilt.
+ * Version bumps from inside a transaction are repeated after it completes, so a snapshot built
+ * from data read before the commit is never kept.
+ */
+@Component
+public class DeckSnapshotCache {
+
+    /**
+     * Reviews kept in an overlay before the snapshot is rebuilt, at least; larger decks allow one per
+     * OVERLAY_FRACTION cards, so the rebuild cost spread over the reviews stays constant
+     */
+    static final int MIN_OVERLAY_SIZE = 64;
+
+    static final int OVERLAY_FRACTION = 16;
+
+    private static final class Entry {
+        private final long version;
+        private final CompletableFuture<DeckSnapshot> snapshot;
+        private final ScheduleOverlay overlay = new ScheduleOverlay();
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private Entry(long version, CompletableFuture<DeckSnapshot> snapshot) {
+            this.version = version;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private final int maxDecks;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+    private volatile long minimumVersion;
+
+    public DeckSnapshotCache(FlashcardProperties properties) {
+        this.maxDecks = Math.max(0, properties.getQuiz().getSnapshotCacheSize());
+    }
+
+    /**
+     * Get the snapshot of the current version of a deck with the reviews since its build applied,
+     * building it with builder on a miss.
+     * The builder gets the version to build and may return null if the deck should not be snapshotted.
+     * Returns null if caching is disabled or the builder returned null.
+     */
+    public DeckSnapshot.View getView(long deckId, LongFunction<DeckSnapshot> builder) {
+        if (maxDecks == 0) {
+            return null;
+        }
+
+        long version = currentVersion(deckId);
+        Entry current = entries.get(deckId);
+        if (current != null && current.version == version) {
+            current.lastUsedNanos = System.nanoTime();
+            return view(current, await(current.snapshot));
+        }
+
+        // Only one caller builds a given version; the others wait for its result
+        Entry mine = new Entry(version, new CompletableFuture<>());
+        Entry winner = entries.compute(deckId, (id, existing) ->
+                existing != null && existing.version >= version ? existing : mine);
+        if (winner != mine) {
+            return winner.version == version ? view(winner, await(winner.snapshot)) : getView(deckId, builder);
+        }
+        evictIfFull(deckId);
+
+        DeckSnapshot snapshot;
+        try {
+            snapshot = builder.apply(version);
+        } catch (RuntimeException e) {
+            entries.remove(deckId, mine);
+            mine.snapshot.completeExceptionally(e);
+            throw e;
+        }
+        mine.snapshot.complete(snapshot);
+        if (currentVersion(deckId) != version) {
+            // The deck changed while it was read: serve this caller, but build again next time
+            entries.remove(deckId, mine);
+        }
+        return view(mine, snapshot);
+    }
+
+    /**
+     * Get the view of the current version of a deck's snapshot if it is already built, without building it.
+     * Returns null if there is no such snapshot.
+     */
+    public DeckSnapshot.View peekView(long deckId) {
+        Entry current = entries.get(deckId);
+        if (current == null || current.version != currentVersion(deckId)
+                || !current.snapshot.isDone() || current.snapshot.isCompletedExceptionally()) {
+            return null;
+        }
+        current.lastUsedNanos = System.nanoTime();
+        return view(current, current.snapshot.join());
+    }
+
+    /**
+     * Record a card's new spaced repetition state in the overlay of its deck's snapshot, in O(1).
+     * If the snapshot is still being built or does not hold the card, it is dropped instead,
+     * as it is when the overlay has grown large enough that a rebuild is cheaper than reading through it.
+     * The overlay is only applied once the surrounding transaction commits; on rollback the snapshot is dropped.
+     */
+    public void updateSchedule(long deckId, Card card) {
+        afterCommit(() -> {
+            Entry entry = entries.get(deckId);
+            if (entry == null) {
+                return;
+            }
+            if (!entry.snapshot.isDone() || entry.snapshot.isCompletedExceptionally()) {
+                drop(deckId);
+                return;
+            }
+            DeckSnapshot snapshot = entry.snapshot.join();
+            if (snapshot == null) {
+                // Deck too large to snapshot; a review does not change that
+                return;
+            }
+            if (card.getId() == null || !snapshot.contains(card.getId())) {
+                drop(deckId);
+                return;
+            }
+            entry.overlay.put(card);
+            if (entry.overlay.size() > Math.max(MIN_OVERLAY_SIZE, snapshot.size() / OVERLAY_FRACTION)) {
+                drop(deckId);
+            }
+        }, () -> drop(deckId));
+    }
+
+    /**
+     * Drop the snapshot of a deck whose cards were created, changed or deleted
+     */
+    public void invalidate(Long deckId) {
+        if (deckId == null) {
+            invalidateAll();
+            return;
+        }
+        Runnable bump = () -> drop(deckId);
+        bump.run();
+        afterCompletion(bump);
+    }
+
+    /**
+     * Drop the snapshot of whichever deck holds the card, and any snapshot still being built
+     */
+    public void invalidateCard(Long cardId) {
+        if (cardId == null) {
+            return;
+        }
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            CompletableFuture<DeckSnapshot> snapshot = entry.getValue().snapshot;
+            if (!snapshot.isDone() || snapshot.isCompletedExceptionally()
+                    || (snapshot.join() != null && snapshot.join().contains(cardId))) {
+                invalidate(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Drop every snapshot
+     */
+    public void invalidateAll() {
+        Runnable bump = () -> {
+            minimumVersion = versionCounter.incrementAndGet();
+            entries.clear();
+        };
+        bump.run();
+        afterCompletion(bump);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private long currentVersion(long deckId) {
+        return Math.max(minimumVersion, versions.getOrDefault(deckId, 0L));
+    }
+
+    /**
+     * Bump the deck's version and forget its snapshot, so the next read builds a new one
+     */
+    private void drop(long deckId) {
+        versions.put(deckId, versionCounter.incrementAndGet());
+        entries.remove(deckId);
+    }
+
+    private static DeckSnapshot.View view(Entry entry, DeckSnapshot snapshot) {
+        return snapshot != null ? snapshot.view(entry.overlay) : null;
+    }
+
+    /**
+     * Run the action once the surrounding transaction completes, or right away outside a transaction
+     */
+    private static void afterCompletion(Runnable action) {
+        afterCommit(action, action);
+    }
+
+    /**
+     * Run onCommit once the surrounding transaction commits, or right away outside a transaction,
+     * and otherwise once it completes without committing
+     */
+    private static void afterCommit(Runnable onCommit, Runnable otherwise) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    (status == STATUS_COMMITTED ? onCommit : otherwise).run();
+                }
+            });
+        } else {
+            onCommit.run();
+        }
+    }
+
+    /**
+     * Drop the least recently used snapshot other than keepDeckId while there are too many
+     */
+    private void evictIfFull(long keepDeckId) {
+        while (entries.size() > maxDecks) {
+            Long eldest = null;
+            long eldestUse = Long.MAX_VALUE;
+            for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+                if (entry.getKey() != keepDeckId && entry.getValue().lastUsedNanos < eldestUse) {
+                    eldest = entry.getKey();
+                    eldestUse = entry.getValue().lastUsedNanos;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest);
+        }
+    }
+
+    private static DeckSnapshot await(CompletableFuture<DeckSnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
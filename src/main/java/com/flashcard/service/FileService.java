@@ -1,34 +1,127 @@
 package com.flashcard.service;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.io.BinaryDeckReader;
+import com.flashcard.io.BinaryDeckWriter;
+import com.flashcard.io.ByteBufferInputStream;
+import com.flashcard.io.CardRecordReader;
+import com.flashcard.io.CompressedStreams;
+import com.flashcard.io.CsvChunk;
+import com.flashcard.io.CsvChunker;
+import com.flashcard.io.CsvCardReader;
+import com.flashcard.io.CsvReader;
+import com.flashcard.io.DeckFileFormat;
+import com.flashcard.io.JsonDeckReader;
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
 import com.flashcard.model.dto.CardExportData;
-import com.flashcard.model.dto.DeckExportData;
+import com.flashcard.model.dto.DirectoryImportSummary;
+import com.flashcard.model.dto.FileImportResult;
+import com.flashcard.model.dto.MergeImportResult;
+import com.flashcard.model.dto.ValidatedImportResult;
+import com.flashcard.util.CardHashIndex;
+import com.flashcard.util.ContentHash;
+import com.flashcard.util.LongHashSet;
+import com.flashcard.util.LongLongHashMap;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
- * Service class for file operations (JSON and CSV import/export)
+ * Service class for file operations (JSON, CSV and binary import/export)
+ * JSON and CSV files ending in .gz or .deflate are compressed and decompressed on the fly.
  */
 @Service
 @RequiredArgsConstructor
 public class FileService {
 
+    /**
+     * Number of cards written between two export progress reports
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    /**
+     * Receives each batch of cards read during an import.
+     * recordsRead counts every card read from the file up to and including this batch.
+     */
+    @FunctionalInterface
+    public interface BatchCommitter {
+        void commit(Deck deck, List<CardExportData> batch, long recordsRead);
+    }
+
+    /**
+     * Receives the number of cards written so far during an export.
+     * Throwing an unchecked exception aborts the export.
+     */
+    @FunctionalInterface
+    public interface ExportProgress {
+        ExportProgress NONE = written -> {
+        };
+
+        void recordsWritten(long written);
+    }
+
     private final ObjectMapper objectMapper;
     private final DeckService deckService;
     private final CardService cardService;
+    private final FlashcardProperties properties;
+    private final EntityManager entityManager;
 
     /**
-     * Export deck to JSON file
+     * Export deck to JSON file using the configured indentation setting
      */
+    @Transactional(readOnly = true)
     public void exportDeckToJson(Deck deck, String filePath) throws IOException {
+        exportDeckToJson(deck, filePath, properties.getFile().isPrettyPrintJson());
+    }
+
+    /**
+     * Export deck to JSON file.
+     * Cards are streamed from the database straight into the generator and detached once written.
+     */
+    @Transactional(readOnly = true)
+    public void exportDeckToJson(Deck deck, String filePath, boolean prettyPrint) throws IOException {
+        exportDeckToJson(deck, filePath, prettyPrint, ExportProgress.NONE);
+    }
+
+    /**
+     * Export deck to JSON file, reporting the number of cards written to the progress callback
+     */
+    @Transactional(readOnly = true)
+    public void exportDeckToJson(Deck deck, String filePath, boolean prettyPrint,
+                                 ExportProgress progress) throws IOException {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null");
         }
@@ -36,20 +129,41 @@ public class FileService {
             throw new IllegalArgumentException("File path cannot be empty");
         }
 
-        List<Card> cards = cardService.getCardsByDeck(deck);
-        DeckExportData exportData = DeckExportData.fromCardEntities(deck.getName(), cards);
+        Path path = prepareOutputPath(filePath);
 
-        Path path = Paths.get(filePath);
-        Path parent = path.getParent();
-        if (parent != null) {
-            Files.createDirectories(parent);
-        }
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(CompressedStreams.newOutputStream(path), JsonEncoding.UTF8);
+             Stream<Card> cards = cardService.streamCardsByDeck(deck)) {
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            generator.writeStartObject();
+            generator.writeStringField("name", deck.getName());
+            generator.writeArrayFieldStart("cards");
+
+            long written = 0;
+            Iterator<Card> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                Card card = iterator.next();
+                generator.writeStartObject();
+                generator.writeStringField("question", card.getQuestion());
+                generator.writeStringField("answer", card.getAnswer());
+                generator.writeEndObject();
+                entityManager.detach(card);
+                reportProgress(progress, ++written);
+            }
+            progress.recordsWritten(written);
 
-        objectMapper.writeValue(path.toFile(), exportData);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
     }
 
     /**
-     * Import deck from JSON file
+     * Import deck from JSON file.
+     * The file is streamed token by token, so only one batch of cards is held in memory at a time.
+     * The deck is named after the file if its name does not appear before the cards array.
      */
     public Deck importDeckFromJson(String filePath) throws IOException {
         if (filePath == null || filePath.trim().isEmpty()) {
@@ -57,28 +171,43 @@ public class FileService {
         }
 
         Path path = Paths.get(filePath);
-        if (!Files.exists(path)) {
-            throw new FileNotFoundException("File not found: " + filePath);
-        }
-
-        DeckExportData importData = objectMapper.readValue(path.toFile(), DeckExportData.class);
+        return importDeckFile(path, DeckFileFormat.JSON, getFileBaseName(path));
+    }
 
-        // Create deck with unique name if necessary
-        String deckName = getUniqueDeckName(importData.getName());
-        Deck deck = deckService.createDeck(deckName);
+    /**
+     * Import deck from a JSON stream in the export format.
+     * The stream is read token by token and is not closed.
+     * fallbackName is used when the deck name does not appear before the cards array.
+     */
+    public Deck importDeckFromJson(InputStream input, String fallbackName) throws IOException {
+        return importDeckFromJson(input, fallbackName, (deck, batch, recordsRead) -> cardService.createCards(deck, batch));
+    }
 
-        // Import cards
-        for (CardExportData cardData : importData.getCards()) {
-            cardService.createCard(cardData.getQuestion(), cardData.getAnswer(), deck);
+    /**
+     * Import deck from a JSON stream in the export format, handing each batch of cards to the committer
+     */
+    public Deck importDeckFromJson(InputStream input, String fallbackName, BatchCommitter committer) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(input);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        try (CardRecordReader reader = new JsonDeckReader(parser)) {
+            return importDeck(reader, fallbackName, committer);
         }
-
-        return deck;
     }
 
     /**
-     * Export deck to CSV file
+     * Export deck to CSV file.
+     * Cards are streamed from the database straight into the writer and detached once written.
      */
+    @Transactional(readOnly = true)
     public void exportDeckToCsv(Deck deck, String filePath) throws IOException {
+        exportDeckToCsv(deck, filePath, ExportProgress.NONE);
+    }
+
+    /**
+     * Export deck to CSV file, reporting the number of cards written to the progress callback
+     */
+    @Transactional(readOnly = true)
+    public void exportDeckToCsv(Deck deck, String filePath, ExportProgress progress) throws IOException {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null");
         }
@@ -86,26 +215,28 @@ public class FileService {
             throw new IllegalArgumentException("File path cannot be empty");
         }
 
-        List<Card> cards = cardService.getCardsByDeck(deck);
+        Path path = prepareOutputPath(filePath);
 
-        Path path = Paths.get(filePath);
-        Path parent = path.getParent();
-        if (parent != null) {
-            Files.createDirectories(parent);
-        }
-
-        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(CompressedStreams.newOutputStream(path), StandardCharsets.UTF_8));
+             Stream<Card> cards = cardService.streamCardsByDeck(deck)) {
             // Write CSV header
-            writer.println("Question,Answer");
+            writer.write("Question,Answer");
+            writer.newLine();
 
             // Write card data
-            for (Card card : cards) {
-                String question = escapeCsvField(card.getQuestion());
-                String answer = escapeCsvField(card.getAnswer());
-
-                writer.printf("%s,%s%n",
-                        question, answer);
+            long written = 0;
+            Iterator<Card> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                Card card = iterator.next();
+                writer.write(escapeCsvField(card.getQuestion()));
+                writer.write(',');
+                writer.write(escapeCsvField(card.getAnswer()));
+                writer.newLine();
+                entityManager.detach(card);
+                reportProgress(progress, ++written);
             }
+            progress.recordsWritten(written);
         }
     }
 
@@ -120,140 +251,594 @@ public class FileService {
             throw new IllegalArgumentException("Deck name cannot be empty");
         }
 
+        return importDeckFile(Paths.get(filePath), DeckFileFormat.CSV, deckName);
+    }
+
+    /**
+     * Export deck to the compact binary format, optionally Deflate-compressed.
+     * Cards are streamed from the database and detached once written.
+     */
+    @Transactional(readOnly = true)
+    public void exportDeckToBinary(Deck deck, String filePath, boolean compress) throws IOException {
+        exportDeckToBinary(deck, filePath, compress, ExportProgress.NONE);
+    }
+
+    /**
+     * Export deck to the binary format, reporting the number of cards written to the progress callback
+     */
+    @Transactional(readOnly = true)
+    public void exportDeckToBinary(Deck deck, String filePath, boolean compress,
+                                   ExportProgress progress) throws IOException {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        Path path = prepareOutputPath(filePath);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BinaryDeckWriter writer = new BinaryDeckWriter(channel, deck.getName(), compress);
+             Stream<Card> cards = cardService.streamCardsByDeck(deck)) {
+            Iterator<Card> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                Card card = iterator.next();
+                writer.write(card.getQuestion(), card.getAnswer());
+                entityManager.detach(card);
+                reportProgress(progress, writer.getCardCount());
+            }
+            writer.finish();
+            progress.recordsWritten(writer.getCardCount());
+        } catch (IOException | RuntimeException e) {
+            // Do not leave a truncated file behind
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Import deck from a binary deck file, saving cards in batches
+     */
+    public Deck importDeckFromBinary(String filePath) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        return importDeckFile(Paths.get(filePath), DeckFileFormat.BINARY, null);
+    }
+
+    /**
+     * Merge a JSON, CSV or binary deck file into the deck of the same name, creating it if missing.
+     * The deck name is deckName if given, otherwise the name stored in the file or the file name.
+     * Existing card hashes are loaded once; cards with the same normalized question and exact answer are
+     * skipped, cards with a known question but a different answer are updated, the rest are inserted.
+     * Each card is written at most once per import: later rows with the question of a card already
+     * inserted or updated by the import count as unchanged.
+     */
+    public MergeImportResult mergeDeckFromFile(String filePath, String deckName) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
         Path path = Paths.get(filePath);
         if (!Files.exists(path)) {
             throw new FileNotFoundException("File not found: " + filePath);
         }
 
-        // Create deck with unique name if necessary
-        String uniqueDeckName = getUniqueDeckName(deckName);
-        Deck deck = deckService.createDeck(uniqueDeckName);
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             CardRecordReader reader = openCardReader(channel, path)) {
+            String name = deckName != null && !deckName.trim().isEmpty() ? deckName.trim()
+                    : reader.getDeckName() != null ? reader.getDeckName() : getFileBaseName(path);
 
-        try (BufferedReader reader = Files.newBufferedReader(path)) {
-            String line;
-            boolean isFirstLine = true;
+            Deck existing = deckService.findDeckByName(name).orElse(null);
+            Deck deck = existing != null ? existing : deckService.createDeck(name);
+            CardHashIndex index = existing != null ? cardService.loadHashIndex(deck) : new CardHashIndex();
 
-            while ((line = reader.readLine()) != null) {
-                // Skip header line
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
+            MergeCounts counts = new MergeCounts();
+            importCards(reader, deck, 0, (target, batch, recordsRead) -> mergeBatch(target, batch, index, counts));
 
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
+            return new MergeImportResult(deck.getName(), existing == null, counts.inserted, counts.updated,
+                    counts.unchanged, elapsedMillis(started));
+        }
+    }
 
-                // Parse CSV line
-                String[] parts = parseCsvLine(line);
-                if (parts.length >= 2) {
-                    String question = unescapeCsvField(parts[0]);
-                    String answer = unescapeCsvField(parts[1]);
+    /**
+     * Split a batch into new cards and answer changes using the hash index, save both together,
+     * then add the written cards to the index
+     */
+    private void mergeBatch(Deck deck, List<CardExportData> batch, CardHashIndex index, MergeCounts counts) {
+        List<CardExportData> newCards = new ArrayList<>();
+        LongHashSet newQuestions = new LongHashSet();
+        Map<Long, String> changedAnswers = new HashMap<>();
+        LongLongHashMap changedContent = new LongLongHashMap(16, 0);
+
+        for (CardExportData card : batch) {
+            long contentHash = ContentHash.ofCard(card.getQuestion(), card.getAnswer());
+            if (index.containsContent(contentHash)) {
+                counts.unchanged++;
+                continue;
+            }
 
-                    if (!question.trim().isEmpty() && !answer.trim().isEmpty()) {
-                        cardService.createCard(question, answer, deck);
-                    }
+            long questionHash = ContentHash.ofQuestion(card.getQuestion());
+            long cardId = index.findCardId(questionHash);
+            if (cardId == CardHashIndex.NO_CARD) {
+                if (newQuestions.add(questionHash)) {
+                    newCards.add(card);
+                    counts.inserted++;
+                } else {
+                    counts.unchanged++;
                 }
+            } else if (counts.writtenCardIds.add(cardId)) {
+                changedAnswers.put(cardId, card.getAnswer());
+                changedContent.put(cardId, contentHash);
+                counts.updated++;
+            } else {
+                counts.unchanged++;
             }
         }
 
-        return deck;
+        if (newCards.isEmpty() && changedAnswers.isEmpty()) {
+            return;
+        }
+        List<Card> inserted = cardService.mergeCards(deck, newCards, changedAnswers);
+        for (int i = 0; i < inserted.size(); i++) {
+            CardExportData card = newCards.get(i);
+            long cardId = inserted.get(i).getId();
+            index.addCard(cardId, ContentHash.ofQuestion(card.getQuestion()),
+                    ContentHash.ofCard(card.getQuestion(), card.getAnswer()));
+            counts.writtenCardIds.add(cardId);
+        }
+        for (Long cardId : changedAnswers.keySet()) {
+            index.updateContent(cardId, changedContent.get(cardId));
+        }
     }
 
     /**
-     * Get unique deck name by appending number if necessary
+     * Import a JSON, CSV or binary deck file, validating every record before anything is written.
+     * The deck is named deckName if given, otherwise the name stored in the file or the file name.
+     * Records are parsed, then checked in parallel on a ForkJoin pool against the Card constraints,
+     * and every invalid record is reported with its source line. The deck is created only when all
+     * records are valid, or when skipInvalid is set, in which case the invalid records are left out.
+     * The valid cards are then written in a single transaction.
      */
-    private String getUniqueDeckName(String baseName) {
-        String trimmedName = baseName.trim();
-        Optional<Deck> existingDeck = deckService.findDeckByName(trimmedName);
+    public ValidatedImportResult importDeckWithValidation(String filePath, String deckName,
+                                                          boolean skipInvalid) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + filePath);
+        }
+
+        long started = System.nanoTime();
+        String name;
+        List<ParallelCardValidator.Record> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             CardRecordReader reader = openCardReader(channel, path)) {
+            name = deckName != null && !deckName.trim().isEmpty() ? deckName.trim()
+                    : reader.getDeckName() != null ? reader.getDeckName() : getFileBaseName(path);
+            while (reader.next()) {
+                records.add(new ParallelCardValidator.Record(
+                        reader.getSourceLine(), reader.getQuestion(), reader.getAnswer()));
+            }
+        }
+
+        ParallelCardValidator.Result validation;
+        ForkJoinPool pool = new ForkJoinPool(importThreadCount());
+        try {
+            validation = new ParallelCardValidator(cardService).validate(records, pool);
+        } finally {
+            pool.shutdown();
+        }
 
-        if (!existingDeck.isPresent()) {
-            return trimmedName;
+        if (!validation.getErrors().isEmpty() && !skipInvalid) {
+            return new ValidatedImportResult(null, records.size(), 0, validation.getErrors(), elapsedMillis(started));
         }
 
-        int counter = 1;
-        String uniqueName;
-        do {
-            uniqueName = trimmedName + " (" + counter + ")";
-            existingDeck = deckService.findDeckByName(uniqueName);
-            counter++;
-        } while (existingDeck.isPresent());
+        // Create deck with unique name if necessary; remove it again if the cards cannot be saved
+        Deck deck = deckService.createDeckWithUniqueName(name);
+        try {
+            cardService.saveCardsInSingleTransaction(deck, validation.getCards(),
+                    properties.getFile().getImportBatchSize());
+        } catch (RuntimeException e) {
+            deckService.deleteDeck(deck.getId());
+            throw e;
+        }
 
-        return uniqueName;
+        return new ValidatedImportResult(deck.getName(), records.size(), validation.getCards().size(),
+                validation.getErrors(), elapsedMillis(started));
     }
 
     /**
-     * Escape CSV field by wrapping in quotes and escaping internal quotes
+     * Open a card reader over a deck file channel; the format is detected from the file name
      */
-    private String escapeCsvField(String field) {
-        if (field == null) {
-            return "";
+    public CardRecordReader openCardReader(FileChannel channel, Path path) throws IOException {
+        DeckFileFormat format = DeckFileFormat.detect(path);
+        if (format == null) {
+            throw new IOException("Unsupported file type: " + path.getFileName());
         }
+        return openCardReader(channel, path, format);
+    }
 
-        // If field contains comma, newline, or quote, wrap in quotes
-        if (field.contains(",") || field.contains("\n") || field.contains("\"")) {
-            // Escape existing quotes by doubling them
-            String escaped = field.replace("\"", "\"\"");
-            return "\"" + escaped + "\"";
+    /**
+     * Open a card reader for the given format over a deck file channel, whatever the file is called.
+     * JSON and CSV are read through a decompressing stream on the channel, so the channel
+     * position reflects how many bytes of the file have been consumed.
+     */
+    public CardRecordReader openCardReader(FileChannel channel, Path path, DeckFileFormat format) throws IOException {
+        CompressedStreams.Codec codec = CompressedStreams.detect(path);
+        if (format == DeckFileFormat.BINARY) {
+            if (codec != CompressedStreams.Codec.NONE) {
+                throw new IOException("Binary deck files cannot be compressed externally: " + path.getFileName());
+            }
+            return new BinaryDeckReader(channel);
         }
 
-        return field;
+        InputStream input = CompressedStreams.wrapInput(Channels.newInputStream(channel), codec);
+        if (format == DeckFileFormat.JSON) {
+            return new JsonDeckReader(objectMapper.getFactory().createParser(input));
+        }
+        return new CsvCardReader(new InputStreamReader(input, StandardCharsets.UTF_8));
     }
 
     /**
-     * Unescape CSV field by removing quotes and unescaping internal quotes
+     * Read cards into an existing deck, handing them to the committer in batches of the configured size.
+     * The first skipRecords cards are read but not passed on, so an interrupted import can resume.
+     * Returns the number of cards read, including skipped ones.
      */
-    private String unescapeCsvField(String field) {
-        if (field == null) {
-            return "";
+    public long importCards(CardRecordReader reader, Deck deck, long skipRecords,
+                            BatchCommitter committer) throws IOException {
+        int batchSize = Math.max(1, properties.getFile().getImportBatchSize());
+        List<CardExportData> batch = new ArrayList<>(batchSize);
+        long recordsRead = 0;
+
+        while (reader.next()) {
+            recordsRead++;
+            if (recordsRead <= skipRecords) {
+                continue;
+            }
+            batch.add(new CardExportData(reader.getQuestion(), reader.getAnswer()));
+            if (batch.size() >= batchSize) {
+                committer.commit(deck, batch, recordsRead);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            committer.commit(deck, batch, recordsRead);
         }
 
-        String trimmed = field.trim();
+        return recordsRead;
+    }
 
-        // If field is wrapped in quotes, remove them and unescape internal quotes
-        if (trimmed.startsWith("\"") && trimmed.endsWith("\"") && trimmed.length() > 1) {
-            String content = trimmed.substring(1, trimmed.length() - 1);
-            return content.replace("\"\"", "\"");
+    /**
+     * Open a deck file of the given format and import it into a new deck.
+     * The name stored in the file wins over deckName; clashing names get a numbered suffix.
+     */
+    private Deck importDeckFile(Path path, DeckFileFormat format, String deckName) throws IOException {
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + path);
         }
 
-        return trimmed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             CardRecordReader reader = openCardReader(channel, path, format)) {
+            return importDeck(reader, deckName,
+                    (target, batch, recordsRead) -> cardService.createCards(target, batch));
+        }
+    }
+
+    private Deck importDeck(CardRecordReader reader, String fallbackName, BatchCommitter committer) throws IOException {
+        // Create deck with unique name if necessary
+        String name = reader.getDeckName() != null ? reader.getDeckName() : fallbackName;
+        Deck deck = deckService.createDeckWithUniqueName(name);
+        importCards(reader, deck, 0, committer);
+        return deck;
     }
 
     /**
-     * Parse CSV line handling quoted fields
+     * Import a very large CSV file.
+     * The file is memory-mapped and split into record-aligned chunks that are parsed
+     * and validated in parallel; a single writer saves the results in batches.
+     * With preserveOrder the cards are saved in file order, otherwise in chunk completion order;
+     * either way their creation times follow the order in which they are saved.
      */
-    private String[] parseCsvLine(String line) {
-        if (line == null || line.trim().isEmpty()) {
-            return new String[0];
+    public Deck importDeckFromLargeCsv(String filePath, String deckName, boolean preserveOrder) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+        if (deckName == null || deckName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Deck name cannot be empty");
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + filePath);
         }
 
-        java.util.List<String> result = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
+        // Compressed files cannot be memory-mapped; stream them sequentially instead
+        if (CompressedStreams.detect(path) != CompressedStreams.Codec.NONE) {
+            return importDeckFromCsv(filePath, deckName);
+        }
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<CsvChunk> chunks = CsvChunker.split(channel, properties.getFile().getLargeImportChunkSize());
 
-            if (c == '"') {
-                // Check if it's an escaped quote
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    currentField.append('"');
-                    i++; // Skip the next quote
-                } else {
-                    inQuotes = !inQuotes;
+            // Create deck with unique name if necessary
+            Deck deck = deckService.createDeckWithUniqueName(deckName);
+
+            int threads = importThreadCount();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                writeParsedChunks(channel, chunks, deck, executor, threads + 1, preserveOrder);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            return deck;
+        }
+    }
+
+    /**
+     * Submit chunks for parsing with at most maxInFlight parsed chunks held in memory,
+     * saving each parsed chunk as it is taken off the queue
+     */
+    private void writeParsedChunks(FileChannel channel, List<CsvChunk> chunks, Deck deck,
+                                   ExecutorService executor, int maxInFlight,
+                                   boolean preserveOrder) throws IOException {
+        CompletionService<List<Card>> completionService = new ExecutorCompletionService<>(executor);
+        Deque<Future<List<Card>>> inFlight = new ArrayDeque<>();
+        LocalDateTime lastCreatedAt = null;
+        int next = 0;
+
+        while (next < chunks.size() || !inFlight.isEmpty()) {
+            while (next < chunks.size() && inFlight.size() < maxInFlight) {
+                CsvChunk chunk = chunks.get(next++);
+                Callable<List<Card>> task = () -> parseCsvChunk(channel, chunk, deck);
+                // Ordered mode reads futures in submission order, so it bypasses the completion queue
+                inFlight.add(preserveOrder ? executor.submit(task) : completionService.submit(task));
+            }
+
+            Future<List<Card>> done;
+            try {
+                done = preserveOrder ? inFlight.peekFirst() : completionService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+            inFlight.remove(done);
+            List<Card> cards = awaitChunk(done);
+            lastCreatedAt = stampCreatedAt(cards, lastCreatedAt);
+            saveInBatches(cards);
+        }
+    }
+
+    /**
+     * Set the creation time of parsed cards in the order they are saved, each later than the one before,
+     * since the parser threads build the cards in no particular order. New cards are due when created.
+     * Returns the last time set.
+     */
+    private static LocalDateTime stampCreatedAt(List<Card> cards, LocalDateTime previous) {
+        LocalDateTime stamp = previous;
+        for (Card card : cards) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            stamp = stamp != null && !now.isAfter(stamp) ? stamp.plus(1, ChronoUnit.MICROS) : now;
+            card.setCreatedAt(stamp);
+            card.setDueAt(stamp);
+        }
+        return stamp;
+    }
+
+    /**
+     * Parse and validate a single chunk of a memory-mapped CSV file
+     */
+    private List<Card> parseCsvChunk(FileChannel channel, CsvChunk chunk, Deck deck) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.getOffset(), chunk.getLength());
+        List<Card> cards = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(new ByteBufferInputStream(buffer), StandardCharsets.UTF_8))) {
+            // The header record is at the start of the first chunk
+            if (chunk.getOffset() == 0) {
+                reader.nextRecord();
+            }
+
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() < 2) {
+                    continue;
                 }
-            } else if (c == ',' && !inQuotes) {
-                result.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+
+                String question = reader.getField(0);
+                String answer = reader.getField(1);
+                if (question.trim().isEmpty() || answer.trim().isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    cards.add(cardService.prepareCard(question, answer, deck));
+                } catch (IllegalArgumentException e) {
+                    long line = chunk.getFirstLine() + reader.getRecordLineNumber() - 1;
+                    throw new IllegalArgumentException("Line " + line + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        return cards;
+    }
+
+    /**
+     * Wait for a parsed chunk, unwrapping parser failures
+     */
+    private List<Card> awaitChunk(Future<List<Card>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Failed to parse CSV chunk", cause);
+        }
+    }
+
+    /**
+     * Save prepared cards in transactions of the configured batch size
+     */
+    private void saveInBatches(List<Card> cards) {
+        int batchSize = Math.max(1, properties.getFile().getImportBatchSize());
+        for (int from = 0; from < cards.size(); from += batchSize) {
+            cardService.saveCards(cards.subList(from, Math.min(from + batchSize, cards.size())));
+        }
+    }
+
+    /**
+     * Import every JSON, CSV and binary deck file in a directory (not recursive).
+     * Files are imported concurrently on a bounded pool; a failing file does not stop the others.
+     * CSV decks are named after their file name.
+     */
+    public DirectoryImportSummary importDirectory(String directoryPath) throws IOException {
+        if (directoryPath == null || directoryPath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Directory path cannot be empty");
+        }
+
+        Path directory = Paths.get(directoryPath);
+        if (!Files.isDirectory(directory)) {
+            throw new FileNotFoundException("Directory not found: " + directoryPath);
+        }
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(Files::isRegularFile)
+                    .filter(file -> DeckFileFormat.detect(file) != null)
+                    .sorted()
+                    .toList();
+        }
+
+        long started = System.nanoTime();
+        List<FileImportResult> results = new ArrayList<>(files.size());
+        if (!files.isEmpty()) {
+            int threads = Math.max(1, Math.min(properties.getFile().getDirectoryImportThreads(), files.size()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<FileImportResult>> futures = new ArrayList<>(files.size());
+                for (Path file : files) {
+                    futures.add(executor.submit(() -> importSingleFile(file)));
+                }
+                for (Future<FileImportResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Directory import interrupted");
+            } catch (ExecutionException e) {
+                throw new IOException("Directory import failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
             }
         }
 
-        // Add the last field
-        result.add(currentField.toString());
+        return new DirectoryImportSummary(results, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Import one file of a directory import, capturing failures in the result
+     */
+    private FileImportResult importSingleFile(Path file) {
+        String fileName = file.getFileName().toString();
+        long started = System.nanoTime();
+        try {
+            Deck deck = importDeckFile(file, DeckFileFormat.detect(file), getFileBaseName(file));
+            long cardCount = cardService.getCardCount(deck);
+            return FileImportResult.success(fileName, deck.getName(), cardCount, elapsedMillis(started));
+        } catch (IOException | RuntimeException e) {
+            return FileImportResult.failure(fileName, e.getMessage(), elapsedMillis(started));
+        }
+    }
+
+    /**
+     * Running totals of a merge import
+     */
+    private static final class MergeCounts {
+        private long inserted;
+        private long updated;
+        private long unchanged;
+
+        /**
+         * Cards inserted or updated by the import, which take no further answers from it
+         */
+        private final LongHashSet writtenCardIds = new LongHashSet();
+    }
+
+    /**
+     * Number of threads for parallel parsing and validation; 0 in the settings means one per processor
+     */
+    private int importThreadCount() {
+        int threads = properties.getFile().getImportThreads();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
 
-        return result.toArray(new String[0]);
+    /**
+     * Report export progress every PROGRESS_INTERVAL cards
+     */
+    private void reportProgress(ExportProgress progress, long written) {
+        if (written % PROGRESS_INTERVAL == 0) {
+            progress.recordsWritten(written);
+        }
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Resolve output path and create parent directories if needed
+     */
+    private Path prepareOutputPath(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return path;
+    }
+
+    /**
+     * Get file name without compression and format extensions
+     */
+    String getFileBaseName(Path path) {
+        String fileName = CompressedStreams.stripCompressionExtension(path.getFileName().toString());
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    /**
+     * Escape CSV field by wrapping in quotes and escaping internal quotes
+     */
+    private String escapeCsvField(String field) {
+        if (field == null) {
+            return "";
+        }
+
+        // If field contains comma, line break, or quote, wrap in quotes
+        if (field.contains(",") || field.contains("\n") || field.contains("\r") || field.contains("\"")) {
+            // Escape existing quotes by doubling them
+            String escaped = field.replace("\"", "\"\"");
+            return "\"" + escaped + "\"";
+        }
+
+        return field;
     }
 }
@@ -0,0 +1,134 @@
+package com.flashcard.service;
+
+import com.flashcard.util.LongArrays;
+import com.flashcard.util.LongLongHashMap;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * How the cards of a multi-deck quiz session are ordered.
+ * Works on card and deck IDs only, so cards are still loaded a page at a time afterwards.
+ * Within each deck the cards are shuffled; the strategy decides how the decks take turns.
+ */
+public enum InterleaveStrategy {
+
+    /**
+     * One card from each deck in turn, until the smaller decks run out
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Each deck's cards spread evenly over the whole session, so a deck with twice the due cards
+     * comes up twice as often all the way through
+     */
+    PROPORTIONAL,
+
+    /**
+     * All cards shuffled together
+     */
+    RANDOM;
+
+    /**
+     * Order the cards, given the deck of each card in the parallel deckIds array
+     */
+    public long[] interleave(long[] cardIds, long[] deckIds, SplittableRandom random) {
+        if (cardIds.length != deckIds.length) {
+            throw new IllegalArgumentException("Every card needs a deck");
+        }
+        int size = cardIds.length;
+        if (this == RANDOM) {
+            long[] order = cardIds.clone();
+            LongArrays.shuffle(order, 0, size, random);
+            return order;
+        }
+
+        // Counting sort of the cards by deck, keeping the order the decks first appear in
+        LongLongHashMap slots = new LongLongHashMap(16, -1);
+        int[] deckOf = new int[size];
+        int[] counts = new int[16];
+        int deckCount = 0;
+        for (int i = 0; i < size; i++) {
+            long slot = slots.get(deckIds[i]);
+            if (slot < 0) {
+                slot = deckCount++;
+                slots.put(deckIds[i], slot);
+                if (deckCount > counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+            }
+            deckOf[i] = (int) slot;
+            counts[(int) slot]++;
+        }
+
+        int[] starts = new int[deckCount + 1];
+        for (int d = 0; d < deckCount; d++) {
+            starts[d + 1] = starts[d] + counts[d];
+        }
+        int[] cursors = Arrays.copyOf(starts, deckCount);
+        long[] grouped = new long[size];
+        for (int i = 0; i < size; i++) {
+            grouped[cursors[deckOf[i]]++] = cardIds[i];
+        }
+        for (int d = 0; d < deckCount; d++) {
+            LongArrays.shuffle(grouped, starts[d], starts[d + 1], random);
+        }
+
+        System.arraycopy(starts, 0, cursors, 0, deckCount);
+        return this == ROUND_ROBIN
+                ? roundRobin(grouped, starts, cursors, deckCount)
+                : proportional(grouped, starts, cursors, deckCount);
+    }
+
+    private static long[] roundRobin(long[] grouped, int[] starts, int[] cursors, int deckCount) {
+        long[] order = new long[grouped.length];
+        int[] active = new int[deckCount];
+        for (int d = 0; d < deckCount; d++) {
+            active[d] = d;
+        }
+        int activeCount = deckCount;
+        int written = 0;
+        while (activeCount > 0) {
+            // One card from every deck that has any left, dropping the decks that run out
+            int remaining = 0;
+            for (int i = 0; i < activeCount; i++) {
+                int deck = active[i];
+                order[written++] = grouped[cursors[deck]++];
+                if (cursors[deck] < starts[deck + 1]) {
+                    active[remaining++] = deck;
+                }
+            }
+            activeCount = remaining;
+        }
+        return order;
+    }
+
+    /**
+     * Smooth weighted merge: the k-th card of a deck with n cards is placed at (k + 0.5) / n of the session
+     */
+    private static long[] proportional(long[] grouped, int[] starts, int[] cursors, int deckCount) {
+        long[] order = new long[grouped.length];
+        PriorityQueue<Integer> decks = new PriorityQueue<>(Math.max(1, deckCount), (a, b) -> {
+            int byPosition = Double.compare(position(a, starts, cursors), position(b, starts, cursors));
+            return byPosition != 0 ? byPosition : Integer.compare(a, b);
+        });
+        for (int d = 0; d < deckCount; d++) {
+            decks.add(d);
+        }
+        int written = 0;
+        while (!decks.isEmpty()) {
+            Integer deck = decks.poll();
+            order[written++] = grouped[cursors[deck]++];
+            if (cursors[deck] < starts[deck + 1]) {
+                decks.add(deck);
+            }
+        }
+        return order;
+    }
+
+    private static double position(int deck, int[] starts, int[] cursors) {
+        int taken = cursors[deck] - starts[deck];
+        int count = starts[deck + 1] - starts[deck];
+        return (taken + 0.5) / count;
+    }
+}
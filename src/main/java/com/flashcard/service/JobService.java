@@ -0,0 +1,468 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.io.CardRecordReader;
+import com.flashcard.io.DeckFileFormat;
+import com.flashcard.model.Deck;
+import com.flashcard.model.FileJob;
+import com.flashcard.model.dto.JobInfo;
+import com.flashcard.repository.FileJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Service class for background import and export jobs.
+ * Jobs run on a bounded pool and report live progress. Imports save each batch in the
+ * same transaction as their checkpoint, so a failed or cancelled import resumes after
+ * the last saved batch without duplicating cards. Exports write to a temporary file
+ * that replaces the target only on success.
+ */
+@Service
+public class JobService {
+
+    static final String INTERRUPTED_MESSAGE = "Interrupted by application shutdown";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final FileService fileService;
+    private final DeckService deckService;
+    private final CardService cardService;
+    private final FileJobRepository jobRepository;
+    private final FlashcardProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, JobProgress> progressById = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    public JobService(FileService fileService, DeckService deckService, CardService cardService,
+                      FileJobRepository jobRepository, FlashcardProperties properties,
+                      PlatformTransactionManager transactionManager) {
+        this.fileService = fileService;
+        this.deckService = deckService;
+        this.cardService = cardService;
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start the worker pool; jobs left unfinished by a previous run are marked failed so they can be resumed
+     */
+    @PostConstruct
+    void start() {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.updateStatusWhereStatusIn(
+                List.of(FileJob.Status.QUEUED, FileJob.Status.RUNNING),
+                FileJob.Status.FAILED, INTERRUPTED_MESSAGE, LocalDateTime.now()));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.getJobs().getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "file-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cancel running jobs and wait for them to stop; cancelled imports remain resumable
+     */
+    @PreDestroy
+    void stop() {
+        progressById.values().forEach(JobProgress::cancel);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getJobs().getShutdownTimeoutSeconds(), TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue an import of a JSON, CSV or binary deck file and return the job ID.
+     * deckName is required for CSV files; for other formats it is used only if the file has no name.
+     */
+    public synchronized long submitImport(String filePath, String deckName) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + filePath);
+        }
+        DeckFileFormat format = requireFormat(path);
+
+        boolean hasName = deckName != null && !deckName.trim().isEmpty();
+        if (format == DeckFileFormat.CSV && !hasName) {
+            throw new IllegalArgumentException("Deck name cannot be empty");
+        }
+
+        FileJob job = new FileJob(FileJob.Type.IMPORT, format, filePath);
+        job.setDeckName(hasName ? deckName.trim() : fileService.getFileBaseName(path));
+        return schedule(jobRepository.save(job));
+    }
+
+    /**
+     * Queue an export of a deck and return the job ID; the format is chosen by the file extension.
+     * compress enables block compression for binary exports.
+     */
+    public synchronized long submitExport(Deck deck, String filePath, boolean compress) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        FileJob job = new FileJob(FileJob.Type.EXPORT, requireFormat(Paths.get(filePath)), filePath);
+        job.setDeckId(deck.getId());
+        job.setDeckName(deck.getName());
+        job.setCompress(compress);
+        return schedule(jobRepository.save(job));
+    }
+
+    /**
+     * Request cancellation of a queued or running job
+     * Returns false if the job is not active
+     */
+    public boolean cancelJob(long jobId) {
+        JobProgress progress = progressById.get(jobId);
+        if (progress == null || progress.isDone()) {
+            return false;
+        }
+        progress.cancel();
+        return true;
+    }
+
+    /**
+     * Queue a failed or cancelled import again; it continues after the last committed batch
+     */
+    public synchronized long resumeJob(long jobId) {
+        FileJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+        if (job.getType() != FileJob.Type.IMPORT) {
+            throw new IllegalArgumentException("Only import jobs can be resumed");
+        }
+        if (job.getStatus() != FileJob.Status.FAILED && job.getStatus() != FileJob.Status.CANCELLED) {
+            throw new IllegalArgumentException("Job " + jobId + " is " + job.getStatus() + " and cannot be resumed");
+        }
+        JobProgress progress = progressById.get(jobId);
+        if (progress != null && !progress.isDone()) {
+            throw new IllegalArgumentException("Job " + jobId + " is still running");
+        }
+
+        job.setStatus(FileJob.Status.QUEUED);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        return schedule(jobRepository.save(job));
+    }
+
+    /**
+     * Get all jobs, newest first, with live progress for active jobs
+     */
+    public List<JobInfo> getJobs() {
+        return jobRepository.findAllByOrderByIdDesc().stream()
+                .map(this::toJobInfo)
+                .toList();
+    }
+
+    /**
+     * Get a single job with live progress
+     */
+    public Optional<JobInfo> getJob(long jobId) {
+        return jobRepository.findById(jobId).map(this::toJobInfo);
+    }
+
+    private long schedule(FileJob job) {
+        long jobId = job.getId();
+        JobProgress progress = new JobProgress();
+        progressById.put(jobId, progress);
+        executor.execute(() -> runJob(jobId, progress));
+        return jobId;
+    }
+
+    private void runJob(long jobId, JobProgress progress) {
+        try {
+            FileJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new IllegalStateException("Job not found: " + jobId));
+            progress.checkCancelled();
+            progress.start();
+            updateJob(jobId, stored -> stored.setStatus(FileJob.Status.RUNNING));
+
+            if (job.getType() == FileJob.Type.IMPORT) {
+                runImport(job, progress);
+                updateJob(jobId, stored -> stored.setStatus(FileJob.Status.COMPLETED));
+            } else {
+                long written = runExport(job, progress);
+                updateJob(jobId, stored -> {
+                    stored.setStatus(FileJob.Status.COMPLETED);
+                    stored.setRecordsCommitted(written);
+                });
+            }
+        } catch (CancellationException e) {
+            updateJob(jobId, stored -> {
+                stored.setStatus(FileJob.Status.CANCELLED);
+                stored.setErrorMessage("Cancelled");
+            });
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            updateJob(jobId, stored -> {
+                stored.setStatus(FileJob.Status.FAILED);
+                stored.setErrorMessage(truncate(message));
+            });
+        } finally {
+            progress.finish();
+            // The stored job holds the final counts; live progress is only kept while the job is active
+            progressById.remove(jobId, progress);
+        }
+    }
+
+    /**
+     * Import the job's file, skipping the records committed by earlier runs
+     */
+    private void runImport(FileJob job, JobProgress progress) throws IOException {
+        Path path = Paths.get(job.getFilePath());
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + job.getFilePath());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             CardRecordReader reader = fileService.openCardReader(channel, path)) {
+            progress.trackFile(channel);
+            Deck deck = resolveImportDeck(job, reader);
+
+            long jobId = job.getId();
+            long skipRecords = job.getRecordsCommitted();
+            progress.resumeFrom(skipRecords);
+
+            fileService.importCards(reader, deck, skipRecords, (target, batch, recordsRead) -> {
+                progress.checkCancelled();
+                transactionTemplate.executeWithoutResult(status -> {
+                    cardService.createCards(target, batch);
+                    jobRepository.updateCheckpoint(jobId, recordsRead, LocalDateTime.now());
+                });
+                progress.committed(recordsRead);
+            });
+            progress.bytesProcessed();
+        }
+    }
+
+    /**
+     * Reuse the deck of an earlier run, or create the deck and record it on the job.
+     * Both happen in one transaction, so a crash cannot leave a deck the job does not know about.
+     */
+    private Deck resolveImportDeck(FileJob job, CardRecordReader reader) {
+        if (job.getDeckId() != null) {
+            return deckService.findDeckById(job.getDeckId())
+                    .orElseThrow(() -> new IllegalStateException("Deck of job " + job.getId() + " no longer exists"));
+        }
+
+        String name = reader.getDeckName() != null ? reader.getDeckName() : job.getDeckName();
+        return transactionTemplate.execute(status -> {
+            Deck deck = deckService.createDeckWithUniqueName(name);
+            updateJob(job.getId(), stored -> {
+                stored.setDeckId(deck.getId());
+                stored.setDeckName(deck.getName());
+            });
+            return deck;
+        });
+    }
+
+    /**
+     * Export the job's deck to a temporary file next to the target, then move it into place
+     * Returns the number of cards written
+     */
+    private long runExport(FileJob job, JobProgress progress) throws IOException {
+        Deck deck = deckService.findDeckById(job.getDeckId())
+                .orElseThrow(() -> new IllegalStateException("Deck of job " + job.getId() + " no longer exists"));
+        progress.setTotalRecords(cardService.getCardCount(deck));
+
+        Path path = Paths.get(job.getFilePath()).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        // Keep the original name at the end so the format and compression are still detected
+        Path tempPath = path.resolveSibling(".part-" + job.getId() + "-" + path.getFileName());
+
+        FileService.ExportProgress listener = written -> {
+            progress.checkCancelled();
+            progress.processed(written);
+        };
+        try {
+            switch (job.getFormat()) {
+                case JSON -> fileService.exportDeckToJson(deck, tempPath.toString(),
+                        properties.getFile().isPrettyPrintJson(), listener);
+                case CSV -> fileService.exportDeckToCsv(deck, tempPath.toString(), listener);
+                case BINARY -> fileService.exportDeckToBinary(deck, tempPath.toString(), job.isCompress(), listener);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        return progress.getRecordsProcessed();
+    }
+
+    private void updateJob(long jobId, Consumer<FileJob> change) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            change.accept(job);
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    private JobInfo toJobInfo(FileJob job) {
+        JobProgress progress = progressById.get(job.getId());
+        if (progress == null) {
+            return new JobInfo(job.getId(), job.getType(), job.getFormat(), job.getFilePath(), job.getDeckName(),
+                    job.getStatus(), 0, job.getRecordsCommitted(), 0, 0, 0, 0, job.getErrorMessage());
+        }
+        long recordsCommitted = job.getType() == FileJob.Type.IMPORT
+                ? Math.max(job.getRecordsCommitted(), progress.getRecordsCommitted())
+                : job.getRecordsCommitted();
+        return new JobInfo(job.getId(), job.getType(), job.getFormat(), job.getFilePath(), job.getDeckName(),
+                job.getStatus(), progress.getRecordsProcessed(), recordsCommitted, progress.getTotalRecords(),
+                progress.bytesProcessed(), progress.getTotalBytes(), progress.elapsedMillis(), job.getErrorMessage());
+    }
+
+    private DeckFileFormat requireFormat(Path path) {
+        DeckFileFormat format = DeckFileFormat.detect(path);
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported file type: " + path.getFileName());
+        }
+        return format;
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Live progress of one job run, written by the worker and read by status queries
+     */
+    private static final class JobProgress {
+
+        private volatile boolean cancelRequested;
+        private volatile boolean done;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile long skippedRecords;
+        private volatile long recordsProcessed;
+        private volatile long recordsCommitted;
+        private volatile long totalRecords;
+        private volatile long totalBytes;
+        private volatile long bytesProcessed;
+        private volatile FileChannel channel;
+
+        void cancel() {
+            cancelRequested = true;
+        }
+
+        void checkCancelled() {
+            if (cancelRequested) {
+                throw new CancellationException("Job cancelled");
+            }
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+        }
+
+        void finish() {
+            bytesProcessed();
+            channel = null;
+            endNanos = System.nanoTime();
+            done = true;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        void trackFile(FileChannel fileChannel) throws IOException {
+            totalBytes = fileChannel.size();
+            channel = fileChannel;
+        }
+
+        void resumeFrom(long records) {
+            skippedRecords = records;
+            recordsCommitted = records;
+        }
+
+        /**
+         * Records a saved import batch; only records read in this run count as processed
+         */
+        void committed(long recordsRead) {
+            recordsCommitted = recordsRead;
+            recordsProcessed = recordsRead - skippedRecords;
+        }
+
+        void processed(long records) {
+            recordsProcessed = records;
+        }
+
+        void setTotalRecords(long records) {
+            totalRecords = records;
+        }
+
+        long getRecordsProcessed() {
+            return recordsProcessed;
+        }
+
+        long getRecordsCommitted() {
+            return recordsCommitted;
+        }
+
+        long getTotalRecords() {
+            return totalRecords;
+        }
+
+        long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Bytes read so far, taken from the position of the file channel while it is open
+         */
+        long bytesProcessed() {
+            FileChannel current = channel;
+            if (current != null && current.isOpen()) {
+                try {
+                    bytesProcessed = current.position();
+                } catch (IOException e) {
+                    // Channel closed concurrently; keep the last known position
+                }
+            }
+            return bytesProcessed;
+        }
+
+        long elapsedMillis() {
+            if (startNanos == 0) {
+                return 0;
+            }
+            long end = done ? endNanos : System.nanoTime();
+            return (end - startNanos) / 1_000_000;
+        }
+    }
+}
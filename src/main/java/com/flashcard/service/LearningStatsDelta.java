@@ -0,0 +1,85 @@
+package com.flashcard.service;
+
+import com.flashcard.model.LearningStats;
+import java.time.LocalDateTime;
+
+/**
+ * Change to one card's or deck's {@link LearningStats} from a batch of answers.
+ * Each answer is folded in with O(1) work, and the whole batch is applied to the stored
+ * statistics with a single UPDATE: counters are added and the rolling accuracy becomes
+ * stored * decay + offset, or fromEmpty when nothing is stored yet.
+ */
+public final class LearningStatsDelta {
+
+    private static final double KEEP = 1 - LearningStats.ROLLING_ACCURACY_WEIGHT;
+
+    private long attempts;
+    private long correctCount;
+    private long responseMillisTotal;
+    private long responseCount;
+    private double decay = 1;
+    private double offset;
+    private double fromEmpty;
+    private LocalDateTime lastReviewedAt;
+
+    /**
+     * Fold in one answer; answers must be added in the order they were given
+     */
+    public void add(boolean correct, Long responseMillis, LocalDateTime reviewedAt) {
+        double value = correct ? 1 : 0;
+        fromEmpty = attempts == 0 ? value : fromEmpty * KEEP + LearningStats.ROLLING_ACCURACY_WEIGHT * value;
+        decay *= KEEP;
+        offset = offset * KEEP + LearningStats.ROLLING_ACCURACY_WEIGHT * value;
+
+        attempts++;
+        if (correct) {
+            correctCount++;
+        }
+        if (responseMillis != null) {
+            responseMillisTotal += responseMillis;
+            responseCount++;
+        }
+        if (lastReviewedAt == null || reviewedAt.isAfter(lastReviewedAt)) {
+            lastReviewedAt = reviewedAt;
+        }
+    }
+
+    /**
+     * Rolling accuracy after this delta, given the stored value or null
+     */
+    public double applyRollingAccuracy(Double stored) {
+        return stored == null ? fromEmpty : stored * decay + offset;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public long getCorrectCount() {
+        return correctCount;
+    }
+
+    public long getResponseMillisTotal() {
+        return responseMillisTotal;
+    }
+
+    public long getResponseCount() {
+        return responseCount;
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    public double getOffset() {
+        return offset;
+    }
+
+    public double getFromEmpty() {
+        return fromEmpty;
+    }
+
+    public LocalDateTime getLastReviewedAt() {
+        return lastReviewedAt;
+    }
+}
@@ -0,0 +1,125 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.util.LongArrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Serves every card of a fixed set once, either in an order shuffled with the session seed
+ * or in an order chosen by the caller, such as an {@link InterleaveStrategy}.
+ * Only the card IDs are held, plus at most two pages of cards: while the learner answers the
+ * current page, the next one is loaded in the background so moving on never waits for the database.
+ * Cards deleted after the session started are skipped.
+ */
+class PagedCardSource implements QuizSession.CardSource {
+
+    private final long[] cardIds;
+    private final int pageSize;
+    private final QuizSession.PageLoader loader;
+    private final Executor prefetchExecutor;
+
+    private List<Card> page = List.of();
+    private int indexInPage;
+    private int pageEnd;
+    private boolean closed;
+    private CompletableFuture<List<Card>> nextPage;
+
+    /**
+     * Shuffle cardIds in place with the given seed and load the first page immediately
+     */
+    PagedCardSource(long[] cardIds, long seed, int pageSize, QuizSession.PageLoader loader, Executor prefetchExecutor) {
+        this(shuffled(cardIds, seed), pageSize, loader, prefetchExecutor);
+    }
+
+    /**
+     * Serve cardIds in the given order, loading the first page immediately
+     */
+    PagedCardSource(long[] cardIds, int pageSize, QuizSession.PageLoader loader, Executor prefetchExecutor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.cardIds = cardIds;
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.prefetchExecutor = prefetchExecutor;
+
+        if (cardIds.length > 0) {
+            advancePage();
+        }
+    }
+
+    @Override
+    public int size() {
+        return cardIds.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (indexInPage >= page.size()) {
+            if (closed || pageEnd >= cardIds.length) {
+                return false;
+            }
+            advancePage();
+        }
+        return true;
+    }
+
+    @Override
+    public Card next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more cards in this quiz session");
+        }
+        return page.get(indexInPage++);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        page = List.of();
+        indexInPage = 0;
+        if (nextPage != null) {
+            nextPage.cancel(false);
+            nextPage = null;
+        }
+    }
+
+    /**
+     * Make the page starting at pageEnd current, then start loading the one after it
+     */
+    private void advancePage() {
+        int from = pageEnd;
+        int to = Math.min(cardIds.length, from + pageSize);
+        page = nextPage != null ? awaitNextPage() : loader.load(cardIds, from, to);
+        nextPage = null;
+        indexInPage = 0;
+        pageEnd = to;
+
+        if (pageEnd < cardIds.length) {
+            int prefetchFrom = pageEnd;
+            int prefetchTo = Math.min(cardIds.length, prefetchFrom + pageSize);
+            nextPage = CompletableFuture.supplyAsync(() -> loader.load(cardIds, prefetchFrom, prefetchTo),
+                    prefetchExecutor);
+        }
+    }
+
+    private List<Card> awaitNextPage() {
+        try {
+            return nextPage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long[] shuffled(long[] ids, long seed) {
+        LongArrays.shuffle(ids, 0, ids.length, new SplittableRandom(seed));
+        return ids;
+    }
+}
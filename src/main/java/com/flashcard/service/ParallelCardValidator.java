@@ -0,0 +1,84 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.dto.ImportRecordError;
+import com.flashcard.util.ParallelRanges;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validates parsed import records in parallel on a ForkJoin pool with {@link ParallelRanges};
+ * results are stored by index, so valid cards and errors keep the order of the file.
+ */
+class ParallelCardValidator {
+
+    private final CardService cardService;
+
+    ParallelCardValidator(CardService cardService) {
+        this.cardService = cardService;
+    }
+
+    /**
+     * Parsed question and answer with the line it came from
+     */
+    static final class Record {
+        private final long line;
+        private final String question;
+        private final String answer;
+
+        Record(long line, String question, String answer) {
+            this.line = line;
+            this.question = question;
+            this.answer = answer;
+        }
+    }
+
+    /**
+     * Valid cards (not yet assigned to a deck) and errors, both in file order
+     */
+    static final class Result {
+        private final List<Card> cards;
+        private final List<ImportRecordError> errors;
+
+        private Result(List<Card> cards, List<ImportRecordError> errors) {
+            this.cards = cards;
+            this.errors = errors;
+        }
+
+        List<Card> getCards() {
+            return cards;
+        }
+
+        List<ImportRecordError> getErrors() {
+            return errors;
+        }
+    }
+
+    Result validate(List<Record> records, ForkJoinPool pool) {
+        Card[] cards = new Card[records.size()];
+        String[] errors = new String[records.size()];
+        ParallelRanges.forEach(pool, records.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Record record = records.get(i);
+                try {
+                    cards[i] = cardService.prepareUnassignedCard(record.question, record.answer);
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        });
+
+        List<Card> validCards = new ArrayList<>(records.size());
+        List<ImportRecordError> recordErrors = new ArrayList<>();
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] != null) {
+                validCards.add(cards[i]);
+            } else {
+                recordErrors.add(new ImportRecordError(records.get(i).line, errors[i]));
+            }
+        }
+        return new Result(validCards, recordErrors);
+    }
+}
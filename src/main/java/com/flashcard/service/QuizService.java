@@ -1,13 +1,35 @@
 package com.flashcard.service;
 
+import com.flashcard.config.FlashcardProperties;
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.ReviewLog;
+import com.flashcard.model.dto.AnswerSubmission;
+import com.flashcard.model.dto.CardAccuracies;
+import com.flashcard.model.dto.CardAnswerRow;
+import com.flashcard.model.dto.DueCardIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service class for quiz functionality and spaced repetition logic
@@ -16,71 +38,338 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class QuizService {
 
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final CardService cardService;
-    private final Random random;
+    private final SpacedRepetitionScheduler scheduler;
+    private final FlashcardProperties properties;
+    private final AnswerMatcherCache answerMatcherCache;
+    private final QuizSessionRegistry sessionRegistry;
+    private final ReviewLogWriter reviewLogWriter;
+    private final DeckSnapshotCache deckSnapshotCache;
+
+    private ExecutorService prefetchExecutor;
+    private ForkJoinPool gradingPool;
+
+    /**
+     * Start the pools that load upcoming pages of lazy quiz sessions and grade batches of answers
+     */
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        prefetchExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getQuiz().getPrefetchThreads()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "quiz-prefetch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        int gradingThreads = properties.getQuiz().getGradingThreads();
+        gradingPool = new ForkJoinPool(gradingThreads > 0 ? gradingThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stop() {
+        prefetchExecutor.shutdownNow();
+        gradingPool.shutdownNow();
+    }
 
     /**
      * Start a quiz session with the specified deck
-     * Returns shuffled list of cards for the quiz
+     * Returns up to the configured session size of due cards, most overdue first, in shuffled order.
+     * The cards come from the deck's shared snapshot, so no query is made while it is current.
      */
     public List<Card> startQuizSession(Deck deck) {
         if (deck == null) {
             throw new IllegalArgumentException("Deck cannot be null");
         }
 
-        List<Card> cards = cardService.getCardsByDeck(deck);
+        LocalDateTime now = LocalDateTime.now();
+        DeckSnapshot.View snapshot = getSnapshot(deck);
+        List<Card> cards = snapshot != null
+                ? snapshot.getDueCards(deck, now, getSessionSize())
+                : new ArrayList<>(cardService.getDueCards(deck, now, getSessionSize()));
         if (cards.isEmpty()) {
-            throw new IllegalArgumentException("Deck '" + deck.getName() + "' contains no cards");
+            throw noCardsDue(deck, snapshot);
         }
 
-        // Shuffle cards for random order
-        Collections.shuffle(cards, random);
+        // Shuffle cards for random order; each call has its own generator, so nothing is shared between sessions
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        for (int i = cards.size() - 1; i > 0; i--) {
+            Collections.swap(cards, i, random.nextInt(i + 1));
+        }
         return cards;
     }
 
+    /**
+     * Open a registered quiz session over up to maxCards due cards of the deck, most overdue first,
+     * in an order shuffled with a fresh random seed. The session must be ended with endQuizSession.
+     */
+    public QuizSession openQuizSession(Deck deck, int maxCards) {
+        return openQuizSession(deck, maxCards, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Open a registered quiz session whose card order is shuffled with the given seed.
+     * Only the card IDs are loaded up front; the cards themselves are fetched a page at a time,
+     * with the next page loaded in the background.
+     */
+    public QuizSession openQuizSession(Deck deck, int maxCards, long seed) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (maxCards <= 0) {
+            throw new IllegalArgumentException("Maximum number of cards must be positive");
+        }
+
+        int limit = Math.min(maxCards, Math.max(1, properties.getQuiz().getMaxSessionCards()));
+        LocalDateTime now = LocalDateTime.now();
+        DeckSnapshot.View snapshot = getSnapshot(deck);
+        long[] cardIds = snapshot != null
+                ? snapshot.getDueCardIds(now, limit)
+                : cardService.getDueCardIds(deck, now, limit);
+        if (cardIds.length == 0) {
+            throw noCardsDue(deck, snapshot);
+        }
+        int pageSize = Math.max(1, properties.getQuiz().getPageSize());
+        return sessionRegistry.open(id -> new QuizSession(id, seed, cardIds, pageSize,
+                pageLoader(deck), prefetchExecutor));
+    }
+
+    /**
+     * Open a registered quiz session over every due card of the deck, up to the configured maximum
+     */
+    public QuizSession startLazyQuizSession(Deck deck) {
+        return openQuizSession(deck, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Open a registered quiz session over up to maxCards due cards of several decks, most overdue first,
+     * interleaved with the given strategy and a fresh random seed. The session must be ended with endQuizSession.
+     */
+    public QuizSession openQuizSession(Collection<Deck> decks, int maxCards, InterleaveStrategy strategy) {
+        return openQuizSession(decks, maxCards, strategy, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Open a registered quiz session over the due cards of several decks.
+     * The IDs of the due cards of all decks are read with a single query and interleaved with the given strategy;
+     * the cards themselves are fetched a page at a time, as for a single deck.
+     */
+    public QuizSession openQuizSession(Collection<Deck> decks, int maxCards, InterleaveStrategy strategy, long seed) {
+        if (decks == null || decks.isEmpty()) {
+            throw new IllegalArgumentException("At least one deck is required");
+        }
+        if (maxCards <= 0) {
+            throw new IllegalArgumentException("Maximum number of cards must be positive");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Interleave strategy cannot be null");
+        }
+
+        int limit = Math.min(maxCards, Math.max(1, properties.getQuiz().getMaxSessionCards()));
+        DueCardIds due = cardService.getDueCardIds(decks, LocalDateTime.now(), limit);
+        if (due.size() == 0) {
+            LocalDateTime nextDueAt = cardService.getNextDueAt(decks)
+                    .orElseThrow(() -> new IllegalArgumentException("The selected decks contain no cards"));
+            throw new IllegalArgumentException("No cards in the selected decks are due. Next review: "
+                    + nextDueAt.format(DUE_FORMAT));
+        }
+        long[] cardIds = strategy.interleave(due.getCardIds(), due.getDeckIds(), new SplittableRandom(seed));
+        int pageSize = Math.max(1, properties.getQuiz().getPageSize());
+        return sessionRegistry.open(id -> new QuizSession(id, seed, new PagedCardSource(cardIds, pageSize,
+                cardService::getCardsByIds, prefetchExecutor)));
+    }
+
+    /**
+     * Open a registered practice session of up to questions cards drawn from the whole deck with a fresh random seed,
+     * favouring the cards the learner answers wrong most often. The session must be ended with endQuizSession.
+     */
+    public QuizSession openWeightedQuizSession(Deck deck, int questions) {
+        return openWeightedQuizSession(deck, questions, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Open a registered practice session whose cards are drawn with the given seed, each in proportion to
+     * a difficulty weight from its rolling accuracy. Unlike openQuizSession, due dates are ignored and a card
+     * can come up again; its weight is updated as soon as it is answered. Cards are drawn and loaded a few at a time.
+     */
+    public QuizSession openWeightedQuizSession(Deck deck, int questions, long seed) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck cannot be null");
+        }
+        if (questions <= 0) {
+            throw new IllegalArgumentException("Number of questions must be positive");
+        }
+
+        CardAccuracies accuracies = cardService.getCardAccuracies(deck,
+                Math.max(1, properties.getQuiz().getMaxSessionCards()));
+        if (accuracies.size() == 0) {
+            throw new IllegalArgumentException("Deck '" + deck.getName() + "' contains no cards");
+        }
+        return sessionRegistry.open(id -> new QuizSession(id, seed, new WeightedCardSource(accuracies.getCardIds(),
+                accuracies.getRollingAccuracies(), questions, seed, pageLoader(deck))));
+    }
+
+    /**
+     * Get an active quiz session by ID
+     */
+    public Optional<QuizSession> getQuizSession(long sessionId) {
+        return sessionRegistry.get(sessionId);
+    }
+
+    /**
+     * Close a quiz session and release its cards
+     */
+    public void endQuizSession(long sessionId) {
+        sessionRegistry.remove(sessionId);
+    }
+
+    /**
+     * Count the cards of a deck that are due now, from its snapshot if one is already built
+     */
+    public long countDueCards(Deck deck) {
+        DeckSnapshot.View snapshot = deck.getId() != null ? deckSnapshotCache.peekView(deck.getId()) : null;
+        LocalDateTime now = LocalDateTime.now();
+        return snapshot != null ? snapshot.countDue(now) : cardService.countDueCards(deck, now);
+    }
+
+    /**
+     * Count the cards of several decks that are due now
+     */
+    public long countDueCards(Collection<Deck> decks) {
+        return cardService.countDueCards(decks, LocalDateTime.now());
+    }
+
+    /**
+     * Maximum number of cards returned by startQuizSession
+     */
+    public int getSessionSize() {
+        return Math.max(1, properties.getQuiz().getSessionSize());
+    }
+
+    /**
+     * Shared snapshot of the deck's cards, or null if the deck is too large or snapshots are disabled
+     */
+    private DeckSnapshot.View getSnapshot(Deck deck) {
+        if (deck.getId() == null) {
+            return null;
+        }
+        int maxCards = Math.max(0, properties.getQuiz().getSnapshotMaxCards());
+        return deckSnapshotCache.getView(deck.getId(),
+                version -> cardService.buildDeckSnapshot(deck, version, maxCards));
+    }
+
+    /**
+     * Loads session pages from the deck's snapshot while one is built, and from the database otherwise.
+     * The snapshot is looked up for every page, so pages follow changes made to the deck during the session.
+     */
+    private QuizSession.PageLoader pageLoader(Deck deck) {
+        return (ids, from, to) -> {
+            DeckSnapshot.View snapshot = deck.getId() != null ? deckSnapshotCache.peekView(deck.getId()) : null;
+            return snapshot != null ? snapshot.getCardsByIds(ids, from, to, deck) : cardService.getCardsByIds(ids, from, to);
+        };
+    }
+
+    private IllegalArgumentException noCardsDue(Deck deck, DeckSnapshot.View snapshot) {
+        Optional<LocalDateTime> next = snapshot != null ? snapshot.getNextDueAt() : cardService.getNextDueAt(deck);
+        LocalDateTime nextDueAt = next
+                .orElseThrow(() -> new IllegalArgumentException("Deck '" + deck.getName() + "' contains no cards"));
+        return new IllegalArgumentException("No cards in deck '" + deck.getName() + "' are due. Next review: "
+                + nextDueAt.format(DUE_FORMAT));
+    }
+
+    /**
+     * Reschedule a card after it was answered and save its new state
+     * Correct answers count as GOOD, incorrect ones as AGAIN
+     */
+    public void recordReview(Card card, boolean correct) {
+        recordReview(card, correct ? SpacedRepetitionScheduler.Grade.GOOD : SpacedRepetitionScheduler.Grade.AGAIN);
+    }
+
+    /**
+     * Reschedule a card with an explicit grade and save its new state
+     */
+    public void recordReview(Card card, SpacedRepetitionScheduler.Grade grade) {
+        scheduler.applyReview(card, grade, LocalDateTime.now());
+        cardService.saveSchedule(card);
+    }
+
     /**
      * Check if the user's answer matches the correct answer
-     * Uses case-insensitive comparison and handles multiple acceptable answers
+     * Uses case-insensitive comparison and handles multiple acceptable answers and, if configured, typos
+     * The card's compiled matcher is cached, so repeated checks do no parsing
      */
     public QuizResult checkAnswer(Card card, String userAnswer) {
         if (card == null) {
             throw new IllegalArgumentException("Card cannot be null");
         }
-        if (userAnswer == null) {
-            userAnswer = "";
+        return grade(answerMatcherCache.getMatcher(card), userAnswer);
+    }
+
+    /**
+     * Grade many answers at once, such as the answer sheets of an exam, without loading the cards.
+     * The answers of all submitted cards are read with a single query and the submissions are graded
+     * in parallel with the same rules as checkAnswer. Results are returned in the order of the submissions.
+     */
+    public List<QuizResult> checkAnswers(List<AnswerSubmission> submissions) {
+        if (submissions == null) {
+            throw new IllegalArgumentException("Submissions cannot be null");
         }
 
-        String correctAnswer = card.getAnswer().trim();
-        String providedAnswer = userAnswer.trim();
+        LinkedHashSet<Long> cardIds = new LinkedHashSet<>();
+        for (AnswerSubmission submission : submissions) {
+            if (submission == null || submission.getCardId() == null) {
+                throw new IllegalArgumentException("Every submission needs a card ID");
+            }
+            cardIds.add(submission.getCardId());
+        }
 
-        boolean isCorrect = isAnswerCorrect(correctAnswer, providedAnswer);
+        Map<Long, AnswerMatcher> matchers = new HashMap<>();
+        for (CardAnswerRow row : cardService.getAnswersByIds(cardIds)) {
+            matchers.put(row.getCardId(),
+                    answerMatcherCache.getMatcher(row.getCardId(), row.getAnswer(), row.getNormalizedAnswer()));
+        }
+        for (Long cardId : cardIds) {
+            if (!matchers.containsKey(cardId)) {
+                throw new IllegalArgumentException("Card not found with ID: " + cardId);
+            }
+        }
 
-        return new QuizResult(isCorrect, correctAnswer, providedAnswer);
+        return new BatchAnswerGrader(matchers).grade(submissions, gradingPool);
     }
 
     /**
-     * Check if provided answer is correct using various matching strategies
+     * Grade a possibly null answer with a compiled matcher
      */
-    private boolean isAnswerCorrect(String correctAnswer, String userAnswer) {
-        if (correctAnswer.equalsIgnoreCase(userAnswer)) {
-            return true;
-        }
+    static QuizResult grade(AnswerMatcher matcher, String userAnswer) {
+        String answer = userAnswer != null ? userAnswer : "";
+        return new QuizResult(matcher.matches(answer), matcher.getAnswer(), answer.trim());
+    }
 
-        // Handle multiple acceptable answers separated by semicolons or commas
-        String[] acceptableAnswers = correctAnswer.split("[;,]");
-        for (String answer : acceptableAnswers) {
-            if (answer.trim().equalsIgnoreCase(userAnswer)) {
-                return true;
+    /**
+     * Grade an answer given in a session, count it towards the session score and queue it for the review log,
+     * which also updates the card and deck learning statistics.
+     * responseTimeNanos is the System.nanoTime() interval from showing the question to receiving the answer,
+     * or null if it was not measured; it is returned with the result and kept by the session.
+     */
+    public QuizResult submitAnswer(QuizSession session, Card card, String userAnswer, Long responseTimeNanos) {
+        QuizResult graded = checkAnswer(card, userAnswer);
+        QuizResult result = new QuizResult(graded.isCorrect(), graded.getCorrectAnswer(), graded.getUserAnswer(),
+                responseTimeNanos);
+        if (session != null) {
+            if (responseTimeNanos != null) {
+                session.recordAnswer(result.isCorrect(), responseTimeNanos);
+            } else {
+                session.recordAnswer(result.isCorrect());
             }
         }
-
-        // Handle partial matches for longer answers (> 10 characters)
-        if (correctAnswer.length() > 10 && userAnswer.length() > 5) {
-            return correctAnswer.toLowerCase().contains(userAnswer.toLowerCase()) ||
-                    userAnswer.toLowerCase().contains(correctAnswer.toLowerCase());
+        if (card.getId() != null) {
+            Long deckId = card.getDeck() != null ? card.getDeck().getId() : null;
+            Long responseTimeMillis = responseTimeNanos != null ? TimeUnit.NANOSECONDS.toMillis(responseTimeNanos) : null;
+            reviewLogWriter.record(new ReviewLog(card.getId(), deckId, result.isCorrect(), responseTimeMillis,
+                    LocalDateTime.now()));
         }
-
-        return false;
+        return result;
     }
 
     /**
@@ -92,10 +381,20 @@ public class QuizService {
         private final String correctAnswer;
         private final String userAnswer;
 
+        /**
+         * Time from showing the question to receiving the answer in nanoseconds, or null if not measured
+         */
+        private final Long responseTimeNanos;
+
         public QuizResult(boolean correct, String correctAnswer, String userAnswer) {
+            this(correct, correctAnswer, userAnswer, null);
+        }
+
+        public QuizResult(boolean correct, String correctAnswer, String userAnswer, Long responseTimeNanos) {
             this.correct = correct;
             this.correctAnswer = correctAnswer;
             this.userAnswer = userAnswer;
+            this.responseTimeNanos = responseTimeNanos;
         }
 
         public boolean isCorrect() { return correct; }
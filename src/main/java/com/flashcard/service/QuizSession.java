@@ -0,0 +1,187 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+/**
+ * One learner's pass over a set of cards, as managed by {@link QuizSessionRegistry}.
+ * The session keeps the score and delegates the choice of cards to a {@link CardSource}:
+ * either a {@link PagedCardSource} over shuffled card IDs, or a {@link WeightedCardSource}
+ * that draws cards in proportion to how difficult the learner finds them.
+ * Measured response times are appended to a primitive array and only summarized on request.
+ * Methods are synchronized so a session can be handed between request threads.
+ */
+public class QuizSession implements Iterator<Card>, AutoCloseable {
+
+    /**
+     * Loads the cards with ids[from, to) in that order
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        List<Card> load(long[] ids, int from, int to);
+    }
+
+    /**
+     * Supplies the cards of a session; only ever called by the owning session, under its lock
+     */
+    public interface CardSource {
+
+        boolean hasNext();
+
+        Card next();
+
+        /**
+         * Number of questions the source will serve at most
+         */
+        int size();
+
+        /**
+         * Called with the outcome of the card last returned by next()
+         */
+        default void recordAnswer(boolean correct) {
+        }
+
+        /**
+         * Release loaded cards and stop any background work
+         */
+        default void close() {
+        }
+    }
+
+    private final long id;
+    private final long seed;
+    private final CardSource source;
+
+    private int served;
+    private int answered;
+    private int correct;
+    private long[] responseNanos = new long[16];
+    private int responseCount;
+    private boolean closed;
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    /**
+     * Start a session over cardIds shuffled in place with the given seed, loading the first page immediately
+     */
+    public QuizSession(long id, long seed, long[] cardIds, int pageSize, PageLoader loader, Executor prefetchExecutor) {
+        this(id, seed, new PagedCardSource(cardIds, seed, pageSize, loader, prefetchExecutor));
+    }
+
+    /**
+     * Start a session over the cards of the given source, which was seeded with seed
+     */
+    public QuizSession(long id, long seed, CardSource source) {
+        this.id = id;
+        this.seed = seed;
+        this.source = source;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Seed the card order was drawn with; the same seed and cards give the same order
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Number of questions in the session, including cards deleted since it started
+     */
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Number of cards returned by next() so far
+     */
+    public synchronized int getServed() {
+        return served;
+    }
+
+    public synchronized int getAnswered() {
+        return answered;
+    }
+
+    public synchronized int getCorrect() {
+        return correct;
+    }
+
+    /**
+     * Mean, median and 95th percentile of the response times recorded so far
+     */
+    public synchronized ResponseTimeSummary getResponseTimeSummary() {
+        return ResponseTimeSummary.of(responseNanos, responseCount);
+    }
+
+    /**
+     * System.nanoTime() of the last use of this session
+     */
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        touch();
+        return !closed && source.hasNext();
+    }
+
+    @Override
+    public synchronized Card next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more cards in this quiz session");
+        }
+        Card card = source.next();
+        served++;
+        return card;
+    }
+
+    /**
+     * Count an answer to the card last returned by next() towards the session score,
+     * with the time the learner took to give it
+     */
+    public synchronized void recordAnswer(boolean isCorrect, long responseTimeNanos) {
+        if (responseTimeNanos < 0) {
+            throw new IllegalArgumentException("Response time cannot be negative");
+        }
+        if (responseCount == responseNanos.length) {
+            responseNanos = Arrays.copyOf(responseNanos, responseCount * 2);
+        }
+        responseNanos[responseCount++] = responseTimeNanos;
+        recordAnswer(isCorrect);
+    }
+
+    /**
+     * Count an answer whose response time was not measured towards the session score
+     */
+    public synchronized void recordAnswer(boolean isCorrect) {
+        touch();
+        answered++;
+        if (isCorrect) {
+            correct++;
+        }
+        if (!closed) {
+            source.recordAnswer(isCorrect);
+        }
+    }
+
+    /**
+     * Stop a pending background load and release the loaded cards
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        source.close();
+    }
+
+    private void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,131 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Thread-safe registry of the active quiz sessions.
+ * Sessions are kept in a ConcurrentHashMap, so thousands of learners can start, use and end
+ * sessions without a shared lock. Sessions idle for longer than the configured timeout are
+ * closed and dropped by a background sweep, and the number of active sessions is capped.
+ */
+@Component
+public class QuizSessionRegistry {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    private final Map<Long, QuizSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final int maxActiveSessions;
+    private final long idleTimeoutNanos;
+
+    private ScheduledExecutorService sweeper;
+
+    public QuizSessionRegistry(FlashcardProperties properties) {
+        this.maxActiveSessions = Math.max(1, properties.getQuiz().getMaxActiveSessions());
+        this.idleTimeoutNanos = TimeUnit.MINUTES.toNanos(Math.max(1, properties.getQuiz().getSessionIdleTimeoutMinutes()));
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+        sessions.keySet().forEach(this::remove);
+    }
+
+    /**
+     * Create a session with a new ID and register it, evicting idle sessions first if the registry is full
+     */
+    public QuizSession open(LongFunction<QuizSession> factory) {
+        if (activeCount.get() >= maxActiveSessions) {
+            evictIdle();
+        }
+        if (activeCount.incrementAndGet() > maxActiveSessions) {
+            activeCount.decrementAndGet();
+            throw new IllegalStateException("Too many active quiz sessions (limit " + maxActiveSessions + ")");
+        }
+
+        QuizSession session;
+        try {
+            session = factory.apply(nextId.incrementAndGet());
+        } catch (RuntimeException e) {
+            activeCount.decrementAndGet();
+            throw e;
+        }
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Get an active session; a session that has been idle too long is closed and not returned
+     */
+    public Optional<QuizSession> get(long sessionId) {
+        QuizSession session = sessions.get(sessionId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (isIdle(session, System.nanoTime())) {
+            remove(sessionId);
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    /**
+     * Close and drop a session
+     * Returns false if it was not active
+     */
+    public boolean remove(long sessionId) {
+        QuizSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        activeCount.decrementAndGet();
+        session.close();
+        return true;
+    }
+
+    /**
+     * Close and drop every session that has been idle longer than the timeout
+     * Returns the number of sessions removed
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (QuizSession session : sessions.values()) {
+            if (isIdle(session, now) && remove(session.getId())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private boolean isIdle(QuizSession session, long now) {
+        return now - session.getLastAccessNanos() > idleTimeoutNanos;
+    }
+}
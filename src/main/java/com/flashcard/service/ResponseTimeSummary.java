@@ -0,0 +1,65 @@
+package com.flashcard.service;
+
+import java.util.Arrays;
+
+/**
+ * Mean and percentiles of the response times measured in a quiz session, in nanoseconds.
+ * Percentiles use the nearest-rank method, so they are always one of the measured times.
+ */
+public final class ResponseTimeSummary {
+
+    private static final ResponseTimeSummary EMPTY = new ResponseTimeSummary(0, 0, 0, 0);
+
+    private final int count;
+    private final long meanNanos;
+    private final long medianNanos;
+    private final long p95Nanos;
+
+    private ResponseTimeSummary(int count, long meanNanos, long medianNanos, long p95Nanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.medianNanos = medianNanos;
+        this.p95Nanos = p95Nanos;
+    }
+
+    /**
+     * Summarize the first count values; the array is not modified
+     */
+    public static ResponseTimeSummary of(long[] responseNanos, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        long[] sorted = Arrays.copyOf(responseNanos, count);
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+        return new ResponseTimeSummary(count, Math.round(sum / count), percentile(sorted, 50), percentile(sorted, 95));
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Number of measured responses; the other values are 0 when this is 0
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,284 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.ReviewLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for the review log.
+ * Answers are put on a bounded queue and written by a single background thread in JDBC batches,
+ * so recording an answer never waits on the database. When the queue is full the configured
+ * overflow policy either blocks the caller or drops the answer. On shutdown the writer stops
+ * accepting answers and writes everything still queued before the data source closes.
+ * Each batch also updates the {@link com.flashcard.model.LearningStats} of the cards and decks
+ * it touches, with one UPDATE per card and deck, in the same transaction as the inserted rows.
+ */
+@Slf4j
+@Component
+public class ReviewLogWriter {
+
+    static final String INSERT_SQL =
+            "INSERT INTO review_log (card_id, deck_id, correct, response_time_ms, reviewed_at) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Adds a {@link LearningStatsDelta} to the statistics columns of one row of the given table
+     */
+    private static final String STATS_UPDATE_SQL = "UPDATE %s SET "
+            + "stat_attempts = COALESCE(stat_attempts, 0) + ?, "
+            + "stat_correct = COALESCE(stat_correct, 0) + ?, "
+            + "stat_response_ms_total = COALESCE(stat_response_ms_total, 0) + ?, "
+            + "stat_responses = COALESCE(stat_responses, 0) + ?, "
+            + "stat_rolling_accuracy = CASE WHEN stat_rolling_accuracy IS NULL THEN ? "
+            + "ELSE stat_rolling_accuracy * ? + ? END, "
+            + "stat_last_reviewed_at = CASE WHEN stat_last_reviewed_at IS NULL OR stat_last_reviewed_at < ? "
+            + "THEN ? ELSE stat_last_reviewed_at END "
+            + "WHERE id = ?";
+
+    static final String CARD_STATS_SQL = String.format(STATS_UPDATE_SQL, "cards");
+    static final String DECK_STATS_SQL = String.format(STATS_UPDATE_SQL, "decks");
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ReviewLog> queue;
+    private final int batchSize;
+    private final FlashcardProperties.ReviewLog.OverflowPolicy overflowPolicy;
+    private final int shutdownTimeoutSeconds;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object progressLock = new Object();
+
+    private volatile boolean accepting;
+    private Thread writerThread;
+
+    public ReviewLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           FlashcardProperties properties) {
+        FlashcardProperties.ReviewLog settings = properties.getReviewLog();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+        this.batchSize = Math.max(1, settings.getBatchSize());
+        this.overflowPolicy = settings.getOverflowPolicy();
+        this.shutdownTimeoutSeconds = Math.max(0, settings.getShutdownTimeoutSeconds());
+    }
+
+    @PostConstruct
+    void start() {
+        accepting = true;
+        writerThread = new Thread(this::drainLoop, "review-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop accepting answers and wait for the queued ones to be written
+     */
+    @PreDestroy
+    void stop() {
+        accepting = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread.interrupt();
+    }
+
+    /**
+     * Queue an answer for writing
+     * Returns false if it was dropped because the queue is full or the writer has stopped
+     */
+    public boolean record(ReviewLog entry) {
+        if (entry == null || entry.getCardId() == null || entry.getReviewedAt() == null) {
+            throw new IllegalArgumentException("Review log entry must have a card ID and review time");
+        }
+        if (!accepting) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        boolean queued;
+        if (overflowPolicy == FlashcardProperties.ReviewLog.OverflowPolicy.DROP) {
+            queued = queue.offer(entry);
+        } else {
+            queued = putWhileAccepting(entry);
+        }
+
+        // stop() may have run between the check above and the offer, and the drain loop may already have
+        // exited on an empty queue; take the entry back so it is not counted as accepted but never written
+        if (queued && !accepting && queue.remove(entry)) {
+            queued = false;
+        }
+
+        if (queued) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+        return queued;
+    }
+
+    /**
+     * Wait until every answer accepted before this call has been written or has failed
+     * Returns false if the timeout elapsed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progressLock) {
+            while (written.get() + failed.get() < target) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                progressLock.wait(remainingMillis);
+            }
+        }
+        return true;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Answers lost because a batch could not be written
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Answers discarded under backpressure or after shutdown
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Block until there is room, giving up once the writer stops accepting answers
+     */
+    private boolean putWhileAccepting(ReviewLog entry) {
+        try {
+            while (accepting) {
+                if (queue.offer(entry, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<ReviewLog> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                ReviewLog first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // Interrupted after the shutdown timeout: give up on what is left
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert the batch and add it to the card and deck statistics in one transaction.
+     * A failed batch is rolled back, counted and logged, and the writer moves on to the next one.
+     */
+    private void writeBatch(List<ReviewLog> batch) {
+        Map<Long, LearningStatsDelta> cardDeltas = new HashMap<>();
+        Map<Long, LearningStatsDelta> deckDeltas = new HashMap<>();
+        for (ReviewLog entry : batch) {
+            cardDeltas.computeIfAbsent(entry.getCardId(), id -> new LearningStatsDelta())
+                    .add(entry.isCorrect(), entry.getResponseTimeMs(), entry.getReviewedAt());
+            if (entry.getDeckId() != null) {
+                deckDeltas.computeIfAbsent(entry.getDeckId(), id -> new LearningStatsDelta())
+                        .add(entry.isCorrect(), entry.getResponseTimeMs(), entry.getReviewedAt());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+                    statement.setLong(1, entry.getCardId());
+                    if (entry.getDeckId() != null) {
+                        statement.setLong(2, entry.getDeckId());
+                    } else {
+                        statement.setNull(2, Types.BIGINT);
+                    }
+                    statement.setBoolean(3, entry.isCorrect());
+                    if (entry.getResponseTimeMs() != null) {
+                        statement.setLong(4, entry.getResponseTimeMs());
+                    } else {
+                        statement.setNull(4, Types.BIGINT);
+                    }
+                    statement.setTimestamp(5, Timestamp.valueOf(entry.getReviewedAt()));
+                });
+                updateStats(CARD_STATS_SQL, cardDeltas);
+                updateStats(DECK_STATS_SQL, deckDeltas);
+            });
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write a batch of {} review log entries; they are lost", batch.size(), e);
+        }
+        synchronized (progressLock) {
+            progressLock.notifyAll();
+        }
+    }
+
+    private void updateStats(String sql, Map<Long, LearningStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LearningStatsDelta>> rows = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, row) -> {
+            LearningStatsDelta delta = row.getValue();
+            Timestamp lastReviewedAt = Timestamp.valueOf(delta.getLastReviewedAt());
+            statement.setLong(1, delta.getAttempts());
+            statement.setLong(2, delta.getCorrectCount());
+            statement.setLong(3, delta.getResponseMillisTotal());
+            statement.setLong(4, delta.getResponseCount());
+            statement.setDouble(5, delta.getFromEmpty());
+            statement.setDouble(6, delta.getDecay());
+            statement.setDouble(7, delta.getOffset());
+            statement.setTimestamp(8, lastReviewedAt);
+            statement.setTimestamp(9, lastReviewedAt);
+            statement.setLong(10, row.getKey());
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spaced repetition state of the cards of one deck that were reviewed since its {@link DeckSnapshot} was built.
+ * Recording a review replaces one small entry, so answering never copies the snapshot arrays;
+ * {@link DeckSnapshotCache} drops the snapshot and its overlay once the overlay grows too large.
+ */
+final class ScheduleOverlay {
+
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Record the card's current spaced repetition state
+     */
+    void put(Card card) {
+        schedules.put(card.getId(), new Schedule(card));
+    }
+
+    /**
+     * State recorded for the card, or null if it was not reviewed since the snapshot was built
+     */
+    Schedule get(long cardId) {
+        return schedules.get(cardId);
+    }
+
+    int size() {
+        return schedules.size();
+    }
+
+    /**
+     * Point-in-time copy, so one query sees each card either before or after a concurrent review
+     */
+    Map<Long, Schedule> copy() {
+        return new HashMap<>(schedules);
+    }
+
+    /**
+     * Immutable copy of the scheduling fields of a card
+     */
+    static final class Schedule {
+
+        private final long cardId;
+        private final int intervalDays;
+        private final double easeFactor;
+        private final int repetitions;
+        private final int lapses;
+        private final LocalDateTime dueAt;
+        private final LocalDateTime lastReviewedAt;
+
+        Schedule(Card card) {
+            this.cardId = card.getId();
+            this.intervalDays = card.getIntervalDays() != null ? card.getIntervalDays() : 0;
+            this.easeFactor = card.getEaseFactor() != null ? card.getEaseFactor() : Card.INITIAL_EASE_FACTOR;
+            this.repetitions = card.getRepetitions() != null ? card.getRepetitions() : 0;
+            this.lapses = card.getLapses() != null ? card.getLapses() : 0;
+            this.dueAt = card.getDueAt();
+            this.lastReviewedAt = card.getLastReviewedAt();
+        }
+
+        long getCardId() {
+            return cardId;
+        }
+
+        LocalDateTime getDueAt() {
+            return dueAt;
+        }
+
+        boolean isDue(LocalDateTime now) {
+            return dueAt != null && !dueAt.isAfter(now);
+        }
+
+        void applyTo(Card card) {
+            card.setIntervalDays(intervalDays);
+            card.setEaseFactor(easeFactor);
+            card.setRepetitions(repetitions);
+            card.setLapses(lapses);
+            card.setDueAt(dueAt);
+            card.setLastReviewedAt(lastReviewedAt);
+        }
+    }
+}
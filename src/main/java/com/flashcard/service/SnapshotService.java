@@ -0,0 +1,249 @@
+package com.flashcard.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.Deck;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.SnapshotRow;
+import com.flashcard.model.dto.SnapshotSummary;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service class for whole-database snapshots.
+ * A snapshot is a zip archive with one entry per deck in the JSON export format,
+ * followed by a manifest entry with the totals.
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotService {
+
+    public static final String SNAPSHOT_EXTENSION = ".zip";
+
+    static final String DECK_ENTRY_PREFIX = "decks/";
+    static final String MANIFEST_ENTRY = "manifest.json";
+    static final String FORMAT_NAME = "flashcard-snapshot";
+    static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * How a snapshot is restored into the database
+     */
+    public enum RestoreMode {
+        /**
+         * Delete all existing decks and cards before restoring
+         */
+        REPLACE,
+        /**
+         * Keep existing decks; restored decks with clashing names get a numbered suffix
+         */
+        MERGE
+    }
+
+    private final ObjectMapper objectMapper;
+    private final DeckService deckService;
+    private final CardService cardService;
+    private final FileService fileService;
+    private final EntityManager entityManager;
+
+    /**
+     * Export every deck and card into a single snapshot archive.
+     * Rows come from one ordered scan and are written as they arrive,
+     * so only the current row is held in memory.
+     */
+    @Transactional(readOnly = true)
+    public SnapshotSummary exportSnapshot(String filePath) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+
+        Path path = Paths.get(filePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        long started = System.nanoTime();
+        long deckCount = 0;
+        long cardCount = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+             Stream<SnapshotRow> rows = deckService.streamSnapshotRows()) {
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            JsonGenerator generator = null;
+            Long currentDeckId = null;
+
+            Iterator<SnapshotRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SnapshotRow row = iterator.next();
+
+                if (!Objects.equals(row.getDeckId(), currentDeckId)) {
+                    if (generator != null) {
+                        finishDeckEntry(generator, zip);
+                    }
+                    currentDeckId = row.getDeckId();
+                    deckCount++;
+                    generator = startDeckEntry(zip, deckCount, row.getDeckName());
+                }
+
+                if (row.hasCard()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("question", row.getQuestion());
+                    generator.writeStringField("answer", row.getAnswer());
+                    generator.writeEndObject();
+                    cardCount++;
+                }
+            }
+            if (generator != null) {
+                finishDeckEntry(generator, zip);
+            }
+
+            writeManifest(zip, deckCount, cardCount);
+        }
+
+        return new SnapshotSummary(deckCount, cardCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Restore a snapshot archive, streaming each deck entry through the batched JSON import.
+     * Deleting the existing data in REPLACE mode and restoring happen in one transaction, so a restore
+     * that fails part way leaves the database as it was. Each batch is flushed and cleared from the
+     * persistence context as it is saved, so memory does not grow with the size of the snapshot.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public SnapshotSummary restoreSnapshot(String filePath, RestoreMode mode) throws IOException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be empty");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Restore mode cannot be null");
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("File not found: " + filePath);
+        }
+
+        // Validate before anything is deleted in REPLACE mode
+        checkManifest(path);
+
+        long started = System.nanoTime();
+        long deckCount = 0;
+        long cardCount = 0;
+
+        if (mode == RestoreMode.REPLACE) {
+            cardService.deleteAllCards();
+            deckService.deleteAllDecks();
+        }
+
+        try (ZipInputStream zip = new ZipInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                String name = entry.getName();
+                if (name.startsWith(DECK_ENTRY_PREFIX) && name.endsWith(".json")) {
+                    Deck deck = fileService.importDeckFromJson(zip, getEntryBaseName(name), this::saveBatch);
+                    deckCount++;
+                    cardCount += cardService.getCardCount(deck);
+                }
+                zip.closeEntry();
+            }
+        }
+
+        return new SnapshotSummary(deckCount, cardCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Save one batch of restored cards and release it from the persistence context
+     */
+    private void saveBatch(Deck deck, List<CardExportData> batch, long recordsRead) {
+        cardService.createCards(deck, batch);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private JsonGenerator startDeckEntry(ZipOutputStream zip, long index, String deckName) throws IOException {
+        zip.putNextEntry(new ZipEntry(String.format("%s%06d.json", DECK_ENTRY_PREFIX, index)));
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(zip);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeStringField("name", deckName);
+        generator.writeArrayFieldStart("cards");
+        return generator;
+    }
+
+    private void finishDeckEntry(JsonGenerator generator, ZipOutputStream zip) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+        zip.closeEntry();
+    }
+
+    private void writeManifest(ZipOutputStream zip, long deckCount, long cardCount) throws IOException {
+        zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(zip)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("format", FORMAT_NAME);
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("createdAt", LocalDateTime.now().toString());
+            generator.writeNumberField("deckCount", deckCount);
+            generator.writeNumberField("cardCount", cardCount);
+            generator.writeEndObject();
+        }
+        zip.closeEntry();
+    }
+
+    /**
+     * Check the manifest through the archive's central directory, without reading the deck entries
+     */
+    private void checkManifest(Path path) throws IOException {
+        JsonNode manifest;
+        try (ZipFile zipFile = new ZipFile(path.toFile())) {
+            ZipEntry entry = zipFile.getEntry(MANIFEST_ENTRY);
+            if (entry == null) {
+                throw new IOException("Not a flashcard snapshot archive: missing " + MANIFEST_ENTRY);
+            }
+            try (InputStream input = zipFile.getInputStream(entry)) {
+                manifest = objectMapper.readTree(input);
+            }
+        } catch (ZipException e) {
+            throw new IOException("Not a valid snapshot archive: " + e.getMessage(), e);
+        }
+
+        if (manifest == null || !FORMAT_NAME.equals(manifest.path("format").asText())) {
+            throw new IOException("Not a flashcard snapshot archive");
+        }
+        int version = manifest.path("version").asInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+    }
+
+    private String getEntryBaseName(String entryName) {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
@@ -0,0 +1,104 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+
+/**
+ * SM-2 spaced repetition scheduler.
+ * After each review the card's interval, ease factor, repetition and lapse counters
+ * are updated and the next due time is set.
+ */
+@Service
+public class SpacedRepetitionScheduler {
+
+    static final double MIN_EASE_FACTOR = 1.3;
+
+    /**
+     * Self-assessed recall quality on the SM-2 scale of 0 to 5
+     */
+    public enum Grade {
+        /**
+         * Forgotten; the card starts over
+         */
+        AGAIN(1),
+        /**
+         * Recalled with serious difficulty
+         */
+        HARD(3),
+        /**
+         * Recalled after some hesitation
+         */
+        GOOD(4),
+        /**
+         * Recalled perfectly
+         */
+        EASY(5);
+
+        private final int quality;
+
+        Grade(int quality) {
+            this.quality = quality;
+        }
+
+        public int getQuality() {
+            return quality;
+        }
+
+        public boolean isPassing() {
+            return quality >= 3;
+        }
+    }
+
+    /**
+     * Update the card's scheduling state for a review at reviewedAt
+     */
+    public void applyReview(Card card, Grade grade, LocalDateTime reviewedAt) {
+        if (card == null) {
+            throw new IllegalArgumentException("Card cannot be null");
+        }
+        if (grade == null) {
+            throw new IllegalArgumentException("Grade cannot be null");
+        }
+        if (reviewedAt == null) {
+            throw new IllegalArgumentException("Review time cannot be null");
+        }
+
+        int repetitions = valueOrZero(card.getRepetitions());
+        int interval = valueOrZero(card.getIntervalDays());
+        double easeFactor = card.getEaseFactor() != null ? card.getEaseFactor() : Card.INITIAL_EASE_FACTOR;
+
+        if (grade.isPassing()) {
+            if (repetitions == 0) {
+                interval = 1;
+            } else if (repetitions == 1) {
+                interval = 6;
+            } else {
+                interval = (int) Math.round(interval * easeFactor);
+            }
+            repetitions++;
+        } else {
+            if (repetitions > 0) {
+                card.setLapses(valueOrZero(card.getLapses()) + 1);
+            }
+            repetitions = 0;
+            interval = 1;
+        }
+
+        int distance = 5 - grade.getQuality();
+        easeFactor = Math.max(MIN_EASE_FACTOR, easeFactor + (0.1 - distance * (0.08 + distance * 0.02)));
+
+        card.setRepetitions(repetitions);
+        card.setIntervalDays(interval);
+        card.setEaseFactor(easeFactor);
+        card.setLastReviewedAt(reviewedAt);
+        card.setDueAt(reviewedAt.plusDays(interval));
+        if (card.getLapses() == null) {
+            card.setLapses(0);
+        }
+    }
+
+    private int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,207 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.LearningStats;
+import com.flashcard.util.FenwickSampler;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Draws cards of a deck at random in proportion to a difficulty weight derived from each card's
+ * rolling accuracy, so cards the learner keeps getting wrong come up far more often than ones
+ * they know. Weights live in a {@link FenwickSampler}: each draw and each reweighting after an
+ * answer is O(log n), whatever the size of the deck.
+ * Cards can come up more than once, but never twice in a row while another card has weight.
+ * Cards are drawn {@link #DRAW_AHEAD} at a time and loaded with one call, so an answer changes the
+ * draws from the next batch on. Cards deleted after the session started are dropped from the draw.
+ */
+class WeightedCardSource implements QuizSession.CardSource {
+
+    /**
+     * Weight of a card that was always answered correctly, so known cards still come up now and then
+     */
+    static final double MIN_WEIGHT = 0.05;
+
+    /**
+     * Weight of a card that was never answered; the same as one that was always answered wrong
+     */
+    static final double UNREVIEWED_WEIGHT = 1.0;
+
+    /**
+     * Number of cards drawn and loaded together
+     */
+    static final int DRAW_AHEAD = 8;
+
+    private static final double KEEP = 1 - LearningStats.ROLLING_ACCURACY_WEIGHT;
+
+    private final long[] cardIds;
+    private final double[] rollingAccuracy;
+    private final FenwickSampler sampler;
+    private final SplittableRandom random;
+    private final int questions;
+    private final QuizSession.PageLoader loader;
+
+    private final int[] batchIndexes = new int[DRAW_AHEAD];
+    private final Card[] batchCards = new Card[DRAW_AHEAD];
+    private int batchSize;
+    private int batchPosition;
+
+    private int drawn;
+    private int servedIndex = -1;
+
+    /**
+     * Draw up to questions cards from cardIds, given each card's rolling accuracy or NaN if it was never answered.
+     * The accuracy array is kept and updated as answers are recorded.
+     */
+    WeightedCardSource(long[] cardIds, double[] rollingAccuracy, int questions, long seed,
+                       QuizSession.PageLoader loader) {
+        if (cardIds.length != rollingAccuracy.length) {
+            throw new IllegalArgumentException("Every card needs an accuracy");
+        }
+        if (questions <= 0) {
+            throw new IllegalArgumentException("Number of questions must be positive");
+        }
+        this.cardIds = cardIds;
+        this.rollingAccuracy = rollingAccuracy;
+        this.questions = questions;
+        this.loader = loader;
+        this.random = new SplittableRandom(seed);
+
+        double[] weights = new double[cardIds.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = difficultyWeight(rollingAccuracy[i]);
+        }
+        this.sampler = new FenwickSampler(weights);
+    }
+
+    /**
+     * Weight of a card with the given rolling accuracy between 0 and 1, or NaN if it was never answered
+     */
+    static double difficultyWeight(double rollingAccuracy) {
+        if (Double.isNaN(rollingAccuracy)) {
+            return UNREVIEWED_WEIGHT;
+        }
+        double accuracy = Math.max(0, Math.min(1, rollingAccuracy));
+        return MIN_WEIGHT + (1 - MIN_WEIGHT) * (1 - accuracy);
+    }
+
+    @Override
+    public int size() {
+        return questions;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (batchPosition == batchSize && drawn < questions) {
+            if (!loadBatch()) {
+                return false;
+            }
+        }
+        return batchPosition < batchSize;
+    }
+
+    @Override
+    public Card next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more cards in this quiz session");
+        }
+        Card card = batchCards[batchPosition];
+        servedIndex = batchIndexes[batchPosition];
+        batchCards[batchPosition++] = null;
+        drawn++;
+        return card;
+    }
+
+    /**
+     * Fold the answer into the card's rolling accuracy, the same way the stored statistics are updated,
+     * and reweight the card
+     */
+    @Override
+    public void recordAnswer(boolean correct) {
+        if (servedIndex < 0 || sampler.getWeight(servedIndex) == 0) {
+            return;
+        }
+        double value = correct ? 1 : 0;
+        double previous = rollingAccuracy[servedIndex];
+        double updated = Double.isNaN(previous) ? value : previous * KEEP + LearningStats.ROLLING_ACCURACY_WEIGHT * value;
+        rollingAccuracy[servedIndex] = updated;
+        sampler.setWeight(servedIndex, difficultyWeight(updated));
+    }
+
+    @Override
+    public void close() {
+        Arrays.fill(batchCards, null);
+        batchSize = 0;
+        batchPosition = 0;
+    }
+
+    /**
+     * Draw the next batch of cards and load them with one call.
+     * A deleted card loses its weight and ends the batch, so the cards kept are still never repeated in a row.
+     * Returns false if no card has weight
+     */
+    private boolean loadBatch() {
+        int wanted = Math.min(DRAW_AHEAD, questions - drawn);
+        long[] ids = new long[wanted];
+        int distinct = 0;
+        int count = 0;
+        int previous = servedIndex;
+        while (count < wanted) {
+            int index = draw(previous);
+            if (index < 0) {
+                break;
+            }
+            batchIndexes[count++] = index;
+            if (!contains(ids, distinct, cardIds[index])) {
+                ids[distinct++] = cardIds[index];
+            }
+            previous = index;
+        }
+        if (count == 0) {
+            return false;
+        }
+
+        Map<Long, Card> loaded = new HashMap<>();
+        for (Card card : loader.load(ids, 0, distinct)) {
+            loaded.put(card.getId(), card);
+        }
+
+        batchSize = 0;
+        batchPosition = 0;
+        for (int i = 0; i < count; i++) {
+            int index = batchIndexes[i];
+            Card card = loaded.get(cardIds[index]);
+            if (card == null) {
+                sampler.setWeight(index, 0);
+                break;
+            }
+            batchIndexes[batchSize] = index;
+            batchCards[batchSize++] = card;
+        }
+        return true;
+    }
+
+    private static boolean contains(long[] ids, int length, long id) {
+        for (int i = 0; i < length; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draw a card other than excluded, unless it is the only card left
+     * Returns -1 if no card has weight
+     */
+    private int draw(int excluded) {
+        if (excluded < 0) {
+            return sampler.sample(random.nextDouble());
+        }
+        int index = sampler.sample(random.nextDouble(), excluded);
+        return index >= 0 ? index : sampler.sample(random.nextDouble());
+    }
+}
@@ -1,13 +1,27 @@
 package com.flashcard.ui;
 
+import com.flashcard.io.CompressedStreams;
+import com.flashcard.io.DeckFileFormat;
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.LearningStats;
+import com.flashcard.model.dto.DirectoryImportSummary;
+import com.flashcard.model.dto.FileImportResult;
+import com.flashcard.model.dto.ImportRecordError;
+import com.flashcard.model.dto.JobInfo;
+import com.flashcard.model.dto.MergeImportResult;
+import com.flashcard.model.dto.SnapshotSummary;
+import com.flashcard.model.dto.ValidatedImportResult;
 import com.flashcard.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Console-based user interface for the flashcard application
@@ -16,11 +30,15 @@ import java.util.Scanner;
 @RequiredArgsConstructor
 public class ConsoleInterface {
 
+    private static final int MAX_LISTED_ERRORS = 50;
+
     private final Scanner scanner;
     private final DeckService deckService;
     private final CardService cardService;
     private final QuizService quizService;
     private final FileService fileService;
+    private final SnapshotService snapshotService;
+    private final JobService jobService;
 
     /**
      * Start the console interface main loop
@@ -38,7 +56,8 @@ public class ConsoleInterface {
                     case "1" -> startQuiz();
                     case "2" -> manageDeckMenu();
                     case "3" -> fileOperationsMenu();
-                    case "4" -> {
+                    case "4" -> backgroundJobsMenu();
+                    case "5" -> {
                         System.out.println("Thank you for using Flashcard Quiz! Goodbye!");
                         running = false;
                     }
@@ -74,7 +93,8 @@ public class ConsoleInterface {
         System.out.println("1. Start Quiz");
         System.out.println("2. Manage Decks");
         System.out.println("3. File Operations");
-        System.out.println("4. Exit");
+        System.out.println("4. Background Jobs");
+        System.out.println("5. Exit");
         System.out.println();
     }
 
@@ -89,47 +109,154 @@ public class ConsoleInterface {
         }
 
         System.out.println("\n=== START QUIZ ===");
+        System.out.println("1. Review due cards");
+        System.out.println("2. Practice weakest cards");
+        System.out.println("3. Review due cards from several decks");
+        String mode = getUserInput("Enter your choice: ").trim();
+        if ("3".equals(mode)) {
+            runMultiDeckQuiz(decks);
+            return;
+        }
+
         Deck selectedDeck = selectDeck(decks, "Select deck for quiz:");
         if (selectedDeck == null) return;
 
-        runQuiz(selectedDeck);
+        if ("2".equals(mode)) {
+            runPractice(selectedDeck);
+        } else {
+            runQuiz(selectedDeck);
+        }
+    }
+
+    /**
+     * Run a quiz over the due cards of several decks, interleaved the way the user chooses
+     */
+    private void runMultiDeckQuiz(List<Deck> decks) {
+        List<Deck> selectedDecks = selectDecks(decks, "Select decks for quiz:");
+        if (selectedDecks.isEmpty()) return;
+
+        System.out.println("1. Round robin (one card from each deck in turn)");
+        System.out.println("2. Proportional (larger decks come up more often)");
+        System.out.println("3. Random");
+        InterleaveStrategy strategy = switch (getUserInput("Choose how to mix the decks: ").trim()) {
+            case "1" -> InterleaveStrategy.ROUND_ROBIN;
+            case "2" -> InterleaveStrategy.PROPORTIONAL;
+            default -> InterleaveStrategy.RANDOM;
+        };
+
+        long dueCount = quizService.countDueCards(selectedDecks);
+        int sessionSize = quizService.getSessionSize();
+        int maxCards = sessionSize;
+        if (dueCount > sessionSize) {
+            String reviewAll = getUserInput("Decks have " + dueCount + " due cards. Review all of them instead of "
+                    + sessionSize + "? (yes/no): ");
+            if ("yes".equalsIgnoreCase(reviewAll.trim())) {
+                maxCards = Integer.MAX_VALUE;
+            }
+        }
+
+        String name = selectedDecks.size() == 1 ? selectedDecks.get(0).getName() : selectedDecks.size() + " decks";
+        QuizSession session = quizService.openQuizSession(selectedDecks, maxCards, strategy);
+        try {
+            runQuiz(name, session, true);
+        } finally {
+            quizService.endQuizSession(session.getId());
+        }
     }
 
     /**
      * Run quiz session for selected deck
      */
     private void runQuiz(Deck deck) {
-        List<Card> cards = quizService.startQuizSession(deck);
-        int correct = 0;
-        int total = cards.size();
+        long dueCount = quizService.countDueCards(deck);
+        int sessionSize = quizService.getSessionSize();
+        int maxCards = sessionSize;
+        if (dueCount > sessionSize) {
+            String reviewAll = getUserInput("Deck has " + dueCount + " due cards. Review all of them instead of "
+                    + sessionSize + "? (yes/no): ");
+            if ("yes".equalsIgnoreCase(reviewAll.trim())) {
+                maxCards = Integer.MAX_VALUE;
+            }
+        }
+
+        QuizSession session = quizService.openQuizSession(deck, maxCards);
+        try {
+            runQuiz(deck.getName(), session, true);
+        } finally {
+            quizService.endQuizSession(session.getId());
+        }
+    }
+
+    /**
+     * Run a practice session of cards drawn by difficulty, without changing their review schedule
+     */
+    private void runPractice(Deck deck) {
+        QuizSession session = quizService.openWeightedQuizSession(deck, quizService.getSessionSize());
+        try {
+            runQuiz(deck.getName(), session, false);
+        } finally {
+            quizService.endQuizSession(session.getId());
+        }
+    }
 
-        System.out.println("\nStarting quiz with " + total + " cards from deck: " + deck.getName());
+    /**
+     * Ask the questions of a quiz session until it runs out or the user quits,
+     * rescheduling each answered card if requested
+     */
+    private void runQuiz(String deckName, QuizSession session, boolean reschedule) {
+        int total = session.size();
+
+        System.out.println("\nStarting " + (reschedule ? "quiz" : "practice") + " with " + total
+                + (reschedule ? " due cards" : " questions") + " from deck: " + deckName);
         System.out.println("Type 'quit' at any time to exit the quiz.\n");
 
-        for (int i = 0; i < cards.size(); i++) {
-            Card card = cards.get(i);
-            System.out.printf("Question %d/%d: %s%n", i + 1, total, card.getQuestion());
+        while (session.hasNext()) {
+            Card card = session.next();
+            System.out.printf("Question %d/%d: %s%n", session.getServed(), total, card.getQuestion());
 
+            // Only the two clock reads bracket the input; everything else happens after the answer is timed
+            long askedAt = System.nanoTime();
             String userAnswer = getUserInput("Your answer: ");
+            long answeredAt = System.nanoTime();
             if ("quit".equalsIgnoreCase(userAnswer)) {
                 System.out.println("Quiz ended early.");
                 break;
             }
 
-            QuizService.QuizResult result = quizService.checkAnswer(card, userAnswer);
+            QuizService.QuizResult result = quizService.submitAnswer(session, card, userAnswer, answeredAt - askedAt);
             if (result.isCorrect()) {
                 System.out.println("✓ Correct!");
-                correct++;
             } else {
                 System.out.println("✗ Incorrect. The correct answer is: " + result.getCorrectAnswer());
             }
+            if (reschedule) {
+                quizService.recordReview(card, result.isCorrect());
+                System.out.println("Next review in " + card.getIntervalDays() + " day(s).");
+            }
             System.out.println();
         }
 
         // Show quiz results
+        int correct = session.getCorrect();
         double percentage = total > 0 ? (double) correct / total * 100 : 0;
         System.out.println("=== QUIZ RESULTS ===");
         System.out.printf("Score: %d/%d (%.1f%%)%n", correct, total, percentage);
+
+        ResponseTimeSummary responseTimes = session.getResponseTimeSummary();
+        if (responseTimes.getCount() > 0) {
+            System.out.printf("Response time: mean %s, median %s, 95th percentile %s%n",
+                    formatDuration(responseTimes.getMeanNanos()),
+                    formatDuration(responseTimes.getMedianNanos()),
+                    formatDuration(responseTimes.getP95Nanos()));
+        }
+    }
+
+    /**
+     * Format a duration in nanoseconds as milliseconds below one second and as seconds above
+     */
+    private String formatDuration(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        return millis < 1000 ? millis + " ms" : String.format("%.1f s", millis / 1000.0);
     }
 
     /**
@@ -194,19 +321,31 @@ public class ConsoleInterface {
             return;
         }
 
-        System.out.printf("%-5s %-30s %-10s %-15s%n", "ID", "Name", "Cards", "Created");
-        System.out.println("-".repeat(65));
+        System.out.printf("%-5s %-30s %-10s %-15s %-10s %-10s %-10s%n",
+                "ID", "Name", "Cards", "Created", "Answers", "Accuracy", "Recent");
+        System.out.println("-".repeat(96));
 
         for (Deck deck : decks) {
             long cardCount = cardService.getCardCount(deck);
-            System.out.printf("%-5d %-30s %-10d %-15s%n",
+            LearningStats stats = deck.getLearningStats();
+            System.out.printf("%-5d %-30s %-10d %-15s %-10d %-10s %-10s%n",
                     deck.getId(),
                     truncateString(deck.getName(), 30),
                     cardCount,
-                    deck.getCreatedAt().toLocalDate());
+                    deck.getCreatedAt().toLocalDate(),
+                    stats.getAttempts(),
+                    formatPercentage(stats.getAccuracy()),
+                    formatPercentage(stats.getRollingAccuracy()));
         }
     }
 
+    /**
+     * Format a ratio between 0 and 1 as a percentage, or "-" if there is none yet
+     */
+    private String formatPercentage(Double ratio) {
+        return ratio != null ? String.format("%.1f%%", ratio * 100) : "-";
+    }
+
     /**
      * Select deck for card management
      */
@@ -425,7 +564,15 @@ public class ConsoleInterface {
             System.out.println("2. Import Deck from JSON");
             System.out.println("3. Export Deck to CSV");
             System.out.println("4. Import Deck from CSV");
-            System.out.println("5. Back to Main Menu");
+            System.out.println("5. Export Deck to Binary Backup");
+            System.out.println("6. Import Deck from Binary Backup");
+            System.out.println("7. Import Large CSV File (parallel)");
+            System.out.println("8. Import All Decks from Directory");
+            System.out.println("9. Export Full Snapshot");
+            System.out.println("10. Restore Full Snapshot");
+            System.out.println("11. Merge Deck File into Existing Deck");
+            System.out.println("12. Validate and Import Deck File");
+            System.out.println("13. Back to Main Menu");
 
             String choice = getUserInput("Enter your choice: ");
 
@@ -435,14 +582,22 @@ public class ConsoleInterface {
                     case "2" -> importDeckFromJson();
                     case "3" -> exportDeckToCsv();
                     case "4" -> importDeckFromCsv();
-                    case "5" -> backToMain = true;
+                    case "5" -> exportDeckToBinary();
+                    case "6" -> importDeckFromBinary();
+                    case "7" -> importDeckFromLargeCsv();
+                    case "8" -> importDirectory();
+                    case "9" -> exportSnapshot();
+                    case "10" -> restoreSnapshot();
+                    case "11" -> mergeDeckFromFile();
+                    case "12" -> importDeckWithValidation();
+                    case "13" -> backToMain = true;
                     default -> System.out.println("Invalid choice. Please try again.");
                 }
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
             }
 
-            if (!backToMain && !choice.equals("5")) {
+            if (!backToMain && !choice.equals("13")) {
                 pressEnterToContinue();
             }
         }
@@ -463,14 +618,10 @@ public class ConsoleInterface {
         if (selectedDeck == null) return;
 
         String fileName = getUserInput("Enter file name (without extension): ");
-        String filePath = fileName + ".json";
+        String filePath = fileName + ".json" + askCompressionExtension();
 
-        try {
-            fileService.exportDeckToJson(selectedDeck, filePath);
-            System.out.println("Deck exported successfully to: " + filePath);
-        } catch (IOException e) {
-            System.out.println("Export failed: " + e.getMessage());
-        }
+        long jobId = jobService.submitExport(selectedDeck, filePath, false);
+        printJobStarted(jobId);
     }
 
     /**
@@ -478,12 +629,11 @@ public class ConsoleInterface {
      */
     private void importDeckFromJson() {
         System.out.println("\n=== IMPORT DECK FROM JSON ===");
-        String filePath = getUserInput("Enter JSON file path: ");
+        String filePath = getUserInput("Enter JSON file path (.json or .json.gz): ");
 
         try {
-            Deck importedDeck = fileService.importDeckFromJson(filePath);
-            System.out.println("Deck '" + importedDeck.getName() + "' imported successfully!");
-            System.out.println("Cards imported: " + cardService.getCardCount(importedDeck));
+            long jobId = jobService.submitImport(filePath, null);
+            printJobStarted(jobId);
         } catch (IOException e) {
             System.out.println("Import failed: " + e.getMessage());
         }
@@ -504,14 +654,10 @@ public class ConsoleInterface {
         if (selectedDeck == null) return;
 
         String fileName = getUserInput("Enter file name (without extension): ");
-        String filePath = fileName + ".csv";
+        String filePath = fileName + ".csv" + askCompressionExtension();
 
-        try {
-            fileService.exportDeckToCsv(selectedDeck, filePath);
-            System.out.println("Deck exported successfully to: " + filePath);
-        } catch (IOException e) {
-            System.out.println("Export failed: " + e.getMessage());
-        }
+        long jobId = jobService.submitExport(selectedDeck, filePath, false);
+        printJobStarted(jobId);
     }
 
     /**
@@ -519,11 +665,66 @@ public class ConsoleInterface {
      */
     private void importDeckFromCsv() {
         System.out.println("\n=== IMPORT DECK FROM CSV ===");
+        String filePath = getUserInput("Enter CSV file path (.csv or .csv.gz): ");
+        String deckName = getUserInput("Enter name for the new deck: ");
+
+        try {
+            long jobId = jobService.submitImport(filePath, deckName);
+            printJobStarted(jobId);
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Export deck to binary backup file
+     */
+    private void exportDeckToBinary() {
+        List<Deck> decks = deckService.getAllDecks();
+        if (decks.isEmpty()) {
+            System.out.println("No decks available to export.");
+            return;
+        }
+
+        System.out.println("\n=== EXPORT DECK TO BINARY BACKUP ===");
+        Deck selectedDeck = selectDeck(decks, "Select deck to export:");
+        if (selectedDeck == null) return;
+
+        String fileName = getUserInput("Enter file name (without extension): ");
+        String compress = getUserInput("Compress backup? (yes/no): ");
+        String filePath = fileName + DeckFileFormat.BINARY.getExtension();
+
+        long jobId = jobService.submitExport(selectedDeck, filePath, "yes".equalsIgnoreCase(compress.trim()));
+        printJobStarted(jobId);
+    }
+
+    /**
+     * Import deck from binary backup file
+     */
+    private void importDeckFromBinary() {
+        System.out.println("\n=== IMPORT DECK FROM BINARY BACKUP ===");
+        String filePath = getUserInput("Enter backup file path: ");
+
+        try {
+            long jobId = jobService.submitImport(filePath, null);
+            printJobStarted(jobId);
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Import large CSV file using parallel chunked parsing
+     */
+    private void importDeckFromLargeCsv() {
+        System.out.println("\n=== IMPORT LARGE CSV FILE ===");
         String filePath = getUserInput("Enter CSV file path: ");
         String deckName = getUserInput("Enter name for the new deck: ");
+        String keepOrder = getUserInput("Keep card order from file? (yes/no): ");
 
         try {
-            Deck importedDeck = fileService.importDeckFromCsv(filePath, deckName);
+            Deck importedDeck = fileService.importDeckFromLargeCsv(filePath, deckName,
+                    "yes".equalsIgnoreCase(keepOrder.trim()));
             System.out.println("Deck '" + importedDeck.getName() + "' imported successfully!");
             System.out.println("Cards imported: " + cardService.getCardCount(importedDeck));
         } catch (IOException e) {
@@ -531,8 +732,293 @@ public class ConsoleInterface {
         }
     }
 
+    /**
+     * Import all JSON, CSV and binary deck files from a directory
+     */
+    private void importDirectory() {
+        System.out.println("\n=== IMPORT DECKS FROM DIRECTORY ===");
+        String directoryPath = getUserInput("Enter directory path: ");
+
+        try {
+            DirectoryImportSummary summary = fileService.importDirectory(directoryPath);
+            if (summary.getResults().isEmpty()) {
+                System.out.println("No deck files found in directory.");
+                return;
+            }
+
+            System.out.printf("%-30s %-8s %-30s %-10s %-10s%n", "File", "Status", "Deck", "Cards", "Time (ms)");
+            System.out.println("-".repeat(92));
+            for (FileImportResult result : summary.getResults()) {
+                System.out.printf("%-30s %-8s %-30s %-10d %-10d%n",
+                        truncateString(result.getFileName(), 30),
+                        result.isSuccess() ? "OK" : "FAILED",
+                        result.isSuccess() ? truncateString(result.getDeckName(), 30) : "-",
+                        result.getCardCount(),
+                        result.getDurationMillis());
+                if (!result.isSuccess()) {
+                    System.out.println("    Error: " + result.getErrorMessage());
+                }
+            }
+
+            System.out.printf("%nImported %d of %d files (%d cards) in %d ms%n",
+                    summary.getSuccessCount(),
+                    summary.getResults().size(),
+                    summary.getTotalCardCount(),
+                    summary.getDurationMillis());
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merge a deck file into an existing deck, adding new cards and updating changed answers
+     */
+    private void mergeDeckFromFile() {
+        System.out.println("\n=== MERGE DECK FILE INTO EXISTING DECK ===");
+        String filePath = getUserInput("Enter deck file path (.json, .csv or .fcdk): ");
+        String deckName = getUserInput("Enter target deck name (empty = name from file): ");
+
+        try {
+            MergeImportResult result = fileService.mergeDeckFromFile(filePath, deckName);
+            System.out.println("Deck '" + result.getDeckName() + "'"
+                    + (result.isDeckCreated() ? " created." : " updated."));
+            System.out.printf("New cards: %d, updated answers: %d, unchanged: %d (%d ms)%n",
+                    result.getInsertedCount(), result.getUpdatedCount(), result.getUnchangedCount(),
+                    result.getDurationMillis());
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Import a deck file after validating all records, listing every invalid record
+     */
+    private void importDeckWithValidation() {
+        System.out.println("\n=== VALIDATE AND IMPORT DECK FILE ===");
+        String filePath = getUserInput("Enter deck file path (.json, .csv or .fcdk): ");
+        String deckName = getUserInput("Enter name for the new deck (empty = name from file): ");
+        String skipInvalid = getUserInput("Skip invalid records? (yes = import the rest, no = import nothing): ");
+
+        try {
+            ValidatedImportResult result = fileService.importDeckWithValidation(filePath, deckName,
+                    "yes".equalsIgnoreCase(skipInvalid.trim()));
+
+            List<ImportRecordError> errors = result.getErrors();
+            if (!errors.isEmpty()) {
+                System.out.println(errors.size() + " invalid record(s):");
+                errors.stream().limit(MAX_LISTED_ERRORS).forEach(error -> System.out.println("  " + error));
+                if (errors.size() > MAX_LISTED_ERRORS) {
+                    System.out.println("  ... and " + (errors.size() - MAX_LISTED_ERRORS) + " more");
+                }
+            }
+
+            if (result.isImported()) {
+                System.out.printf("Deck '%s' imported with %d of %d cards in %d ms%n",
+                        result.getDeckName(), result.getImportedCount(), result.getRecordCount(),
+                        result.getDurationMillis());
+            } else {
+                System.out.println("Nothing was imported. Fix the records above or choose to skip them.");
+            }
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Export all decks and cards into a snapshot archive
+     */
+    private void exportSnapshot() {
+        System.out.println("\n=== EXPORT FULL SNAPSHOT ===");
+        String fileName = getUserInput("Enter file name (without extension): ");
+        String filePath = fileName + SnapshotService.SNAPSHOT_EXTENSION;
+
+        try {
+            SnapshotSummary summary = snapshotService.exportSnapshot(filePath);
+            System.out.printf("Exported %d decks and %d cards to %s in %d ms%n",
+                    summary.getDeckCount(), summary.getCardCount(), filePath, summary.getDurationMillis());
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restore decks and cards from a snapshot archive
+     */
+    private void restoreSnapshot() {
+        System.out.println("\n=== RESTORE FULL SNAPSHOT ===");
+        String filePath = getUserInput("Enter snapshot file path: ");
+        String replace = getUserInput("Replace all existing decks? (yes = replace, no = merge): ");
+
+        SnapshotService.RestoreMode mode = SnapshotService.RestoreMode.MERGE;
+        if ("yes".equalsIgnoreCase(replace.trim())) {
+            String confirmation = getUserInput("WARNING: This will delete all existing decks and cards! Continue? (yes/no): ");
+            if (!"yes".equalsIgnoreCase(confirmation.trim())) {
+                System.out.println("Snapshot restore cancelled.");
+                return;
+            }
+            mode = SnapshotService.RestoreMode.REPLACE;
+        }
+
+        try {
+            SnapshotSummary summary = snapshotService.restoreSnapshot(filePath, mode);
+            System.out.printf("Restored %d decks and %d cards in %d ms%n",
+                    summary.getDeckCount(), summary.getCardCount(), summary.getDurationMillis());
+        } catch (IOException e) {
+            System.out.println("Restore failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Background jobs menu
+     */
+    private void backgroundJobsMenu() {
+        boolean backToMain = false;
+
+        while (!backToMain) {
+            System.out.println("\n=== BACKGROUND JOBS ===");
+            System.out.println("1. View Jobs");
+            System.out.println("2. Cancel Job");
+            System.out.println("3. Resume Failed or Cancelled Import");
+            System.out.println("4. Back to Main Menu");
+
+            String choice = getUserInput("Enter your choice: ");
+
+            try {
+                switch (choice) {
+                    case "1" -> viewJobs();
+                    case "2" -> cancelJob();
+                    case "3" -> resumeJob();
+                    case "4" -> backToMain = true;
+                    default -> System.out.println("Invalid choice. Please try again.");
+                }
+            } catch (Exception e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+
+            if (!backToMain && !choice.equals("4")) {
+                pressEnterToContinue();
+            }
+        }
+    }
+
+    /**
+     * Display all jobs with their progress
+     */
+    private void viewJobs() {
+        List<JobInfo> jobs = jobService.getJobs();
+        if (jobs.isEmpty()) {
+            System.out.println("No background jobs.");
+            return;
+        }
+
+        System.out.printf("%-5s %-7s %-7s %-10s %-9s %-12s %-12s %-30s%n",
+                "ID", "Type", "Format", "Status", "Progress", "Records", "Records/s", "File");
+        System.out.println("-".repeat(98));
+        for (JobInfo job : jobs) {
+            int percent = job.getPercentComplete();
+            long records = Math.max(job.getRecordsProcessed(), job.getRecordsCommitted());
+            System.out.printf("%-5d %-7s %-7s %-10s %-9s %-12d %-12.0f %-30s%n",
+                    job.getId(),
+                    job.getType(),
+                    job.getFormat(),
+                    job.getStatus(),
+                    percent >= 0 ? percent + "%" : "-",
+                    records,
+                    job.getRecordsPerSecond(),
+                    truncateString(job.getFilePath(), 30));
+            if (job.getErrorMessage() != null) {
+                System.out.println("    " + job.getErrorMessage()
+                        + (job.isResumable() ? " (resumable)" : ""));
+            }
+        }
+    }
+
+    /**
+     * Cancel a queued or running job
+     */
+    private void cancelJob() {
+        long jobId = readJobId();
+        if (jobId < 0) return;
+
+        if (jobService.cancelJob(jobId)) {
+            System.out.println("Cancellation requested for job #" + jobId + ".");
+        } else {
+            System.out.println("Job #" + jobId + " is not running.");
+        }
+    }
+
+    /**
+     * Resume a failed or cancelled import from its last checkpoint
+     */
+    private void resumeJob() {
+        long jobId = readJobId();
+        if (jobId < 0) return;
+
+        jobService.resumeJob(jobId);
+        System.out.println("Job #" + jobId + " resumed.");
+    }
+
     // Helper methods
 
+    /**
+     * Ask for a job ID; returns -1 if the input is not a number
+     */
+    private long readJobId() {
+        try {
+            return Long.parseLong(getUserInput("Enter job ID: ").trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input. Please enter a number.");
+            return -1;
+        }
+    }
+
+    /**
+     * Tell the user where to follow a newly started job
+     */
+    private void printJobStarted(long jobId) {
+        System.out.println("Started background job #" + jobId + ". Track it under Background Jobs.");
+    }
+
+    /**
+     * Let the user pick several decks by number, or all of them
+     * Returns an empty list if cancelled or the input is invalid
+     */
+    private List<Deck> selectDecks(List<Deck> decks, String prompt) {
+        System.out.println("\n" + prompt);
+        System.out.printf("%-5s %-30s %-10s%n", "ID", "Name", "Cards");
+        System.out.println("-".repeat(50));
+
+        for (int i = 0; i < decks.size(); i++) {
+            Deck deck = decks.get(i);
+            System.out.printf("%-5d %-30s %-10d%n", i + 1, truncateString(deck.getName(), 30),
+                    cardService.getCardCount(deck));
+        }
+
+        String input = getUserInput("Enter deck numbers separated by commas, 'all', or 0 to cancel: ").trim();
+        if ("all".equalsIgnoreCase(input)) {
+            return decks;
+        }
+
+        Set<Deck> selected = new LinkedHashSet<>();
+        try {
+            for (String part : input.split(",")) {
+                int choice = Integer.parseInt(part.trim());
+                if (choice == 0) {
+                    return List.of();
+                }
+                if (choice < 0 || choice > decks.size()) {
+                    System.out.println("Invalid selection: " + choice);
+                    return List.of();
+                }
+                selected.add(decks.get(choice - 1));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input. Please enter deck numbers.");
+            return List.of();
+        }
+        return new ArrayList<>(selected);
+    }
+
     /**
      * Select deck from list with user input
      */
@@ -600,6 +1086,14 @@ public class ConsoleInterface {
         }
     }
 
+    /**
+     * Ask whether an export should be gzip-compressed and return the matching extension
+     */
+    private String askCompressionExtension() {
+        String compress = getUserInput("Compress with gzip? (yes/no): ");
+        return "yes".equalsIgnoreCase(compress.trim()) ? CompressedStreams.Codec.GZIP.getExtension() : "";
+    }
+
     /**
      * Get user input with prompt
      */
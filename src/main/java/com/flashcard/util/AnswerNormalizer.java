@@ -0,0 +1,251 @@
+package com.flashcard.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Folds answer text so that spelling variants of the same answer compare equal.
+ * Each character is NFKD-decomposed, stripped of combining marks and case-folded, and runs of
+ * whitespace and punctuation collapse to a single space: "Café", "CAFE" and " cafe! " all become "cafe",
+ * full-width "ＡＢＣ" becomes "abc" and the ligature "ﬁ" becomes "fi".
+ * The folding of every UTF-16 unit is computed once per 256-character block and kept in a lookup table,
+ * so normalizing a string is a table lookup per character with no Normalizer call or regex.
+ * Text made only of punctuation keeps it, so an answer like "?" does not normalize to nothing.
+ * Symbols that change the meaning of a word, such as the "#" in "C#" or the "+" in "C++", are kept.
+ */
+public final class AnswerNormalizer {
+
+    /**
+     * Separates the normalized variants stored by {@link #normalizeAnswer(String)}
+     */
+    public static final char VARIANT_SEPARATOR = ';';
+
+    /**
+     * Punctuation that is kept instead of becoming a separator, since "C#", "100%" or "R&D" would lose meaning
+     */
+    private static final String SIGNIFICANT_PUNCTUATION = "#%&@";
+
+    private static final int REMOVED = -1;
+    private static final int SEPARATOR = -2;
+    private static final int FIRST_EXPANSION = -3;
+
+    private static final int BLOCK_BITS = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private static final AtomicReferenceArray<Block> BLOCKS = new AtomicReferenceArray<>(1 << (Character.SIZE - BLOCK_BITS));
+
+    private AnswerNormalizer() {
+    }
+
+    /**
+     * Normalize a single piece of text
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        appendNormalized(text, out);
+        return out.toString();
+    }
+
+    /**
+     * Normalize each acceptable variant of an answer, as split by semicolons or commas,
+     * and join the non-empty ones with {@link #VARIANT_SEPARATOR}
+     */
+    public static String normalizeAnswer(String answer) {
+        if (answer == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(answer.length());
+        int variantStart = 0;
+        for (int i = 0; i <= answer.length(); i++) {
+            if (i < answer.length() && answer.charAt(i) != ';' && answer.charAt(i) != ',') {
+                continue;
+            }
+            int before = out.length();
+            if (before > 0) {
+                out.append(VARIANT_SEPARATOR);
+            }
+            if (appendNormalized(answer, variantStart, i, out) == 0) {
+                out.setLength(before);
+            }
+            variantStart = i + 1;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Append the normalized form of text to out, reusing its capacity
+     */
+    public static int appendNormalized(CharSequence text, StringBuilder out) {
+        return appendNormalized(text, 0, text.length(), out);
+    }
+
+    /**
+     * Append the normalized form of text[start, end) to out
+     * Returns the number of characters appended
+     */
+    public static int appendNormalized(CharSequence text, int start, int end, StringBuilder out) {
+        int origin = out.length();
+        boolean pendingSpace = false;
+        boolean hasContent = false;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            Block block = block(c);
+            int code = block.codes[c & BLOCK_MASK];
+
+            if (code >= 0) {
+                pendingSpace = appendFolded(out, origin, (char) code, pendingSpace);
+            } else if (code == SEPARATOR) {
+                pendingSpace = true;
+                hasContent |= !Character.isWhitespace(c) && !Character.isSpaceChar(c);
+            } else if (code <= FIRST_EXPANSION) {
+                String expansion = block.expansions[FIRST_EXPANSION - code];
+                for (int j = 0; j < expansion.length(); j++) {
+                    char folded = expansion.charAt(j);
+                    if (folded == ' ') {
+                        pendingSpace = true;
+                    } else {
+                        pendingSpace = appendFolded(out, origin, folded, pendingSpace);
+                    }
+                }
+            }
+        }
+
+        if (out.length() == origin && hasContent) {
+            appendPunctuation(text, start, end, out);
+        }
+        return out.length() - origin;
+    }
+
+    private static boolean appendFolded(StringBuilder out, int origin, char folded, boolean pendingSpace) {
+        if (pendingSpace && out.length() > origin) {
+            out.append(' ');
+        }
+        out.append(folded);
+        return false;
+    }
+
+    /**
+     * Fallback for text without letters or digits: keep its punctuation, collapsing whitespace
+     */
+    private static void appendPunctuation(CharSequence text, int start, int end, StringBuilder out) {
+        int origin = out.length();
+        boolean pendingSpace = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = true;
+            } else {
+                pendingSpace = appendFolded(out, origin, BoundedEditDistance.fold(c), pendingSpace);
+            }
+        }
+    }
+
+    private static Block block(char c) {
+        int index = c >>> BLOCK_BITS;
+        Block block = BLOCKS.get(index);
+        if (block == null) {
+            // Blocks are immutable, so a race only builds the same block twice
+            block = new Block(index << BLOCK_BITS);
+            BLOCKS.set(index, block);
+        }
+        return block;
+    }
+
+    private static boolean isSeparator(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+            return true;
+        }
+        if (SIGNIFICANT_PUNCTUATION.indexOf(c) >= 0) {
+            return false;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.ENCLOSING_MARK
+                || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * Folding of 256 consecutive UTF-16 units: the folded character, REMOVED, SEPARATOR,
+     * or an index into expansions for characters that fold to several characters
+     */
+    private static final class Block {
+
+        private final int[] codes = new int[BLOCK_SIZE];
+        private final String[] expansions;
+
+        private Block(int first) {
+            String[] found = new String[BLOCK_SIZE];
+            int expansionCount = 0;
+
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                char c = (char) (first + i);
+                if (Character.isSurrogate(c)) {
+                    // Supplementary characters are compared as they are
+                    codes[i] = c;
+                    continue;
+                }
+                // Compatibility forms such as a full-width "＃" fold to a kept symbol rather than a separator
+                String folded = fold(c);
+                if (folded.isEmpty()) {
+                    codes[i] = isSeparator(c) ? SEPARATOR : REMOVED;
+                } else if (folded.length() == 1) {
+                    codes[i] = folded.charAt(0);
+                } else {
+                    found[expansionCount] = folded;
+                    codes[i] = FIRST_EXPANSION - expansionCount;
+                    expansionCount++;
+                }
+            }
+            this.expansions = Arrays.copyOf(found, expansionCount);
+        }
+
+        /**
+         * Decompose, drop combining marks, turn punctuation into spaces and fold case
+         */
+        private static String fold(char c) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+            StringBuilder sb = new StringBuilder(decomposed.length());
+            for (int i = 0; i < decomposed.length(); i++) {
+                char part = decomposed.charAt(i);
+                if (isMark(part)) {
+                    continue;
+                }
+                if (isSeparator(part)) {
+                    if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                        sb.append(' ');
+                    }
+                    continue;
+                }
+                sb.append(part);
+            }
+            String folded = sb.toString().toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+            int end = folded.length();
+            while (end > 0 && folded.charAt(end - 1) == ' ') {
+                end--;
+            }
+            return folded.substring(0, end);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.flashcard.util;
+
+import java.util.Arrays;
+
+/**
+ * Case-insensitive Levenshtein distance check against one precompiled pattern with an upper bound.
+ * Patterns of up to 64 characters use Myers' bit-parallel algorithm, which processes one text
+ * character per handful of long operations. Longer patterns fall back to a diagonal band of the
+ * dynamic programming table computed in a reused per-thread buffer.
+ * Both stop as soon as the bound can no longer be met and allocate nothing per check.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class BoundedEditDistance {
+
+    private static final int MAX_BIT_PARALLEL_LENGTH = Long.SIZE;
+
+    private static final ThreadLocal<int[]> BAND_ROWS = ThreadLocal.withInitial(() -> new int[256]);
+
+    private final char[] pattern;
+    private final char[] peqChars;
+    private final long[] peqMasks;
+    private final long lastBit;
+
+    private BoundedEditDistance(char[] pattern) {
+        this.pattern = pattern;
+
+        if (pattern.length > MAX_BIT_PARALLEL_LENGTH) {
+            this.peqChars = null;
+            this.peqMasks = null;
+            this.lastBit = 0;
+            return;
+        }
+
+        // Sorted distinct pattern characters and, per character, the bit mask of its positions
+        char[] distinct = pattern.clone();
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        this.peqChars = Arrays.copyOf(distinct, count);
+        this.peqMasks = new long[count];
+        for (int i = 0; i < pattern.length; i++) {
+            peqMasks[Arrays.binarySearch(peqChars, pattern[i])] |= 1L << i;
+        }
+        this.lastBit = pattern.length == 0 ? 0 : 1L << (pattern.length - 1);
+    }
+
+    /**
+     * Compile a pattern; case is folded once here
+     */
+    public static BoundedEditDistance compile(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Pattern cannot be null");
+        }
+        char[] folded = new char[pattern.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(pattern.charAt(i));
+        }
+        return new BoundedEditDistance(folded);
+    }
+
+    /**
+     * Case folding that agrees with String.regionMatches(true, ...)
+     */
+    public static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Whether text[start, start + length) is within maxDistance edits of the pattern, ignoring case
+     */
+    public boolean isWithin(CharSequence text, int start, int length, int maxDistance) {
+        if (maxDistance < 0 || Math.abs(pattern.length - length) > maxDistance) {
+            return false;
+        }
+        if (pattern.length == 0 || length == 0) {
+            return true;
+        }
+        if (peqMasks != null) {
+            return bitParallelWithin(text, start, length, maxDistance);
+        }
+        return bandedWithin(text, start, length, maxDistance);
+    }
+
+    /**
+     * Myers' algorithm in Hyyrö's formulation for global distance.
+     * score tracks the bottom row of the table; it can drop by at most one per remaining
+     * text character, which gives the early exit.
+     */
+    private boolean bitParallelWithin(CharSequence text, int start, int length, int maxDistance) {
+        long pv = -1L;
+        long mv = 0L;
+        int score = pattern.length;
+
+        for (int j = 0; j < length; j++) {
+            long eq = peq(fold(text.charAt(start + j)));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+
+            if ((ph & lastBit) != 0) {
+                score++;
+            } else if ((mh & lastBit) != 0) {
+                score--;
+            }
+            if (score - (length - j - 1) > maxDistance) {
+                return false;
+            }
+
+            ph = (ph << 1) | 1L;
+            mh = mh << 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return score <= maxDistance;
+    }
+
+    private long peq(char c) {
+        int index = Arrays.binarySearch(peqChars, c);
+        return index >= 0 ? peqMasks[index] : 0L;
+    }
+
+    /**
+     * Ukkonen's band: only cells within maxDistance of the diagonal are computed,
+     * everything outside counts as maxDistance + 1
+     */
+    private boolean bandedWithin(CharSequence text, int start, int length, int maxDistance) {
+        int m = pattern.length;
+        int unreachable = maxDistance + 1;
+        int[] rows = bandRows(2 * (m + 1));
+        int prev = 0;
+        int cur = m + 1;
+
+        for (int i = 0; i <= m; i++) {
+            rows[prev + i] = Math.min(i, unreachable);
+        }
+
+        for (int j = 1; j <= length; j++) {
+            char c = fold(text.charAt(start + j - 1));
+            int lo = Math.max(1, j - maxDistance);
+            int hi = Math.min(m, j + maxDistance);
+
+            rows[cur] = Math.min(j, unreachable);
+            rows[cur + lo - 1] = lo == 1 ? rows[cur] : unreachable;
+            int rowMin = rows[cur + lo - 1];
+
+            for (int i = lo; i <= hi; i++) {
+                int cost = pattern[i - 1] == c ? 0 : 1;
+                int value = Math.min(rows[prev + i - 1] + cost,
+                        Math.min(rows[prev + i], rows[cur + i - 1]) + 1);
+                value = Math.min(value, unreachable);
+                rows[cur + i] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (hi < m) {
+                rows[cur + hi + 1] = unreachable;
+            }
+            if (rowMin > maxDistance) {
+                return false;
+            }
+
+            int swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return rows[prev + m] <= maxDistance;
+    }
+
+    private static int[] bandRows(int size) {
+        int[] rows = BAND_ROWS.get();
+        if (rows.length < size) {
+            rows = new int[Math.max(size, rows.length * 2)];
+            BAND_ROWS.set(rows);
+        }
+        return rows;
+    }
+}
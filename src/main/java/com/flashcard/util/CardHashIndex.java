@@ -0,0 +1,73 @@
+package com.flashcard.util;
+
+/**
+ * In-memory index of a deck's cards by content hash and question hash, used by merge imports.
+ * Content hashes tell whether an identical card exists; question hashes map to the card
+ * whose answer should be updated when only the answer differs.
+ * Cards written during the import are added or updated here, so the index keeps matching the deck.
+ */
+public class CardHashIndex {
+
+    /**
+     * Returned by findCardId when no card has the question
+     */
+    public static final long NO_CARD = -1L;
+
+    private final LongLongHashMap cardCountsByContent;
+    private final LongLongHashMap contentByCardId;
+    private final LongLongHashMap cardIdsByQuestion;
+
+    public CardHashIndex() {
+        this(16);
+    }
+
+    public CardHashIndex(int expectedSize) {
+        this.cardCountsByContent = new LongLongHashMap(expectedSize, 0);
+        this.contentByCardId = new LongLongHashMap(expectedSize, 0);
+        this.cardIdsByQuestion = new LongLongHashMap(expectedSize, NO_CARD);
+    }
+
+    /**
+     * Register a card; the first card with a given question is the one that gets updated
+     */
+    public void addCard(long cardId, long questionHash, long contentHash) {
+        addContent(contentHash, 1);
+        contentByCardId.put(cardId, contentHash);
+        if (!cardIdsByQuestion.containsKey(questionHash)) {
+            cardIdsByQuestion.put(questionHash, cardId);
+        }
+    }
+
+    /**
+     * Replace the content hash of a registered card after its answer changed
+     */
+    public void updateContent(long cardId, long contentHash) {
+        if (contentByCardId.containsKey(cardId)) {
+            addContent(contentByCardId.get(cardId), -1);
+        }
+        addContent(contentHash, 1);
+        contentByCardId.put(cardId, contentHash);
+    }
+
+    /**
+     * Whether a card with identical content is known
+     */
+    public boolean containsContent(long contentHash) {
+        return cardCountsByContent.get(contentHash) > 0;
+    }
+
+    /**
+     * ID of the existing card with the question, or NO_CARD
+     */
+    public long findCardId(long questionHash) {
+        return cardIdsByQuestion.get(questionHash);
+    }
+
+    public int size() {
+        return contentByCardId.size();
+    }
+
+    private void addContent(long contentHash, long delta) {
+        cardCountsByContent.put(contentHash, cardCountsByContent.get(contentHash) + delta);
+    }
+}
@@ -0,0 +1,114 @@
+package com.flashcard.util;
+
+/**
+ * 64-bit digests of card text, used to find duplicate cards without comparing strings.
+ * Questions are normalized by trimming, collapsing whitespace runs to a single space and lower-casing,
+ * so "What is  Java?" and "what is java?" hash the same. Answers are only trimmed, so a card whose
+ * answer differs in case or spacing counts as changed and the corrected answer is written.
+ */
+public final class ContentHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Separates question and answer so ("ab", "c") and ("a", "bc") differ
+     */
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private ContentHash() {
+    }
+
+    /**
+     * Digest of the normalized question
+     */
+    public static long ofQuestion(String question) {
+        return mix(update(FNV_OFFSET_BASIS, question));
+    }
+
+    /**
+     * Digest of the normalized question and the trimmed answer together
+     */
+    public static long ofCard(String question, String answer) {
+        long hash = update(FNV_OFFSET_BASIS, question);
+        hash = (hash ^ FIELD_SEPARATOR) * FNV_PRIME;
+        return mix(updateExact(hash, answer));
+    }
+
+    /**
+     * FNV-1a over the UTF-16 text with only leading and trailing whitespace removed
+     */
+    private static long updateExact(long hash, String text) {
+        if (text == null) {
+            return hash;
+        }
+
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int i = 0;
+        while (i < end && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+
+        for (; i < end; i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * FNV-1a over the normalized UTF-16 text, normalizing on the fly without building a new string
+     */
+    private static long update(long hash, String text) {
+        if (text == null) {
+            return hash;
+        }
+
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int i = 0;
+        while (i < end && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+
+        boolean pendingSpace = false;
+        while (i < end) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.isWhitespace(codePoint)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+                pendingSpace = false;
+            }
+
+            int lower = Character.toLowerCase(codePoint);
+            if (Character.isBmpCodePoint(lower)) {
+                hash = (hash ^ lower) * FNV_PRIME;
+            } else {
+                hash = (hash ^ Character.highSurrogate(lower)) * FNV_PRIME;
+                hash = (hash ^ Character.lowSurrogate(lower)) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Final avalanche step (MurmurHash3 fmix64) so similar texts spread across all bits
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,139 @@
+package com.flashcard.util;
+
+/**
+ * Weighted random sampling over a fixed number of items using a Fenwick (binary indexed) tree of prefix sums.
+ * Changing one weight and drawing one item both take O(log n) and allocate nothing, so weights can be
+ * updated after every answer even for decks with millions of cards. Not thread-safe.
+ */
+public class FenwickSampler {
+
+    private final double[] tree;
+    private final double[] weights;
+    private final int highestPowerOfTwo;
+
+    /**
+     * Create a sampler over weights.length items with the given initial non-negative weights
+     */
+    public FenwickSampler(double[] initialWeights) {
+        int size = initialWeights.length;
+        this.weights = new double[size];
+        this.tree = new double[size + 1];
+
+        // Linear-time construction: each node passes its sum on to its parent
+        for (int i = 0; i < size; i++) {
+            double weight = checkWeight(initialWeights[i]);
+            weights[i] = weight;
+            tree[i + 1] += weight;
+            int parent = (i + 1) + Integer.lowestOneBit(i + 1);
+            if (parent <= size) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+        this.highestPowerOfTwo = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Replace the weight of one item
+     */
+    public void setWeight(int index, double weight) {
+        double delta = checkWeight(weight) - weights[index];
+        weights[index] = weight;
+        for (int i = index + 1; i < tree.length; i += Integer.lowestOneBit(i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sum of all weights
+     */
+    public double total() {
+        return prefixSum(weights.length);
+    }
+
+    /**
+     * Draw an item with probability proportional to its weight, given a uniform random number in [0, 1)
+     * Returns -1 if every weight is zero
+     */
+    public int sample(double uniform) {
+        double total = total();
+        if (!(total > 0)) {
+            return -1;
+        }
+        return find(uniform * total, -1);
+    }
+
+    /**
+     * Draw an item other than excluded with probability proportional to its weight, without changing any weight:
+     * the target skips over the excluded item's range of the prefix sums instead.
+     * Returns -1 if no other item has weight
+     */
+    public int sample(double uniform, int excluded) {
+        double excludedWeight = weights[excluded];
+        double rest = total() - excludedWeight;
+        if (!(rest > 0)) {
+            return -1;
+        }
+        double target = uniform * rest;
+        if (target >= prefixSum(excluded)) {
+            target += excludedWeight;
+        }
+        return find(target, excluded);
+    }
+
+    /**
+     * Sum of the weights of the items before index
+     */
+    private double prefixSum(int index) {
+        double sum = 0;
+        for (int i = index; i > 0; i -= Integer.lowestOneBit(i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Find the item whose prefix range contains target, never returning excluded
+     */
+    private int find(double target, int excluded) {
+        // Descend the implicit tree: find the last position whose prefix sum is <= target
+        int position = 0;
+        for (int step = highestPowerOfTwo; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+
+        // Rounding can land on a trailing zero-weight or the excluded item; step back to the nearest other one
+        int index = Math.min(position, weights.length - 1);
+        while (index > 0 && (weights[index] == 0 || index == excluded)) {
+            index--;
+        }
+        return weights[index] > 0 && index != excluded ? index : firstPositive(excluded);
+    }
+
+    private int firstPositive(int excluded) {
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0 && i != excluded) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be a finite non-negative number: " + weight);
+        }
+        return weight;
+    }
+}
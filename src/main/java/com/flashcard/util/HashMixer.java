@@ -0,0 +1,18 @@
+package com.flashcard.util;
+
+/**
+ * Slot selection shared by the primitive hash tables
+ */
+final class HashMixer {
+
+    private HashMixer() {
+    }
+
+    /**
+     * Spread the bits of a key and reduce it to a table index; mask must be a power of two minus one
+     */
+    static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,24 @@
+package com.flashcard.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Helpers for primitive long arrays of card IDs
+ */
+public final class LongArrays {
+
+    private LongArrays() {
+    }
+
+    /**
+     * Fisher-Yates shuffle of values[from, to) in place
+     */
+    public static void shuffle(long[] values, int from, int to, SplittableRandom random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            long swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
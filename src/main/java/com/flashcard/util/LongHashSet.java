@@ -0,0 +1,118 @@
+package com.flashcard.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive longs.
+ * Uses one long[] with linear probing, so a million entries take about 16 MB instead of
+ * the boxed objects and table nodes of a HashSet&lt;Long&gt;. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] table;
+    private boolean containsZero;
+    private int size;
+    private int resizeThreshold;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Add a value
+     * Returns false if it was already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = table.length - 1;
+        int index = HashMixer.index(value, mask);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        table[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+
+        int mask = table.length - 1;
+        int index = HashMixer.index(value, mask);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldTable = table;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long value : oldTable) {
+            if (value != EMPTY) {
+                int index = HashMixer.index(value, mask);
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        long needed = Math.max(16L, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (needed > (1 << 30)) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
@@ -0,0 +1,123 @@
+package com.flashcard.util;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive long values.
+ * Keys and values live in two parallel arrays with linear probing. Not thread-safe.
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final long missingValue;
+    private long[] keys;
+    private long[] values;
+    private boolean hasZeroKey;
+    private long zeroKeyValue;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * missingValue is returned by get for keys that are not present
+     */
+    public LongLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        allocate(LongHashSet.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Associate value with key
+     * Returns the previous value, or the missing value if there was none
+     */
+    public long put(long key, long value) {
+        if (key == EMPTY) {
+            long previous = hasZeroKey ? zeroKeyValue : missingValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return previous;
+        }
+
+        int mask = keys.length - 1;
+        int index = HashMixer.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                long previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Get the value for key, or the missing value if the key is not present
+     */
+    public long get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroKeyValue : missingValue;
+        }
+
+        int mask = keys.length - 1;
+        int index = HashMixer.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        int mask = keys.length - 1;
+        int index = HashMixer.index(key, mask);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = HashMixer.index(oldKeys[i], mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,59 @@
+package com.flashcard.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs work over the index range [0, size) on a ForkJoin pool.
+ * The range is split in halves until a part is small enough to process sequentially;
+ * callers store results by index, so they keep the order of their input.
+ */
+public final class ParallelRanges {
+
+    /**
+     * Largest range processed sequentially without further splitting
+     */
+    public static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    /**
+     * Processes the indexes [from, to) sequentially; called concurrently for disjoint ranges
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        void compute(int from, int to);
+    }
+
+    private ParallelRanges() {
+    }
+
+    /**
+     * Run task over [0, size) on the pool and wait until every range is done
+     */
+    public static void forEach(ForkJoinPool pool, int size, RangeTask task) {
+        pool.invoke(new Range(task, 0, size));
+    }
+
+    private static final class Range extends RecursiveAction {
+
+        private final RangeTask task;
+        private final int from;
+        private final int to;
+
+        Range(RangeTask task, int from, int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                task.compute(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Range(task, from, middle), new Range(task, middle, to));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.flashcard.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryDeckFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTrip_Uncompressed_ShouldPreserveDeckNameAndCards() throws IOException {
+        // Given
+        List<String[]> cards = sampleCards(5000);
+        Path file = tempDir.resolve("deck.fcdk");
+
+        // When
+        write(file, "Español ✓", cards, false);
+        List<String[]> result = new ArrayList<>();
+        String deckName = read(file, result);
+
+        // Then
+        assertEquals("Español ✓", deckName);
+        assertEquals(cards.size(), result.size());
+        for (int i = 0; i < cards.size(); i++) {
+            assertArrayEquals(cards.get(i), result.get(i));
+        }
+    }
+
+    @Test
+    void roundTrip_Compressed_ShouldPreserveCardsAndShrinkFile() throws IOException {
+        // Given
+        List<String[]> cards = sampleCards(5000);
+        Path plain = tempDir.resolve("plain.fcdk");
+        Path compressed = tempDir.resolve("compressed.fcdk");
+
+        // When
+        write(plain, "Deck", cards, false);
+        write(compressed, "Deck", cards, true);
+        List<String[]> result = new ArrayList<>();
+        read(compressed, result);
+
+        // Then
+        assertEquals(cards.size(), result.size());
+        assertArrayEquals(cards.get(4999), result.get(4999));
+        assertTrue(Files.size(compressed) < Files.size(plain));
+    }
+
+    @Test
+    void roundTrip_EmptyDeck_ShouldHaveNoCards() throws IOException {
+        // Given
+        Path file = tempDir.resolve("empty.fcdk");
+
+        // When
+        write(file, "Empty", List.of(), true);
+        List<String[]> result = new ArrayList<>();
+        String deckName = read(file, result);
+
+        // Then
+        assertEquals("Empty", deckName);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void read_WithCorruptedBlock_ShouldFailChecksum() throws IOException {
+        // Given
+        Path file = tempDir.resolve("corrupt.fcdk");
+        write(file, "Deck", sampleCards(10), false);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), Files.size(file) - 2);
+        }
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class, () -> read(file, new ArrayList<>()));
+        assertTrue(exception.getMessage().contains("Checksum mismatch"));
+    }
+
+    @Test
+    void read_WithTruncatedFile_ShouldThrowEofException() throws IOException {
+        // Given
+        Path file = tempDir.resolve("truncated.fcdk");
+        write(file, "Deck", sampleCards(10), false);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 5);
+        }
+
+        // When & Then
+        assertThrows(EOFException.class, () -> read(file, new ArrayList<>()));
+    }
+
+    @Test
+    void read_WithWrongMagic_ShouldRejectFile() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("deck.json"), "{\"name\":\"Deck\",\"cards\":[]}");
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class, () -> read(file, new ArrayList<>()));
+        assertEquals("Not a binary deck file", exception.getMessage());
+    }
+
+    @Test
+    void read_WithWriterClosedBeforeFinish_ShouldRejectFile() throws IOException {
+        // Given
+        Path file = tempDir.resolve("deck.fcdk");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             BinaryDeckWriter writer = new BinaryDeckWriter(channel, "Deck", false)) {
+            for (String[] card : sampleCards(5000)) {
+                writer.write(card[0], card[1]);
+            }
+        }
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class, () -> read(file, new ArrayList<>()));
+        assertEquals("Incomplete binary deck file: the export did not finish", exception.getMessage());
+    }
+
+    private List<String[]> sampleCards(int count) {
+        List<String[]> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(new String[]{"Question " + i + " – ¿qué?", "Answer " + i + "\nsecond line"});
+        }
+        return cards;
+    }
+
+    private void write(Path file, String deckName, List<String[]> cards, boolean compress) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             BinaryDeckWriter writer = new BinaryDeckWriter(channel, deckName, compress)) {
+            for (String[] card : cards) {
+                writer.write(card[0], card[1]);
+            }
+            writer.finish();
+        }
+    }
+
+    private String read(Path file, List<String[]> cards) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BinaryDeckReader reader = new BinaryDeckReader(channel)) {
+            while (reader.next()) {
+                cards.add(new String[]{reader.getQuestion(), reader.getAnswer()});
+            }
+            return reader.getDeckName();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.flashcard.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedStreamsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void detect_ShouldUseLastExtension() {
+        assertEquals(CompressedStreams.Codec.GZIP, CompressedStreams.detect(Path.of("deck.json.GZ")));
+        assertEquals(CompressedStreams.Codec.DEFLATE, CompressedStreams.detect(Path.of("deck.csv.deflate")));
+        assertEquals(CompressedStreams.Codec.NONE, CompressedStreams.detect(Path.of("deck.gz.json")));
+    }
+
+    @Test
+    void stripCompressionExtension_ShouldKeepFormatExtension() {
+        assertEquals("deck.json", CompressedStreams.stripCompressionExtension("deck.json.gz"));
+        assertEquals("deck.csv", CompressedStreams.stripCompressionExtension("deck.csv.deflate"));
+        assertEquals("deck.csv", CompressedStreams.stripCompressionExtension("deck.csv"));
+    }
+
+    @Test
+    void roundTrip_Gzip_ShouldCompressOnDiskAndRestoreContent() throws IOException {
+        // Given
+        Path file = tempDir.resolve("deck.csv.gz");
+        String content = "Question,Answer\n".repeat(10_000);
+
+        // When
+        write(file, content);
+
+        // Then
+        byte[] raw = Files.readAllBytes(file);
+        assertEquals((byte) 0x1f, raw[0]);
+        assertEquals((byte) 0x8b, raw[1]);
+        assertTrue(raw.length < content.length());
+        assertEquals(content, read(file));
+    }
+
+    @Test
+    void roundTrip_DeflateAndPlain_ShouldRestoreContent() throws IOException {
+        // Given
+        Path deflated = tempDir.resolve("deck.json.deflate");
+        Path plain = tempDir.resolve("deck.json");
+        String content = "{\"name\":\"Deck\",\"cards\":[]}";
+
+        // When
+        write(deflated, content);
+        write(plain, content);
+
+        // Then
+        assertEquals(content, read(deflated));
+        assertEquals(content, Files.readString(plain));
+    }
+
+    private void write(Path file, String content) throws IOException {
+        try (OutputStream output = CompressedStreams.newOutputStream(file)) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String read(Path file) throws IOException {
+        try (InputStream input = CompressedStreams.newInputStream(file)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
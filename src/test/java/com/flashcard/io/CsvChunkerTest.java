@@ -0,0 +1,71 @@
+package com.flashcard.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvChunkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void split_ShouldCoverWholeFileWithContiguousChunks() throws IOException {
+        // Given
+        Path file = write("Question,Answer\nq1,a1\nq2,a2\nq3,a3\n");
+
+        // When
+        List<CsvChunk> chunks = split(file, 10);
+
+        // Then
+        long expectedOffset = 0;
+        for (CsvChunk chunk : chunks) {
+            assertEquals(expectedOffset, chunk.getOffset());
+            expectedOffset += chunk.getLength();
+        }
+        assertEquals(Files.size(file), expectedOffset);
+        assertEquals(List.of(1L, 2L, 4L), chunks.stream().map(CsvChunk::getFirstLine).toList());
+    }
+
+    @Test
+    void split_ShouldNotBreakInsideQuotedField() throws IOException {
+        // Given
+        Path file = write("h1,h2\n\"a\nb\nc\",\"x \"\"y\"\"\nz\"\nq,a\n");
+
+        // When
+        List<CsvChunk> chunks = split(file, 1);
+
+        // Then
+        assertEquals(3, chunks.size());
+        assertEquals(6, chunks.get(1).getOffset());
+        assertEquals(2, chunks.get(1).getFirstLine());
+        assertEquals(6, chunks.get(2).getFirstLine());
+    }
+
+    @Test
+    void split_WithEmptyFile_ShouldReturnNoChunks() throws IOException {
+        // When
+        List<CsvChunk> chunks = split(write(""), 10);
+
+        // Then
+        assertTrue(chunks.isEmpty());
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("deck.csv"), content);
+    }
+
+    private List<CsvChunk> split(Path file, long chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return CsvChunker.split(channel, chunkSize);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.flashcard.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void nextRecord_WithSimpleFields_ShouldSplitOnCommas() throws IOException {
+        // When
+        List<List<String>> records = readAll("Question,Answer\nq1,a1\n", 64);
+
+        // Then
+        assertEquals(List.of(List.of("Question", "Answer"), List.of("q1", "a1")), records);
+    }
+
+    @Test
+    void nextRecord_WithQuotedNewlineAndEscapedQuotes_ShouldKeepSingleRecord() throws IOException {
+        // Given
+        String csv = "\"line one\nline two\",\"say \"\"hi\"\", ok\"\nq2,a2";
+
+        // When
+        List<List<String>> records = readAll(csv, 64);
+
+        // Then
+        assertEquals(2, records.size());
+        assertEquals(List.of("line one\nline two", "say \"hi\", ok"), records.get(0));
+        assertEquals(List.of("q2", "a2"), records.get(1));
+    }
+
+    @Test
+    void nextRecord_WithCrlfAndBom_ShouldStripBothFromFields() throws IOException {
+        // When
+        List<List<String>> records = readAll("\uFEFFQuestion,Answer\r\nq1,a1\r\n", 64);
+
+        // Then
+        assertEquals(List.of(List.of("Question", "Answer"), List.of("q1", "a1")), records);
+    }
+
+    @Test
+    void nextRecord_WithTinyBuffer_ShouldHandleFieldsSpanningRefills() throws IOException {
+        // Given
+        String csv = "\"ab\"\"cd\",efghij\r\n\"x\ny\",\"\"\"\"\n";
+
+        // When
+        List<List<String>> records = readAll(csv, 1);
+
+        // Then
+        assertEquals(List.of(List.of("ab\"cd", "efghij"), List.of("x\ny", "\"")), records);
+    }
+
+    @Test
+    void nextRecord_WithEmptyLineAndTrailingComma_ShouldReturnEmptyFields() throws IOException {
+        // When
+        List<List<String>> records = readAll("\nq1,", 64);
+
+        // Then
+        assertEquals(List.of(List.of(""), List.of("q1", "")), records);
+    }
+
+    @Test
+    void getRecordLineNumber_ShouldAccountForQuotedNewlines() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("h1,h2\n\"a\nb\",c\nd,e\n"), 4);
+
+        // When & Then
+        assertTrue(reader.nextRecord());
+        assertEquals(1, reader.getRecordLineNumber());
+        assertTrue(reader.nextRecord());
+        assertEquals(2, reader.getRecordLineNumber());
+        assertTrue(reader.nextRecord());
+        assertEquals(4, reader.getRecordLineNumber());
+        assertFalse(reader.nextRecord());
+    }
+
+    @Test
+    void nextRecord_WithUnterminatedQuote_ShouldThrowException() {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("\"never closed,a\n"), 4);
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class, reader::nextRecord);
+        assertTrue(exception.getMessage().contains("line 1"));
+    }
+
+    private List<List<String>> readAll(String csv, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv), bufferSize)) {
+            while (reader.nextRecord()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < reader.getFieldCount(); i++) {
+                    fields.add(reader.getField(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+}
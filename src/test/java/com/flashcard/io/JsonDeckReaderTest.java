@@ -0,0 +1,82 @@
+package com.flashcard.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonDeckReaderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void next_WithNameBeforeCards_ShouldReturnNameAndCardsInOrder() throws IOException {
+        // Given
+        String json = "{\"name\":\"Deck\",\"cards\":[{\"question\":\"q1\",\"answer\":\"a1\"},"
+                + "{\"answer\":\"a2\",\"extra\":{\"x\":[1]},\"question\":\"q2\"}]}";
+
+        // When
+        try (JsonDeckReader reader = new JsonDeckReader(jsonFactory.createParser(json))) {
+            // Then
+            assertEquals("Deck", reader.getDeckName());
+            assertEquals(List.of("q1=a1", "q2=a2"), readAll(reader));
+        }
+    }
+
+    @Test
+    void next_WithNameAfterCards_ShouldHaveNoNameWhileReadingCards() throws IOException {
+        // Given
+        String json = "{\"cards\":[{\"question\":\"q1\",\"answer\":\"a1\"}],\"name\":\"Late\"}";
+
+        // When
+        try (JsonDeckReader reader = new JsonDeckReader(jsonFactory.createParser(json))) {
+            // Then
+            assertNull(reader.getDeckName());
+            assertEquals(List.of("q1=a1"), readAll(reader));
+        }
+    }
+
+    @Test
+    void next_WithNullAnswer_ShouldReturnNull() throws IOException {
+        // Given
+        String json = "{\"name\":\"Deck\",\"cards\":[{\"question\":\"q1\",\"answer\":null}]}";
+
+        // When
+        try (JsonDeckReader reader = new JsonDeckReader(jsonFactory.createParser(json))) {
+            // Then
+            assertTrue(reader.next());
+            assertEquals("q1", reader.getQuestion());
+            assertNull(reader.getAnswer());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void constructor_WithoutNameAndCards_ShouldThrowException() {
+        // When & Then
+        IOException exception = assertThrows(IOException.class,
+                () -> new JsonDeckReader(jsonFactory.createParser("{\"other\":1}")));
+        assertTrue(exception.getMessage().contains("missing deck name"));
+    }
+
+    @Test
+    void next_WithNonObjectCard_ShouldThrowException() throws IOException {
+        // Given
+        JsonDeckReader reader = new JsonDeckReader(jsonFactory.createParser("{\"name\":\"Deck\",\"cards\":[42]}"));
+
+        // When & Then
+        assertThrows(IOException.class, reader::next);
+    }
+
+    private List<String> readAll(JsonDeckReader reader) throws IOException {
+        List<String> cards = new ArrayList<>();
+        while (reader.next()) {
+            cards.add(reader.getQuestion() + "=" + reader.getAnswer());
+        }
+        return cards;
+    }
+}
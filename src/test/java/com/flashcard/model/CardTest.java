@@ -108,4 +108,17 @@ class CardTest {
         // Then
         assertEquals("Card{id=null, question='Question', answer='Answer'}", result);
     }
+
+    @Test
+    void setAnswer_ShouldUpdateNormalizedAnswer() {
+        // Given
+        Card card = new Card("Coffee in French?", "Café; Caffè");
+
+        // When
+        card.setAnswer("Thé, Tee");
+
+        // Then
+        assertEquals("Thé, Tee", card.getAnswer());
+        assertEquals("the;tee", card.getNormalizedAnswer());
+    }
 }
@@ -0,0 +1,129 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerMatcherCacheTest {
+
+    private static AnswerMatcherCache cache(int size) {
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getQuiz().setMatcherCacheSize(size);
+        return new AnswerMatcherCache(properties);
+    }
+
+    @Test
+    void getMatcher_ShouldReuseMatcherUntilAnswerChanges() {
+        // Given
+        AnswerMatcherCache cache = cache(100);
+        AnswerMatcher first = cache.getMatcher(1L, "Paris", null);
+
+        // When
+        AnswerMatcher again = cache.getMatcher(1L, "Paris", null);
+        AnswerMatcher edited = cache.getMatcher(1L, "Paris, France", null);
+
+        // Then
+        assertSame(first, again);
+        assertNotSame(first, edited);
+        assertTrue(edited.isCompiledFrom("Paris, France"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getMatcher_WithSingleEntry_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        AnswerMatcherCache cache = cache(1);
+        AnswerMatcher paris = cache.getMatcher(1L, "Paris", null);
+
+        // When
+        cache.getMatcher(2L, "Rome", null);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertNotSame(paris, cache.getMatcher(1L, "Paris", null));
+    }
+
+    @Test
+    void getMatcher_WithManyCards_ShouldStayWithinConfiguredSize() {
+        // Given
+        AnswerMatcherCache cache = cache(100);
+
+        // When
+        for (long id = 1; id <= 1000; id++) {
+            cache.getMatcher(id, "Answer " + id, null);
+        }
+
+        // Then
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.size() >= 100 - AnswerMatcherCache.MAX_SEGMENTS);
+    }
+
+    @Test
+    void getMatcher_WithCachingDisabled_ShouldCompileEveryTime() {
+        // Given
+        AnswerMatcherCache cache = cache(0);
+
+        // When
+        AnswerMatcher first = cache.getMatcher(1L, "Paris", null);
+        AnswerMatcher second = cache.getMatcher(1L, "Paris", null);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_ShouldDropOnlyThatCard() {
+        // Given
+        AnswerMatcherCache cache = cache(100);
+        AnswerMatcher paris = cache.getMatcher(1L, "Paris", null);
+        AnswerMatcher rome = cache.getMatcher(2L, "Rome", null);
+
+        // When
+        cache.invalidate(1L);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertNotSame(paris, cache.getMatcher(1L, "Paris", null));
+        assertSame(rome, cache.getMatcher(2L, "Rome", null));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getMatcher_FromManyThreads_ShouldMatchEveryCardsOwnAnswer() throws Exception {
+        // Given
+        AnswerMatcherCache cache = cache(256);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (long id = 1; id <= 5000; id++) {
+                        long cardId = id % 500;
+                        AnswerMatcher matcher = cache.getMatcher(cardId, "Answer " + cardId, null);
+                        assertTrue(matcher.isCompiledFrom("Answer " + cardId));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertTrue(cache.size() <= 256);
+    }
+}
@@ -0,0 +1,136 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerMatcherTest {
+
+    @Test
+    void matches_WithSameAnswerInDifferentCaseAndWhitespace_ShouldMatch() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("  Paris ");
+
+        // When & Then
+        assertTrue(matcher.matches("paris"));
+        assertTrue(matcher.matches("  PARIS\t"));
+        assertFalse(matcher.matches("Lyon"));
+        assertEquals("Paris", matcher.getAnswer());
+    }
+
+    @Test
+    void matches_WithAcceptableVariant_ShouldMatch() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("car; automobile, Auto");
+
+        // When & Then
+        assertTrue(matcher.matches("Automobile"));
+        assertTrue(matcher.matches(" auto "));
+        assertFalse(matcher.matches("bus"));
+    }
+
+    @Test
+    void matches_WithPartialAnswerForLongAnswer_ShouldMatch() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("The mitochondria");
+
+        // When & Then
+        assertTrue(matcher.matches("MITOCHONDRIA"));
+        assertTrue(matcher.matches("I think the mitochondria of the cell"));
+        assertFalse(matcher.matches("mito"));
+        assertFalse(matcher.matches("chloroplast"));
+    }
+
+    @Test
+    void matches_WithShortAnswer_ShouldNotAcceptPartialMatch() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Berlin");
+
+        // When & Then
+        assertFalse(matcher.matches("Berlin Germany"));
+    }
+
+    @Test
+    void matches_WithSymbolInAnswer_ShouldRequireIt() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("C#");
+
+        // When & Then
+        assertTrue(matcher.matches(" c# "));
+        assertFalse(matcher.matches("C"));
+        assertFalse(AnswerMatcher.compile("C++").matches("C"));
+    }
+
+    @Test
+    void matches_WithNullAnswer_ShouldTreatAsEmpty() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Paris");
+
+        // When & Then
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void isCompiledFrom_ShouldCompareSourceText() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Paris");
+
+        // When & Then
+        assertTrue(matcher.isCompiledFrom("Paris"));
+        assertFalse(matcher.isCompiledFrom("Lyon"));
+    }
+
+    @Test
+    void matches_WithTypoBudget_ShouldAcceptTyposInVariants() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Photosynthesis; Berlin", 2);
+
+        // When & Then
+        assertTrue(matcher.matches("fotosynthesis"));
+        assertTrue(matcher.matches("Berlim"));
+        assertFalse(matcher.matches("Bern"));
+        assertFalse(matcher.matches("photo"));
+    }
+
+    @Test
+    void matches_WithTypoBudget_ShouldRequireShortAnswersToBeExact() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("cat", 2);
+
+        // When & Then
+        assertTrue(matcher.matches("CAT"));
+        assertFalse(matcher.matches("car"));
+    }
+
+    @Test
+    void matches_WithTypoBudget_ShouldNotAcceptPartialMatch() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("The mitochondria", 1);
+
+        // When & Then
+        assertFalse(matcher.matches("I think the mitochondria of the cell"));
+        assertTrue(matcher.matches("The mitochondra"));
+    }
+
+    @Test
+    void matches_WithAccentsAndPunctuation_ShouldCompareNormalizedForms() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Café crème; Straße");
+
+        // When & Then
+        assertTrue(matcher.matches("cafe creme"));
+        assertTrue(matcher.matches("  CAFÉ-CRÈME! "));
+        assertTrue(matcher.matches("STRASSE"));
+        assertFalse(matcher.matches("cafe"));
+    }
+
+    @Test
+    void matches_WithStoredNormalizedAnswer_ShouldUseIt() {
+        // Given
+        AnswerMatcher matcher = AnswerMatcher.compile("Café", "cafe", 0);
+
+        // When & Then
+        assertTrue(matcher.matches("CAFE"));
+        assertEquals("Café", matcher.getAnswer());
+    }
+}
@@ -0,0 +1,73 @@
+package com.flashcard.service;
+
+import com.flashcard.model.dto.AnswerSubmission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchAnswerGraderTest {
+
+    private ForkJoinPool pool;
+    private BatchAnswerGrader grader;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        grader = new BatchAnswerGrader(Map.of(
+                1L, AnswerMatcher.compile("Paris"),
+                2L, AnswerMatcher.compile("H2O; water"),
+                3L, AnswerMatcher.compile("photosynthesis")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void grade_WithSubmissionsAcrossSplits_ShouldReturnResultsInSubmissionOrder() {
+        // Given
+        List<AnswerSubmission> submissions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long cardId = 1 + i % 3;
+            String answer = i % 7 == 0 ? "wrong " + i : cardId == 1 ? "paris" : cardId == 2 ? " Water " : "Photosynthesis";
+            submissions.add(new AnswerSubmission(cardId, answer));
+        }
+
+        // When
+        List<QuizService.QuizResult> results = grader.grade(submissions, pool);
+
+        // Then
+        assertEquals(10_000, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            QuizService.QuizResult result = results.get(i);
+            assertEquals(i % 7 != 0, result.isCorrect(), "submission " + i);
+            assertEquals(submissions.get(i).getAnswer().trim(), result.getUserAnswer());
+        }
+        assertEquals("Paris", results.get(3).getCorrectAnswer());
+        assertEquals("H2O; water", results.get(1).getCorrectAnswer());
+    }
+
+    @Test
+    void grade_WithNullAnswer_ShouldBeIncorrect() {
+        // When
+        List<QuizService.QuizResult> results = grader.grade(List.of(new AnswerSubmission(1L, null)), pool);
+
+        // Then
+        assertFalse(results.get(0).isCorrect());
+        assertEquals("", results.get(0).getUserAnswer());
+    }
+
+    @Test
+    void grade_WithNoSubmissions_ShouldReturnEmptyList() {
+        // When & Then
+        assertTrue(grader.grade(List.of(), pool).isEmpty());
+    }
+}
@@ -2,7 +2,12 @@ package com.flashcard.service;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.dto.CardAnswerRow;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.CardHashRow;
 import com.flashcard.repository.CardRepository;
+import com.flashcard.util.CardHashIndex;
+import com.flashcard.util.ContentHash;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +18,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +39,12 @@ class CardServiceTest {
     @Mock
     private Validator validator;
 
+    @Mock
+    private AnswerMatcherCache answerMatcherCache;
+
+    @Mock
+    private DeckSnapshotCache deckSnapshotCache;
+
     @InjectMocks
     private CardService cardService;
 
@@ -142,6 +157,125 @@ class CardServiceTest {
         verify(cardRepository, never()).save(any());
     }
 
+    @Test
+    void createCards_WithValidInputs_ShouldSaveAllInOneCall() {
+        // Given
+        List<CardExportData> cardData = List.of(
+                new CardExportData(" Q1 ", " A1 "),
+                new CardExportData("Q2", "A2"));
+        when(validator.validate(any(Card.class))).thenReturn(Set.of());
+        when(cardRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Card> result = cardService.createCards(testDeck, cardData);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Q1", result.get(0).getQuestion());
+        assertEquals("A1", result.get(0).getAnswer());
+        assertSame(testDeck, result.get(1).getDeck());
+        verify(cardRepository).saveAll(anyList());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void createCards_WithInvalidCard_ShouldNotSaveAnything() {
+        // Given
+        List<CardExportData> cardData = List.of(
+                new CardExportData("Q1", "A1"),
+                new CardExportData("Q2", ""));
+        when(validator.validate(any(Card.class))).thenReturn(Set.of());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> cardService.createCards(testDeck, cardData)
+        );
+
+        assertEquals("Answer cannot be empty", exception.getMessage());
+        verify(cardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createCards_WithEmptyCollection_ShouldReturnEmptyList() {
+        // When
+        List<Card> result = cardService.createCards(testDeck, List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(cardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergeCards_ShouldInsertNewCardsAndUpdateChangedAnswers() {
+        // Given
+        Card existing = new Card("Capital of Italy?", "Milan", testDeck);
+        existing.setId(8L);
+        when(validator.validate(any(Card.class))).thenReturn(Set.of());
+        when(cardRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cardRepository.findAllById(Set.of(8L))).thenReturn(List.of(existing));
+
+        // When
+        cardService.mergeCards(testDeck, List.of(new CardExportData("Capital of Spain?", "Madrid")),
+                Map.of(8L, " Rome "));
+
+        // Then
+        assertEquals("Rome", existing.getAnswer());
+        verify(cardRepository).saveAll(argThat(cards -> ((List<Card>) cards).size() == 1));
+        verify(answerMatcherCache).invalidate(8L);
+        verify(deckSnapshotCache, atLeastOnce()).invalidate(testDeck.getId());
+    }
+
+    @Test
+    void mergeCards_WithBlankChangedAnswer_ShouldThrowException() {
+        // Given
+        Card existing = new Card("Capital of Italy?", "Milan", testDeck);
+        existing.setId(8L);
+        when(cardRepository.findAllById(Set.of(8L))).thenReturn(List.of(existing));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cardService.mergeCards(testDeck, List.of(), Map.of(8L, " ")));
+        assertEquals("Answer cannot be empty", exception.getMessage());
+        assertEquals("Milan", existing.getAnswer());
+    }
+
+    @Test
+    void loadHashIndex_WithLegacyCards_ShouldHashThemBeforeLoading() {
+        // Given
+        Card legacy = new Card("Capital of Italy?", "Rome", testDeck);
+        legacy.setId(8L);
+        when(cardRepository.findByDeckAndContentHashIsNull(testDeck)).thenReturn(List.of(legacy));
+        when(cardRepository.streamHashesByDeck(testDeck)).thenAnswer(invocation -> Stream.of(
+                new CardHashRow(8L, legacy.getQuestionHash(), legacy.getContentHash())));
+
+        // When
+        CardHashIndex index = cardService.loadHashIndex(testDeck);
+
+        // Then
+        assertEquals(ContentHash.ofCard("Capital of Italy?", "Rome"), legacy.getContentHash());
+        assertEquals(8L, index.findCardId(ContentHash.ofQuestion("capital of italy?")));
+        assertTrue(index.containsContent(ContentHash.ofCard("Capital of Italy?", "Rome")));
+        verify(cardRepository).flush();
+    }
+
+    @Test
+    void loadHashIndex_WithoutLegacyCards_ShouldNotFlush() {
+        // Given
+        when(cardRepository.findByDeckAndContentHashIsNull(testDeck)).thenReturn(List.of());
+        when(cardRepository.streamHashesByDeck(testDeck)).thenReturn(Stream.of(
+                new CardHashRow(1L, ContentHash.ofQuestion("Q"), ContentHash.ofCard("Q", "A"))));
+
+        // When
+        CardHashIndex index = cardService.loadHashIndex(testDeck);
+
+        // Then
+        assertEquals(1L, index.findCardId(ContentHash.ofQuestion("Q")));
+        assertEquals(CardHashIndex.NO_CARD, index.findCardId(ContentHash.ofQuestion("Other")));
+        verify(cardRepository, never()).flush();
+    }
+
     @Test
     void getCardsByDeck_ShouldReturnCardsList() {
         // Given
@@ -175,6 +309,7 @@ class CardServiceTest {
         verify(cardRepository).findById(cardId);
         verify(cardRepository).save(any(Card.class));
         verify(validator).validate(any(Card.class));
+        verify(answerMatcherCache).invalidate(cardId);
     }
 
     @Test
@@ -305,4 +440,27 @@ class CardServiceTest {
         assertEquals(expectedCount, result);
         verify(cardRepository).countByDeck(testDeck);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAnswersByIds_WithManyIds_ShouldQueryInChunks() {
+        // Given
+        Set<Long> ids = new LinkedHashSet<>();
+        for (long id = 1; id <= 2 * CardService.ANSWER_QUERY_CHUNK_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        when(cardRepository.findAnswersByIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .map(id -> new CardAnswerRow(id, "Answer " + id, null))
+                        .toList());
+
+        // When
+        List<CardAnswerRow> rows = cardService.getAnswersByIds(ids);
+
+        // Then
+        assertEquals(ids.size(), rows.size());
+        assertEquals(1L, rows.get(0).getCardId());
+        verify(cardRepository, times(3)).findAnswersByIds(
+                argThat(chunk -> chunk.size() <= CardService.ANSWER_QUERY_CHUNK_SIZE));
+    }
 }
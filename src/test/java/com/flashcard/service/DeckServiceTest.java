@@ -29,6 +29,9 @@ class DeckServiceTest {
     @Mock
     private Validator validator;
 
+    @Mock
+    private DeckSnapshotCache deckSnapshotCache;
+
     @InjectMocks
     private DeckService deckService;
 
@@ -120,6 +123,50 @@ class DeckServiceTest {
         verify(deckRepository, never()).save(any());
     }
 
+    @Test
+    void createDeckWithUniqueName_WithFreeName_ShouldKeepName() {
+        // Given
+        when(deckRepository.findNamesMatching("Spanish", "Spanish (%)")).thenReturn(List.of());
+        when(validator.validate(any(Deck.class))).thenReturn(Set.of());
+        when(deckRepository.save(any(Deck.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Deck result = deckService.createDeckWithUniqueName(" Spanish ");
+
+        // Then
+        assertEquals("Spanish", result.getName());
+    }
+
+    @Test
+    void createDeckWithUniqueName_WithTakenNames_ShouldUseLowestFreeSuffix() {
+        // Given
+        when(deckRepository.findNamesMatching("Spanish", "Spanish (%)"))
+                .thenReturn(List.of("spanish", "Spanish (1)", "Spanish (3)"));
+        when(validator.validate(any(Deck.class))).thenReturn(Set.of());
+        when(deckRepository.save(any(Deck.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Deck result = deckService.createDeckWithUniqueName("Spanish");
+
+        // Then
+        assertEquals("Spanish (2)", result.getName());
+        verify(deckRepository, times(1)).findNamesMatching(any(), any());
+    }
+
+    @Test
+    void createDeckWithUniqueName_ShouldEscapeLikeWildcards() {
+        // Given
+        when(deckRepository.findNamesMatching("100%_done!", "100!%!_done!! (%)")).thenReturn(List.of());
+        when(validator.validate(any(Deck.class))).thenReturn(Set.of());
+        when(deckRepository.save(any(Deck.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Deck result = deckService.createDeckWithUniqueName("100%_done!");
+
+        // Then
+        assertEquals("100%_done!", result.getName());
+    }
+
     @Test
     void getAllDecks_ShouldReturnAllDecks() {
         // Given
@@ -196,6 +243,7 @@ class DeckServiceTest {
         assertTrue(result);
         verify(deckRepository).existsById(deckId);
         verify(deckRepository).deleteById(deckId);
+        verify(deckSnapshotCache).invalidate(deckId);
     }
 
     @Test
@@ -211,5 +259,19 @@ class DeckServiceTest {
         assertFalse(result);
         verify(deckRepository).existsById(deckId);
         verify(deckRepository, never()).deleteById(deckId);
+        verifyNoInteractions(deckSnapshotCache);
+    }
+
+    @Test
+    void deleteAllDecks_ShouldDropEverySnapshot() {
+        // Given
+        when(deckRepository.deleteAllInBulk()).thenReturn(3);
+
+        // When
+        int result = deckService.deleteAllDecks();
+
+        // Then
+        assertEquals(3, result);
+        verify(deckSnapshotCache).invalidateAll();
     }
 }
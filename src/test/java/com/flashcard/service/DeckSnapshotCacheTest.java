@@ -0,0 +1,275 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckSnapshotCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private static DeckSnapshotCache cache(int size) {
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getQuiz().setSnapshotCacheSize(size);
+        return new DeckSnapshotCache(properties);
+    }
+
+    private LongFunction<DeckSnapshot> builder(long deckId, long... cardIds) {
+        return version -> {
+            builds.incrementAndGet();
+            DeckSnapshot.Builder builder = DeckSnapshot.builder(deckId, version, cardIds.length);
+            for (long cardId : cardIds) {
+                Card card = new Card("Question " + cardId, "Answer " + cardId);
+                card.setId(cardId);
+                card.setDueAt(NOW.minusDays(10 - cardId));
+                builder.add(card);
+            }
+            return builder.build();
+        };
+    }
+
+    @Test
+    void getView_ShouldBuildOncePerVersion() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+
+        // When
+        DeckSnapshot.View first = cache.getView(1, builder(1, 1, 2));
+        DeckSnapshot.View second = cache.getView(1, builder(1, 1, 2));
+        cache.invalidate(1L);
+        DeckSnapshot.View rebuilt = cache.getView(1, builder(1, 1, 2, 3));
+
+        // Then
+        assertEquals(2, builds.get());
+        assertEquals(2, second.size());
+        assertEquals(2, first.size());
+        assertEquals(3, rebuilt.size());
+    }
+
+    @Test
+    void getView_WithConcurrentCallers_ShouldShareOneBuild() throws Exception {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LongFunction<DeckSnapshot> slowBuilder = version -> {
+            building.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return builder(1, 1).apply(version);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<DeckSnapshot.View> first = executor.submit(() -> cache.getView(1, slowBuilder));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            Future<DeckSnapshot.View> second = executor.submit(() -> cache.getView(1, slowBuilder));
+            Future<DeckSnapshot.View> third = executor.submit(() -> cache.getView(1, slowBuilder));
+            release.countDown();
+
+            // Then
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+            assertEquals(1, second.get(5, TimeUnit.SECONDS).size());
+            assertEquals(1, third.get(5, TimeUnit.SECONDS).size());
+            assertEquals(1, builds.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void updateSchedule_ShouldApplyReviewWithoutRebuilding() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        DeckSnapshot.View original = cache.getView(1, builder(1, 1, 2));
+        Card reviewed = new Card("Question 2", "Answer 2");
+        reviewed.setId(2L);
+        reviewed.setDueAt(NOW.plusDays(1));
+
+        // When
+        cache.updateSchedule(1, reviewed);
+        DeckSnapshot.View updated = cache.getView(1, builder(1, 1, 2));
+
+        // Then
+        assertEquals(1, builds.get());
+        assertArrayEquals(new long[]{1}, updated.getDueCardIds(NOW, 10));
+        assertArrayEquals(new long[]{1}, original.getDueCardIds(NOW, 10));
+        assertEquals(NOW.plusDays(1), updated.getDueCards(null, NOW.plusDays(1), 10).get(1).getDueAt());
+    }
+
+    /**
+     * Run updateSchedule inside a simulated transaction that completes with the given status
+     */
+    private static void updateScheduleInTransaction(DeckSnapshotCache cache, long deckId, Card card, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.updateSchedule(deckId, card);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(status);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateSchedule_WhenTransactionCommits_ShouldApplyReview() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        cache.getView(1, builder(1, 1, 2));
+        Card reviewed = new Card("Question 2", "Answer 2");
+        reviewed.setId(2L);
+        reviewed.setDueAt(NOW.plusDays(1));
+
+        // When
+        updateScheduleInTransaction(cache, 1, reviewed, TransactionSynchronization.STATUS_COMMITTED);
+        DeckSnapshot.View updated = cache.getView(1, builder(1, 1, 2));
+
+        // Then
+        assertEquals(1, builds.get());
+        assertArrayEquals(new long[]{1}, updated.getDueCardIds(NOW, 10));
+    }
+
+    @Test
+    void updateSchedule_WhenTransactionRollsBack_ShouldDropSnapshotInsteadOfApplyingReview() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        cache.getView(1, builder(1, 1, 2));
+        Card reviewed = new Card("Question 2", "Answer 2");
+        reviewed.setId(2L);
+        reviewed.setDueAt(NOW.plusDays(1));
+
+        // When
+        updateScheduleInTransaction(cache, 1, reviewed, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertNull(cache.peekView(1));
+        DeckSnapshot.View rebuilt = cache.getView(1, builder(1, 1, 2));
+        assertEquals(2, builds.get());
+        assertArrayEquals(new long[]{1, 2}, rebuilt.getDueCardIds(NOW, 10));
+    }
+
+    @Test
+    void updateSchedule_WhenOverlayOutgrowsDeck_ShouldRebuildOnNextRead() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        long[] cardIds = new long[DeckSnapshotCache.MIN_OVERLAY_SIZE + 1];
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = i + 1;
+        }
+        cache.getView(1, builder(1, cardIds));
+
+        // When
+        for (long cardId : cardIds) {
+            Card reviewed = new Card("Question " + cardId, "Answer " + cardId);
+            reviewed.setId(cardId);
+            reviewed.setDueAt(NOW.plusDays(1));
+            cache.updateSchedule(1, reviewed);
+        }
+        DeckSnapshot.View rebuilt = cache.getView(1, builder(1, cardIds));
+
+        // Then
+        assertEquals(2, builds.get());
+        assertEquals(cardIds.length, rebuilt.size());
+    }
+
+    @Test
+    void updateSchedule_WithCardMissingFromSnapshot_ShouldRebuildOnNextRead() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        cache.getView(1, builder(1, 1, 2));
+        Card unknown = new Card("Question 9", "Answer 9");
+        unknown.setId(9L);
+
+        // When
+        cache.updateSchedule(1, unknown);
+        cache.getView(1, builder(1, 1, 2, 9));
+
+        // Then
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void peekView_ShouldOnlyReturnSnapshotsThatAreAlreadyBuilt() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+
+        // When
+        DeckSnapshot.View cold = cache.peekView(1);
+        cache.getView(1, builder(1, 1, 2));
+        DeckSnapshot.View warm = cache.peekView(1);
+        cache.invalidate(1L);
+        DeckSnapshot.View invalidated = cache.peekView(1);
+
+        // Then
+        assertNull(cold);
+        assertEquals(2, warm.size());
+        assertNull(invalidated);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void invalidateCard_ShouldOnlyDropTheDeckHoldingTheCard() {
+        // Given
+        DeckSnapshotCache cache = cache(10);
+        DeckSnapshot.View deckOne = cache.getView(1, builder(1, 1, 2));
+        DeckSnapshot.View deckTwo = cache.getView(2, builder(2, 3));
+
+        // When
+        cache.invalidateCard(3L);
+
+        // Then
+        cache.getView(1, builder(1, 1, 2));
+        assertEquals(2, builds.get());
+        cache.getView(2, builder(2, 3));
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void getView_WhenFull_ShouldEvictLeastRecentlyUsedDeck() {
+        // Given
+        DeckSnapshotCache cache = cache(2);
+        cache.getView(1, builder(1, 1));
+        cache.getView(2, builder(2, 2));
+        cache.getView(1, builder(1, 1));
+
+        // When
+        cache.getView(3, builder(3, 3));
+
+        // Then
+        assertEquals(2, cache.size());
+        cache.getView(1, builder(1, 1));
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void getView_WhenDisabledOrDeckTooLarge_ShouldReturnNull() {
+        // Given
+        DeckSnapshotCache disabled = cache(0);
+        DeckSnapshotCache enabled = cache(10);
+
+        // When & Then
+        assertNull(disabled.getView(1, builder(1, 1)));
+        assertNull(enabled.getView(1, version -> null));
+        assertEquals(0, builds.get());
+    }
+}
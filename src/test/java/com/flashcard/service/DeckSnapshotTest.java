@@ -0,0 +1,142 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private static Card card(long id, LocalDateTime dueAt) {
+        Card card = new Card("Question " + id, "Answer " + id);
+        card.setId(id);
+        card.setDueAt(dueAt);
+        return card;
+    }
+
+    /**
+     * Cards 1-3 are due, most overdue first; card 4 is due tomorrow and card 5 never
+     */
+    private static DeckSnapshot snapshot() {
+        return DeckSnapshot.builder(7L, 1, 2)
+                .add(card(1, NOW.minusDays(3)))
+                .add(card(2, NOW.minusDays(1)))
+                .add(card(3, NOW))
+                .add(card(4, NOW.plusDays(1)))
+                .add(card(5, null))
+                .build();
+    }
+
+    @Test
+    void getDueCards_ShouldReturnFreshCopiesOfDueCardsMostOverdueFirst() {
+        // Given
+        DeckSnapshot.View view = snapshot().view(new ScheduleOverlay());
+        Deck deck = new Deck("Deck");
+
+        // When
+        List<Card> cards = view.getDueCards(deck, NOW, 10);
+        cards.get(0).setQuestion("changed by a quiz");
+
+        // Then
+        assertEquals(5, view.size());
+        assertEquals(3, view.countDue(NOW));
+        assertEquals(List.of(1L, 2L, 3L), cards.stream().map(Card::getId).toList());
+        assertSame(deck, cards.get(0).getDeck());
+        assertEquals("answer 2", cards.get(1).getNormalizedAnswer());
+        assertEquals("Question 1", view.getDueCards(deck, NOW, 1).get(0).getQuestion());
+        assertArrayEquals(new long[]{1, 2}, view.getDueCardIds(NOW, 2));
+        assertEquals(NOW.minusDays(3), view.getNextDueAt().orElseThrow());
+    }
+
+    @Test
+    void view_WithReviewedCard_ShouldMoveItToItsNewDuePosition() {
+        // Given
+        DeckSnapshot snapshot = snapshot();
+        ScheduleOverlay overlay = new ScheduleOverlay();
+        Card reviewed = card(1, NOW.plusDays(2));
+        reviewed.setIntervalDays(2);
+        reviewed.setRepetitions(1);
+
+        // When
+        overlay.put(reviewed);
+        DeckSnapshot.View view = snapshot.view(overlay);
+
+        // Then
+        assertEquals(2, view.countDue(NOW));
+        assertArrayEquals(new long[]{2, 3}, view.getDueCardIds(NOW, 10));
+        assertArrayEquals(new long[]{2, 3, 4, 1}, view.getDueCardIds(NOW.plusDays(2), 10));
+        assertEquals(NOW.minusDays(1), view.getNextDueAt().orElseThrow());
+        Card copy = view.getDueCards(new Deck("Deck"), NOW.plusDays(2), 10).get(3);
+        assertEquals(2, copy.getIntervalDays());
+        assertEquals(1, copy.getRepetitions());
+        assertEquals("Question 1", copy.getQuestion());
+        assertArrayEquals(new long[]{1, 2, 3}, snapshot.view(new ScheduleOverlay()).getDueCardIds(NOW, 10));
+    }
+
+    @Test
+    void view_WhenReviewedCardBecomesMoreOverdue_ShouldMoveItForward() {
+        // Given
+        ScheduleOverlay overlay = new ScheduleOverlay();
+        overlay.put(card(4, NOW.minusDays(2)));
+        overlay.put(card(5, NOW.minusDays(5)));
+
+        // When
+        DeckSnapshot.View view = snapshot().view(overlay);
+
+        // Then
+        assertEquals(5, view.countDue(NOW));
+        assertArrayEquals(new long[]{5, 1, 4, 2, 3}, view.getDueCardIds(NOW, 10));
+        assertArrayEquals(new long[]{5, 1}, view.getDueCardIds(NOW, 2));
+        assertEquals(NOW.minusDays(5), view.getNextDueAt().orElseThrow());
+    }
+
+    @Test
+    void getCardsByIds_ShouldReturnPageInRequestedOrderSkippingUnknownIds() {
+        // Given
+        ScheduleOverlay overlay = new ScheduleOverlay();
+        Card reviewed = card(4, NOW.plusDays(6));
+        reviewed.setLapses(1);
+        overlay.put(reviewed);
+        DeckSnapshot.View view = snapshot().view(overlay);
+        Deck deck = new Deck("Deck");
+        long[] ids = {5, 4, 99, 1, 3};
+
+        // When
+        List<Card> page = view.getCardsByIds(ids, 1, 5, deck);
+
+        // Then
+        assertEquals(List.of(4L, 1L, 3L), page.stream().map(Card::getId).toList());
+        assertEquals(NOW.plusDays(6), page.get(0).getDueAt());
+        assertEquals(1, page.get(0).getLapses());
+        assertSame(deck, page.get(1).getDeck());
+    }
+
+    @Test
+    void contains_ShouldLookUpCardsById() {
+        // When
+        DeckSnapshot snapshot = snapshot();
+
+        // Then
+        assertTrue(snapshot.contains(5));
+        assertEquals(3, snapshot.indexOf(4));
+        assertFalse(snapshot.contains(99));
+        assertEquals(-1, snapshot.indexOf(0));
+    }
+
+    @Test
+    void getNextDueAt_WithEmptyDeck_ShouldBeEmpty() {
+        // When
+        DeckSnapshot.View view = DeckSnapshot.builder(7L, 1, 0).build().view(new ScheduleOverlay());
+
+        // Then
+        assertEquals(0, view.size());
+        assertTrue(view.getNextDueAt().isEmpty());
+        assertEquals(0, view.getDueCardIds(NOW, 10).length);
+    }
+}
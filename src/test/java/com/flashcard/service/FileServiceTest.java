@@ -0,0 +1,425 @@
+package com.flashcard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.DirectoryImportSummary;
+import com.flashcard.model.dto.MergeImportResult;
+import com.flashcard.model.dto.ValidatedImportResult;
+import com.flashcard.util.CardHashIndex;
+import com.flashcard.util.ContentHash;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileServiceTest {
+
+    @Mock
+    private DeckService deckService;
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    Path tempDir;
+
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        fileService = new FileService(new ObjectMapper(), deckService, cardService,
+                new FlashcardProperties(), entityManager);
+    }
+
+    private static Deck deck(long id, String name) {
+        Deck deck = new Deck(name);
+        deck.setId(id);
+        return deck;
+    }
+
+    /**
+     * Collect every card handed to createCards, copying each batch since the importer reuses it
+     */
+    @SuppressWarnings("unchecked")
+    private List<CardExportData> capturedCreatedCards() {
+        List<CardExportData> cards = new ArrayList<>();
+        doAnswer(invocation -> {
+            cards.addAll(invocation.getArgument(1, List.class));
+            return List.of();
+        }).when(cardService).createCards(any(Deck.class), anyCollection());
+        return cards;
+    }
+
+    @Test
+    void importDeckFromJson_WithoutJsonExtension_ShouldStillParseJson() throws Exception {
+        // Given
+        Path file = tempDir.resolve("deck.txt");
+        Files.writeString(file, "{\"name\":\"Capitals\",\"cards\":[{\"question\":\"France\",\"answer\":\"Paris\"}]}");
+        Deck deck = deck(1L, "Capitals");
+        when(deckService.createDeckWithUniqueName("Capitals")).thenReturn(deck);
+        List<CardExportData> cards = capturedCreatedCards();
+
+        // When
+        Deck result = fileService.importDeckFromJson(file.toString());
+
+        // Then
+        assertSame(deck, result);
+        assertEquals(1, cards.size());
+        assertEquals("Paris", cards.get(0).getAnswer());
+    }
+
+    @Test
+    void importDeckFromCsv_WithJsonExtension_ShouldParseCsvAndUseDeckName() throws Exception {
+        // Given
+        Path file = tempDir.resolve("exported.json");
+        Files.writeString(file, "Question,Answer\nFrance,Paris\nItaly,Rome\n");
+        Deck deck = deck(1L, "Typed Name");
+        when(deckService.createDeckWithUniqueName("Typed Name")).thenReturn(deck);
+        List<CardExportData> cards = capturedCreatedCards();
+
+        // When
+        Deck result = fileService.importDeckFromCsv(file.toString(), "Typed Name");
+
+        // Then
+        assertSame(deck, result);
+        assertEquals(List.of("France", "Italy"), cards.stream().map(CardExportData::getQuestion).toList());
+    }
+
+    @Test
+    void importDirectory_ShouldDetectEachFileFormatFromItsExtension() throws Exception {
+        // Given
+        Files.writeString(tempDir.resolve("capitals.csv"), "Question,Answer\nFrance,Paris\n");
+        Files.writeString(tempDir.resolve("rivers.json"),
+                "{\"name\":\"Rivers\",\"cards\":[{\"question\":\"Longest\",\"answer\":\"Nile\"}]}");
+        Files.writeString(tempDir.resolve("notes.txt"), "not a deck");
+        when(deckService.createDeckWithUniqueName(anyString()))
+                .thenAnswer(invocation -> deck(1L, invocation.getArgument(0)));
+        ArgumentCaptor<Deck> decks = ArgumentCaptor.forClass(Deck.class);
+
+        // When
+        DirectoryImportSummary summary = fileService.importDirectory(tempDir.toString());
+
+        // Then
+        assertEquals(2, summary.getResults().size());
+        verify(cardService, times(2)).createCards(decks.capture(), anyCollection());
+        assertEquals(List.of("Rivers", "capitals"), decks.getAllValues().stream().map(Deck::getName).sorted().toList());
+    }
+
+    /**
+     * Validate like CardService, rejecting answers spelled "INVALID"
+     */
+    private void stubValidation() {
+        when(cardService.prepareUnassignedCard(anyString(), anyString())).thenAnswer(invocation -> {
+            String answer = invocation.getArgument(1);
+            if (answer.equals("INVALID")) {
+                throw new IllegalArgumentException("Answer is invalid");
+            }
+            return new Card(invocation.getArgument(0), answer);
+        });
+    }
+
+    private Path writeValidationDeck() throws Exception {
+        Path file = tempDir.resolve("geography.json");
+        Files.writeString(file, """
+                {"name": "From File", "cards": [
+                {"question": "France", "answer": "Paris"},
+                {"question": "Spain", "answer": "INVALID"},
+                {"question": "Italy", "answer": "Rome"}
+                ]}
+                """);
+        return file;
+    }
+
+    @Test
+    void importDeckWithValidation_WithDeckName_ShouldUseItOverNameInFile() throws Exception {
+        // Given
+        Path file = writeValidationDeck();
+        stubValidation();
+        when(deckService.createDeckWithUniqueName("Typed Name")).thenReturn(deck(1L, "Typed Name"));
+
+        // When
+        ValidatedImportResult result = fileService.importDeckWithValidation(file.toString(), " Typed Name ", true);
+
+        // Then
+        assertEquals("Typed Name", result.getDeckName());
+    }
+
+    @Test
+    void importDeckWithValidation_WithoutDeckName_ShouldUseNameInFile() throws Exception {
+        // Given
+        Path file = writeValidationDeck();
+        stubValidation();
+        when(deckService.createDeckWithUniqueName("From File")).thenReturn(deck(1L, "From File"));
+
+        // When
+        ValidatedImportResult result = fileService.importDeckWithValidation(file.toString(), "", true);
+
+        // Then
+        assertEquals("From File", result.getDeckName());
+    }
+
+    @Test
+    void importDeckWithValidation_WithSkipInvalid_ShouldSaveValidCardsAndReportErrors() throws Exception {
+        // Given
+        Path file = writeValidationDeck();
+        stubValidation();
+        Deck deck = deck(1L, "From File");
+        when(deckService.createDeckWithUniqueName("From File")).thenReturn(deck);
+        ArgumentCaptor<List<Card>> saved = ArgumentCaptor.forClass(List.class);
+
+        // When
+        ValidatedImportResult result = fileService.importDeckWithValidation(file.toString(), null, true);
+
+        // Then
+        verify(cardService).saveCardsInSingleTransaction(eq(deck), saved.capture(), anyInt());
+        assertEquals(List.of("France", "Italy"), saved.getValue().stream().map(Card::getQuestion).toList());
+        assertTrue(result.isImported());
+        assertEquals(3, result.getRecordCount());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("Answer is invalid", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importDeckWithValidation_WithErrorsAndNoSkip_ShouldNotCreateDeck() throws Exception {
+        // Given
+        Path file = writeValidationDeck();
+        stubValidation();
+
+        // When
+        ValidatedImportResult result = fileService.importDeckWithValidation(file.toString(), null, false);
+
+        // Then
+        assertFalse(result.isImported());
+        assertEquals(0, result.getImportedCount());
+        assertEquals(1, result.getErrors().size());
+        verify(deckService, never()).createDeckWithUniqueName(anyString());
+        verify(cardService, never()).saveCardsInSingleTransaction(any(), anyList(), anyInt());
+    }
+
+    @Test
+    void importDeckWithValidation_WhenSavingFails_ShouldDeleteCreatedDeck() throws Exception {
+        // Given
+        Path file = writeValidationDeck();
+        stubValidation();
+        when(deckService.createDeckWithUniqueName("From File")).thenReturn(deck(5L, "From File"));
+        when(cardService.saveCardsInSingleTransaction(any(Deck.class), anyList(), anyInt()))
+                .thenThrow(new IllegalStateException("Disk full"));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> fileService.importDeckWithValidation(file.toString(), null, true));
+        assertEquals("Disk full", exception.getMessage());
+        verify(deckService).deleteDeck(5L);
+    }
+
+    private static CardHashIndex hashIndex(long firstCardId, String... questionsAndAnswers) {
+        CardHashIndex index = new CardHashIndex();
+        for (int i = 0; i < questionsAndAnswers.length; i += 2) {
+            String question = questionsAndAnswers[i];
+            index.addCard(firstCardId + i / 2, ContentHash.ofQuestion(question),
+                    ContentHash.ofCard(question, questionsAndAnswers[i + 1]));
+        }
+        return index;
+    }
+
+    @Test
+    void mergeDeckFromFile_ShouldClassifyInsertedUpdatedAndUnchangedCards() throws Exception {
+        // Given
+        Path file = tempDir.resolve("capitals.csv");
+        Files.writeString(file, "Question,Answer\nFrance,Paris\nItaly,Rome\nSpain,Madrid\n");
+        Deck deck = deck(3L, "capitals");
+        when(deckService.findDeckByName("capitals")).thenReturn(Optional.of(deck));
+        when(cardService.loadHashIndex(deck)).thenReturn(hashIndex(7L, "france", "Paris", "Italy", "Milan"));
+
+        // When
+        MergeImportResult result = fileService.mergeDeckFromFile(file.toString(), null);
+
+        // Then
+        assertFalse(result.isDeckCreated());
+        assertEquals(1, result.getInsertedCount());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(1, result.getUnchangedCount());
+        verify(cardService).mergeCards(eq(deck),
+                argThat(cards -> cards.size() == 1 && cards.iterator().next().getQuestion().equals("Spain")),
+                eq(Map.of(8L, "Rome")));
+        verify(deckService, never()).createDeck(anyString());
+    }
+
+    @Test
+    void mergeDeckFromFile_WithAnswerCaseFixed_ShouldUpdateCard() throws Exception {
+        // Given
+        Path file = tempDir.resolve("languages.csv");
+        Files.writeString(file, "Question,Answer\nMost popular .NET language,C#\n");
+        Deck deck = deck(3L, "languages");
+        when(deckService.findDeckByName("languages")).thenReturn(Optional.of(deck));
+        when(cardService.loadHashIndex(deck)).thenReturn(hashIndex(7L, "Most popular .NET language", "c#"));
+
+        // When
+        MergeImportResult result = fileService.mergeDeckFromFile(file.toString(), null);
+
+        // Then
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(0, result.getUnchangedCount());
+        verify(cardService).mergeCards(deck, List.of(), Map.of(7L, "C#"));
+    }
+
+    @Test
+    void mergeDeckFromFile_ShouldSaveEachBatchAndSkipRepeatsFromEarlierBatches() throws Exception {
+        // Given
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getFile().setImportBatchSize(2);
+        fileService = new FileService(new ObjectMapper(), deckService, cardService, properties, entityManager);
+        Path file = tempDir.resolve("capitals.csv");
+        Files.writeString(file, "Question,Answer\nFrance,Paris\nItaly,Rome\nFrance,Paris\nSpain,Madrid\nItaly,Turin\n");
+        Deck deck = deck(4L, "capitals");
+        when(deckService.findDeckByName("capitals")).thenReturn(Optional.empty());
+        when(deckService.createDeck("capitals")).thenReturn(deck);
+        List<List<String>> batches = new ArrayList<>();
+        stubMergeCards(deck, batches, new ArrayList<>());
+
+        // When
+        MergeImportResult result = fileService.mergeDeckFromFile(file.toString(), null);
+
+        // Then: the repeated France row and the second Italy answer cross a batch boundary
+        assertTrue(result.isDeckCreated());
+        assertEquals(List.of(List.of("France", "Italy"), List.of("Spain")), batches);
+        assertEquals(3, result.getInsertedCount());
+        assertEquals(0, result.getUpdatedCount());
+        assertEquals(2, result.getUnchangedCount());
+        verify(cardService, never()).loadHashIndex(any());
+    }
+
+    @Test
+    void mergeDeckFromFile_WithRepeatsInLaterBatches_ShouldWriteEachCardOnce() throws Exception {
+        // Given
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getFile().setImportBatchSize(2);
+        fileService = new FileService(new ObjectMapper(), deckService, cardService, properties, entityManager);
+        Path file = tempDir.resolve("capitals.csv");
+        Files.writeString(file, "Question,Answer\nItaly,Rome\nSpain,Madrid\nItaly,Rome\nItaly,Naples\n"
+                + "Spain,Madrid\nSpain,Seville\n");
+        Deck deck = deck(3L, "capitals");
+        when(deckService.findDeckByName("capitals")).thenReturn(Optional.of(deck));
+        when(cardService.loadHashIndex(deck)).thenReturn(hashIndex(7L, "Italy", "Milan"));
+        List<List<String>> batches = new ArrayList<>();
+        List<Map<Long, String>> changes = new ArrayList<>();
+        stubMergeCards(deck, batches, changes);
+
+        // When
+        MergeImportResult result = fileService.mergeDeckFromFile(file.toString(), null);
+
+        // Then
+        assertEquals(1, result.getInsertedCount());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(4, result.getUnchangedCount());
+        assertEquals(List.of(List.of("Spain")), batches);
+        assertEquals(List.of(Map.of(7L, "Rome")), changes);
+    }
+
+    /**
+     * Record every mergeCards call and return the new cards with IDs from 100 on
+     */
+    private void stubMergeCards(Deck deck, List<List<String>> batches, List<Map<Long, String>> changes) {
+        doAnswer(invocation -> {
+            Collection<CardExportData> cards = invocation.getArgument(1);
+            batches.add(cards.stream().map(CardExportData::getQuestion).toList());
+            changes.add(Map.copyOf(invocation.getArgument(2)));
+            List<Card> inserted = new ArrayList<>();
+            for (CardExportData data : cards) {
+                Card card = new Card(data.getQuestion(), data.getAnswer(), deck);
+                card.setId(100L + batches.stream().mapToInt(List::size).sum() + inserted.size());
+                inserted.add(card);
+            }
+            return inserted;
+        }).when(cardService).mergeCards(eq(deck), anyCollection(), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importDeckFromLargeCsv_WithPreserveOrder_ShouldStampCreationTimesInFileOrder() throws Exception {
+        // Given
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getFile().setLargeImportChunkSize(64);
+        properties.getFile().setImportThreads(4);
+        fileService = new FileService(new ObjectMapper(), deckService, cardService, properties, entityManager);
+        StringBuilder csv = new StringBuilder("Question,Answer\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("Question ").append(i).append(",Answer ").append(i).append('\n');
+        }
+        Path file = tempDir.resolve("large.csv");
+        Files.writeString(file, csv);
+        Deck deck = deck(6L, "Large");
+        when(deckService.createDeckWithUniqueName("Large")).thenReturn(deck);
+        when(cardService.prepareCard(anyString(), anyString(), eq(deck))).thenAnswer(invocation -> {
+            Card card = new Card(invocation.getArgument(0), invocation.getArgument(1), deck);
+            card.setCreatedAt(LocalDateTime.MAX);
+            return card;
+        });
+        List<Card> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0, Collection.class));
+            return List.of();
+        }).when(cardService).saveCards(anyCollection());
+
+        // When
+        fileService.importDeckFromLargeCsv(file.toString(), "Large", true);
+
+        // Then
+        assertEquals(200, saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Card card = saved.get(i);
+            assertEquals("Question " + i, card.getQuestion());
+            assertEquals(card.getCreatedAt(), card.getDueAt());
+            if (i > 0) {
+                assertTrue(card.getCreatedAt().isAfter(saved.get(i - 1).getCreatedAt()));
+            }
+        }
+    }
+
+    @Test
+    void exportDeckToBinary_WhenStreamFails_ShouldDeletePartialFile() throws Exception {
+        // Given
+        Path file = tempDir.resolve("deck.fcdk");
+        Deck deck = deck(2L, "Capitals");
+        Card card = new Card("France", "Paris", deck);
+        when(cardService.streamCardsByDeck(deck)).thenReturn(Stream.of(card, null).map(next -> {
+            if (next == null) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return next;
+        }));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> fileService.exportDeckToBinary(deck, file.toString(), true));
+        assertEquals("Connection lost", exception.getMessage());
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,86 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterleaveStrategyTest {
+
+    // Cards 1-6 belong to deck 10, cards 7-8 to deck 20 and card 9 to deck 30; card IDs encode the deck
+    private static final long[] CARD_IDS = {1, 7, 2, 3, 9, 4, 8, 5, 6};
+    private static final long[] DECK_IDS = {10, 20, 10, 10, 30, 10, 20, 10, 10};
+
+    private static long deckOf(long cardId) {
+        return cardId <= 6 ? 10 : cardId <= 8 ? 20 : 30;
+    }
+
+    @Test
+    void interleave_ShouldKeepEveryCardOnceForEachStrategy() {
+        for (InterleaveStrategy strategy : InterleaveStrategy.values()) {
+            // When
+            long[] order = strategy.interleave(CARD_IDS, DECK_IDS, new SplittableRandom(1));
+
+            // Then
+            Set<Long> cards = new HashSet<>();
+            Arrays.stream(order).forEach(cards::add);
+            assertEquals(9, order.length, strategy.name());
+            assertEquals(9, cards.size(), strategy.name());
+        }
+    }
+
+    @Test
+    void interleave_WithRoundRobin_ShouldTakeOneCardFromEachDeckInTurn() {
+        // When
+        long[] order = InterleaveStrategy.ROUND_ROBIN.interleave(CARD_IDS, DECK_IDS, new SplittableRandom(2));
+
+        // Then: decks in order of first appearance, skipping those that ran out
+        long[] decks = Arrays.stream(order).map(InterleaveStrategyTest::deckOf).toArray();
+        assertArrayEquals(new long[]{10, 20, 30, 10, 20, 10, 10, 10, 10}, decks);
+    }
+
+    @Test
+    void interleave_WithProportional_ShouldSpreadEachDeckEvenly() {
+        // Given: 300 cards of deck 1 and 100 of deck 2
+        long[] cardIds = new long[400];
+        long[] deckIds = new long[400];
+        for (int i = 0; i < 400; i++) {
+            cardIds[i] = i;
+            deckIds[i] = i < 300 ? 1 : 2;
+        }
+
+        // When
+        long[] order = InterleaveStrategy.PROPORTIONAL.interleave(cardIds, deckIds, new SplittableRandom(3));
+
+        // Then: every window of four cards holds exactly one card of the smaller deck
+        for (int window = 0; window < 400; window += 4) {
+            int fromSmallDeck = 0;
+            for (int i = window; i < window + 4; i++) {
+                if (order[i] >= 300) {
+                    fromSmallDeck++;
+                }
+            }
+            assertEquals(1, fromSmallDeck, "window at " + window);
+        }
+    }
+
+    @Test
+    void interleave_WithSameSeed_ShouldReproduceOrder() {
+        for (InterleaveStrategy strategy : InterleaveStrategy.values()) {
+            // When & Then
+            assertArrayEquals(strategy.interleave(CARD_IDS, DECK_IDS, new SplittableRandom(5)),
+                    strategy.interleave(CARD_IDS, DECK_IDS, new SplittableRandom(5)), strategy.name());
+        }
+    }
+
+    @Test
+    void interleave_WithMismatchedArrays_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> InterleaveStrategy.RANDOM.interleave(new long[]{1, 2}, new long[]{1}, new SplittableRandom(1)));
+    }
+}
@@ -0,0 +1,255 @@
+package com.flashcard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.FileJob;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.JobInfo;
+import com.flashcard.repository.FileJobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    @Mock
+    private DeckService deckService;
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private FileJobRepository jobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<Long, FileJob> storedJobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextJobId = new AtomicLong();
+    private final Deck deck = new Deck("Capitals");
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        deck.setId(7L);
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getFile().setImportBatchSize(2);
+        properties.getJobs().setThreads(1);
+
+        // In-memory job table
+        lenient().when(jobRepository.save(any(FileJob.class))).thenAnswer(invocation -> {
+            FileJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(nextJobId.incrementAndGet());
+            }
+            storedJobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(jobRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedJobs.get(invocation.<Long>getArgument(0))));
+        lenient().when(jobRepository.updateCheckpoint(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            storedJobs.get(invocation.<Long>getArgument(0)).setRecordsCommitted(invocation.getArgument(1));
+            return 1;
+        });
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        FileService fileService = new FileService(new ObjectMapper(), deckService, cardService, properties, entityManager);
+        jobService = new JobService(fileService, deckService, cardService, jobRepository, properties, transactionManager);
+        jobService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.stop();
+    }
+
+    private Path writeCsv(int cards) throws Exception {
+        StringBuilder csv = new StringBuilder("Question,Answer\n");
+        for (int i = 1; i <= cards; i++) {
+            csv.append("Q").append(i).append(",A").append(i).append('\n');
+        }
+        Path file = tempDir.resolve("capitals.csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    private JobInfo awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            JobInfo job = jobService.getJob(jobId).orElseThrow();
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + jobId + " did not finish");
+        return null;
+    }
+
+    private static List<String> questions(List<List<CardExportData>> batches) {
+        return batches.stream().flatMap(List::stream).map(CardExportData::getQuestion).toList();
+    }
+
+    @Test
+    void cancelJob_ShouldStopImportAfterCommittedBatchAndKeepCheckpoint() throws Exception {
+        // Given
+        Path file = writeCsv(6);
+        when(deckService.createDeckWithUniqueName("Capitals")).thenReturn(deck);
+        CountDownLatch firstBatchSaving = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        List<List<CardExportData>> saved = new ArrayList<>();
+        when(cardService.createCards(eq(deck), anyCollection())).thenAnswer(invocation -> {
+            saved.add(new ArrayList<>(invocation.<Collection<CardExportData>>getArgument(1)));
+            firstBatchSaving.countDown();
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+
+        // When
+        long jobId = jobService.submitImport(file.toString(), "Capitals");
+        assertTrue(firstBatchSaving.await(5, TimeUnit.SECONDS));
+        assertTrue(jobService.cancelJob(jobId));
+        cancelled.countDown();
+        JobInfo job = awaitFinished(jobId);
+
+        // Then
+        assertEquals(FileJob.Status.CANCELLED, job.getStatus());
+        assertEquals(2, job.getRecordsCommitted());
+        assertEquals(List.of("Q1", "Q2"), questions(saved));
+        assertEquals(7L, storedJobs.get(jobId).getDeckId());
+        assertFalse(jobService.cancelJob(jobId));
+    }
+
+    @Test
+    void resumeJob_ShouldContinueAfterCheckpointInTheSameDeck() throws Exception {
+        // Given
+        Path file = writeCsv(5);
+        when(deckService.createDeckWithUniqueName("Capitals")).thenReturn(deck);
+        when(deckService.findDeckById(7L)).thenReturn(Optional.of(deck));
+        List<List<CardExportData>> saved = new ArrayList<>();
+        when(cardService.createCards(eq(deck), anyCollection()))
+                .thenAnswer(invocation -> {
+                    saved.add(new ArrayList<>(invocation.<Collection<CardExportData>>getArgument(1)));
+                    return List.of();
+                })
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenAnswer(invocation -> {
+                    saved.add(new ArrayList<>(invocation.<Collection<CardExportData>>getArgument(1)));
+                    return List.of();
+                });
+        long jobId = jobService.submitImport(file.toString(), "Capitals");
+        JobInfo failed = awaitFinished(jobId);
+
+        // Simulate a restart so the failed run has fully stopped
+        jobService.stop();
+        jobService.start();
+
+        // When
+        jobService.resumeJob(jobId);
+        JobInfo resumed = awaitFinished(jobId);
+
+        // Then
+        assertEquals(FileJob.Status.FAILED, failed.getStatus());
+        assertEquals(2, failed.getRecordsCommitted());
+        assertEquals(FileJob.Status.COMPLETED, resumed.getStatus());
+        assertEquals(5, resumed.getRecordsCommitted());
+        assertEquals(List.of("Q1", "Q2", "Q3", "Q4", "Q5"), questions(saved));
+        verify(deckService, times(1)).createDeckWithUniqueName(anyString());
+    }
+
+    @Test
+    void resumeJob_WithCompletedJob_ShouldThrowException() throws Exception {
+        // Given
+        Path file = writeCsv(1);
+        when(deckService.createDeckWithUniqueName("Capitals")).thenReturn(deck);
+        long jobId = jobService.submitImport(file.toString(), "Capitals");
+        awaitFinished(jobId);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> jobService.resumeJob(jobId));
+        assertEquals("Job " + jobId + " is COMPLETED and cannot be resumed", exception.getMessage());
+    }
+
+    @Test
+    void submitExport_ShouldReplaceTargetOnlyOnceFileIsComplete() throws Exception {
+        // Given
+        Path target = tempDir.resolve("out/capitals.csv");
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, "old export");
+        when(deckService.findDeckById(7L)).thenReturn(Optional.of(deck));
+        when(cardService.getCardCount(deck)).thenReturn(2L);
+        when(cardService.streamCardsByDeck(deck))
+                .thenReturn(Stream.of(new Card("France", "Paris"), new Card("Italy", "Rome")));
+
+        // When
+        long jobId = jobService.submitExport(deck, target.toString(), false);
+        JobInfo job = awaitFinished(jobId);
+
+        // Then
+        assertEquals(FileJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRecordsCommitted());
+        assertEquals("Question,Answer\nFrance,Paris\nItaly,Rome\n",
+                Files.readString(target).replace(System.lineSeparator(), "\n"));
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals(List.of(target), files.toList());
+        }
+    }
+
+    @Test
+    void submitExport_WhenExportFails_ShouldKeepOldFileAndRemoveTemporaryFile() throws Exception {
+        // Given
+        Path target = tempDir.resolve("capitals.csv");
+        Files.writeString(target, "old export");
+        when(deckService.findDeckById(7L)).thenReturn(Optional.of(deck));
+        when(cardService.streamCardsByDeck(deck)).thenReturn(Stream.of(new Card("France", "Paris"))
+                .peek(card -> {
+                    throw new IllegalStateException("Connection lost");
+                }));
+
+        // When
+        long jobId = jobService.submitExport(deck, target.toString(), false);
+        JobInfo job = awaitFinished(jobId);
+
+        // Then
+        assertEquals(FileJob.Status.FAILED, job.getStatus());
+        assertEquals("Connection lost", job.getErrorMessage());
+        assertEquals("old export", Files.readString(target));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(target), files.toList());
+        }
+    }
+}
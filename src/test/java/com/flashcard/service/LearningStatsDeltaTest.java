@@ -0,0 +1,70 @@
+package com.flashcard.service;
+
+import com.flashcard.model.LearningStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LearningStatsDeltaTest {
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    /**
+     * Rolling accuracy computed one answer at a time
+     */
+    private static double rolling(Double stored, boolean... answers) {
+        Double value = stored;
+        for (boolean answer : answers) {
+            double x = answer ? 1 : 0;
+            value = value == null ? x : value * (1 - LearningStats.ROLLING_ACCURACY_WEIGHT)
+                    + LearningStats.ROLLING_ACCURACY_WEIGHT * x;
+        }
+        return value;
+    }
+
+    @Test
+    void add_ShouldAccumulateCountersAndLatestReview() {
+        // Given
+        LearningStatsDelta delta = new LearningStatsDelta();
+
+        // When
+        delta.add(true, 1000L, start.plusMinutes(2));
+        delta.add(false, null, start);
+        delta.add(true, 3000L, start.plusMinutes(1));
+
+        // Then
+        assertEquals(3, delta.getAttempts());
+        assertEquals(2, delta.getCorrectCount());
+        assertEquals(4000, delta.getResponseMillisTotal());
+        assertEquals(2, delta.getResponseCount());
+        assertEquals(start.plusMinutes(2), delta.getLastReviewedAt());
+    }
+
+    @Test
+    void applyRollingAccuracy_ShouldMatchAnswerByAnswerUpdate() {
+        // Given
+        boolean[] answers = {true, false, false, true, true, true, false};
+        LearningStatsDelta delta = new LearningStatsDelta();
+        for (boolean answer : answers) {
+            delta.add(answer, null, start);
+        }
+
+        // When & Then
+        assertEquals(rolling(null, answers), delta.applyRollingAccuracy(null), 1e-12);
+        assertEquals(rolling(0.42, answers), delta.applyRollingAccuracy(0.42), 1e-12);
+    }
+
+    @Test
+    void learningStats_ShouldDeriveAccuracyAndAverageResponseTime() {
+        // Given
+        LearningStats stats = new LearningStats(4, 3, 6000, 3, 0.8, start);
+
+        // When & Then
+        assertEquals(0.75, stats.getAccuracy());
+        assertEquals(2000.0, stats.getAverageResponseMillis());
+        assertNull(new LearningStats().getAccuracy());
+        assertEquals(0, new LearningStats().getAttempts());
+    }
+}
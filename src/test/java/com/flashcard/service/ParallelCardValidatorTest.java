@@ -0,0 +1,74 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.dto.ImportRecordError;
+import com.flashcard.repository.CardRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ParallelCardValidatorTest {
+
+    private ForkJoinPool pool;
+    private ParallelCardValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        CardService cardService = new CardService(mock(CardRepository.class), mock(Validator.class),
+                mock(EntityManager.class), mock(AnswerMatcherCache.class), mock(DeckSnapshotCache.class));
+        validator = new ParallelCardValidator(cardService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void validate_WithInvalidRecordsAcrossSplits_ShouldReportEveryErrorInFileOrder() {
+        // Given
+        List<ParallelCardValidator.Record> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String answer = i % 1000 == 7 ? " " : "a" + i;
+            records.add(new ParallelCardValidator.Record(i + 2, "q" + i, answer));
+        }
+
+        // When
+        ParallelCardValidator.Result result = validator.validate(records, pool);
+
+        // Then
+        assertEquals(4995, result.getCards().size());
+        assertEquals(List.of(9L, 1009L, 2009L, 3009L, 4009L),
+                result.getErrors().stream().map(ImportRecordError::getLine).toList());
+        assertEquals("Answer cannot be empty", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void validate_WithValidRecords_ShouldReturnTrimmedCardsWithoutDeckInOrder() {
+        // Given
+        List<ParallelCardValidator.Record> records = List.of(
+                new ParallelCardValidator.Record(2, "  first ", " one "),
+                new ParallelCardValidator.Record(3, "second", "two"));
+
+        // When
+        ParallelCardValidator.Result result = validator.validate(records, pool);
+
+        // Then
+        assertTrue(result.getErrors().isEmpty());
+        List<Card> cards = result.getCards();
+        assertEquals("first", cards.get(0).getQuestion());
+        assertEquals("one", cards.get(0).getAnswer());
+        assertEquals("second", cards.get(1).getQuestion());
+        assertNull(cards.get(0).getDeck());
+    }
+}
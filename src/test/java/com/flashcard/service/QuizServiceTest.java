@@ -0,0 +1,190 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.dto.DueCardIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizServiceTest {
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private AnswerMatcherCache answerMatcherCache;
+
+    @Mock
+    private ReviewLogWriter reviewLogWriter;
+
+    @Mock
+    private DeckSnapshotCache deckSnapshotCache;
+
+    private FlashcardProperties properties;
+    private QuizService quizService;
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FlashcardProperties();
+        quizService = new QuizService(cardService, new SpacedRepetitionScheduler(), properties, answerMatcherCache,
+                new QuizSessionRegistry(properties), reviewLogWriter, deckSnapshotCache);
+        quizService.start();
+
+        deck = new Deck("Capitals");
+        deck.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        quizService.stop();
+    }
+
+    private Card card(long id, String question, String answer) {
+        Card card = new Card(question, answer, deck);
+        card.setId(id);
+        return card;
+    }
+
+    private static boolean isAboutNow(LocalDateTime time) {
+        return Math.abs(ChronoUnit.SECONDS.between(time, LocalDateTime.now())) < 5;
+    }
+
+    @Test
+    void startQuizSession_WithoutSnapshot_ShouldQueryDueCardsUpToSessionSize() {
+        // Given
+        List<Card> due = List.of(card(1L, "France", "Paris"), card(2L, "Italy", "Rome"), card(3L, "Spain", "Madrid"));
+        when(cardService.getDueCards(eq(deck), argThat(QuizServiceTest::isAboutNow), eq(quizService.getSessionSize())))
+                .thenReturn(new ArrayList<>(due));
+
+        // When
+        List<Card> result = quizService.startQuizSession(deck);
+
+        // Then
+        assertEquals(3, result.size());
+        assertTrue(result.containsAll(due));
+        verify(deckSnapshotCache).getView(eq(1L), any());
+    }
+
+    @Test
+    void startQuizSession_WithNoCardsDue_ShouldReportNextReview() {
+        // Given
+        when(cardService.getDueCards(eq(deck), any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+        when(cardService.getNextDueAt(deck)).thenReturn(Optional.of(LocalDateTime.of(2024, 5, 1, 9, 30)));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> quizService.startQuizSession(deck));
+        assertEquals("No cards in deck 'Capitals' are due. Next review: 2024-05-01 09:30", exception.getMessage());
+    }
+
+    @Test
+    void startQuizSession_WithEmptyDeck_ShouldReportNoCards() {
+        // Given
+        when(cardService.getDueCards(eq(deck), any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+        when(cardService.getNextDueAt(deck)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> quizService.startQuizSession(deck));
+        assertEquals("Deck 'Capitals' contains no cards", exception.getMessage());
+    }
+
+    @Test
+    void openQuizSession_ShouldQueryDueCardIdsUpToMaxSessionCards() {
+        // Given
+        properties.getQuiz().setMaxSessionCards(2);
+        when(cardService.getDueCardIds(eq(deck), argThat(QuizServiceTest::isAboutNow), eq(2)))
+                .thenReturn(new long[]{4L, 5L});
+
+        // When
+        QuizSession session = quizService.openQuizSession(deck, 10, 42L);
+
+        // Then
+        assertEquals(2, session.size());
+        assertEquals(42L, session.getSeed());
+        assertTrue(quizService.getQuizSession(session.getId()).isPresent());
+        verify(cardService, never()).getDueCards(any(Deck.class), any(), anyInt());
+    }
+
+    @Test
+    void openQuizSession_WithNoCardsDueInAnyDeck_ShouldReportNextReview() {
+        // Given
+        Deck other = new Deck("Rivers");
+        other.setId(2L);
+        List<Deck> decks = List.of(deck, other);
+        when(cardService.getDueCardIds(eq(decks), any(LocalDateTime.class), anyInt()))
+                .thenReturn(new DueCardIds(new long[0], new long[0]));
+        when(cardService.getNextDueAt(decks)).thenReturn(Optional.of(LocalDateTime.of(2024, 5, 2, 18, 5)));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> quizService.openQuizSession(decks, 10, InterleaveStrategy.ROUND_ROBIN));
+        assertEquals("No cards in the selected decks are due. Next review: 2024-05-02 18:05", exception.getMessage());
+    }
+
+    @Test
+    void recordReview_WhenCorrect_ShouldScheduleNextReviewAndSave() {
+        // Given
+        Card card = card(1L, "France", "Paris");
+
+        // When
+        quizService.recordReview(card, true);
+
+        // Then
+        assertEquals(1, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        assertTrue(isAboutNow(card.getLastReviewedAt()));
+        assertEquals(card.getLastReviewedAt().plusDays(1), card.getDueAt());
+        verify(cardService).saveSchedule(card);
+    }
+
+    @Test
+    void recordReview_WhenIncorrect_ShouldResetRepetitionsAndCountLapse() {
+        // Given
+        Card card = card(1L, "France", "Paris");
+        card.setRepetitions(3);
+        card.setIntervalDays(15);
+        card.setLapses(0);
+
+        // When
+        quizService.recordReview(card, false);
+
+        // Then
+        assertEquals(0, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(1, card.getLapses());
+        assertTrue(card.getEaseFactor() < Card.INITIAL_EASE_FACTOR);
+        verify(cardService).saveSchedule(card);
+    }
+
+    @Test
+    void countDueCards_WithoutBuiltSnapshot_ShouldQueryWithoutBuildingOne() {
+        // Given
+        when(cardService.countDueCards(eq(deck), any(LocalDateTime.class))).thenReturn(4L);
+
+        // When
+        long result = quizService.countDueCards(deck);
+
+        // Then
+        assertEquals(4L, result);
+        verify(deckSnapshotCache).peekView(1L);
+        verify(deckSnapshotCache, never()).getView(anyLong(), any());
+    }
+}
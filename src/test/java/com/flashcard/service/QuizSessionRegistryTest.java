@@ -0,0 +1,99 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizSessionRegistryTest {
+
+    private QuizSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getQuiz().setMaxActiveSessions(3);
+        registry = new QuizSessionRegistry(properties);
+    }
+
+    private QuizSession newSession(long id) {
+        return new QuizSession(id, id, new long[]{1, 2}, 10, (ids, from, to) -> List.of(), Runnable::run);
+    }
+
+    @Test
+    void open_ShouldAssignUniqueIdsAndRegisterSession() {
+        // When
+        QuizSession first = registry.open(this::newSession);
+        QuizSession second = registry.open(this::newSession);
+
+        // Then
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(first, registry.get(first.getId()).orElseThrow());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void open_WhenFull_ShouldThrowException() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            registry.open(this::newSession);
+        }
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> registry.open(this::newSession));
+    }
+
+    @Test
+    void remove_ShouldFreeCapacity() {
+        // Given
+        QuizSession session = registry.open(this::newSession);
+        registry.open(this::newSession);
+        registry.open(this::newSession);
+
+        // When
+        boolean removed = registry.remove(session.getId());
+
+        // Then
+        assertTrue(removed);
+        assertFalse(registry.remove(session.getId()));
+        assertTrue(registry.get(session.getId()).isEmpty());
+        assertDoesNotThrow(() -> registry.open(this::newSession));
+    }
+
+    @Test
+    void open_WhenFactoryFails_ShouldNotKeepCapacity() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class, () -> registry.open(id -> {
+                throw new IllegalArgumentException("No cards");
+            }));
+        }
+
+        // When & Then
+        assertDoesNotThrow(() -> registry.open(this::newSession));
+    }
+
+    @Test
+    void open_FromManyThreads_ShouldNeverExceedLimit() {
+        // Given
+        ConcurrentLinkedQueue<QuizSession> opened = new ConcurrentLinkedQueue<>();
+
+        // When
+        IntStream.range(0, 100).parallel().forEach(i -> {
+            try {
+                opened.add(registry.open(this::newSession));
+            } catch (IllegalStateException e) {
+                // Registry full
+            }
+        });
+
+        // Then
+        assertEquals(3, opened.size());
+        assertEquals(3, registry.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizSessionTest {
+
+    private final List<int[]> loadedPages = new ArrayList<>();
+
+    private QuizSession.PageLoader loaderSkipping(Set<Long> deletedIds) {
+        return (ids, from, to) -> {
+            loadedPages.add(new int[]{from, to});
+            List<Card> cards = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                if (!deletedIds.contains(ids[i])) {
+                    Card card = new Card("Question " + ids[i], "Answer " + ids[i]);
+                    card.setId(ids[i]);
+                    cards.add(card);
+                }
+            }
+            return cards;
+        };
+    }
+
+    private List<Long> drain(QuizSession session) {
+        List<Long> served = new ArrayList<>();
+        while (session.hasNext()) {
+            served.add(session.next().getId());
+        }
+        return served;
+    }
+
+    @Test
+    void next_ShouldReturnEveryCardOnceAcrossPages() {
+        // Given
+        long[] ids = {5, 3, 9, 1, 7};
+
+        // When
+        try (QuizSession session = new QuizSession(1, 42, ids, 2, loaderSkipping(Set.of()), Runnable::run)) {
+            List<Long> served = drain(session);
+
+            // Then
+            assertEquals(Set.of(1L, 3L, 5L, 7L, 9L), new HashSet<>(served));
+            assertEquals(5, served.size());
+            assertEquals(5, session.getServed());
+        }
+    }
+
+    @Test
+    void constructor_WithSameSeed_ShouldReproduceOrder() {
+        // Given
+        long[] ids = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        // When
+        List<Long> first = drain(new QuizSession(1, 7, ids.clone(), 3, loaderSkipping(Set.of()), Runnable::run));
+        List<Long> second = drain(new QuizSession(2, 7, ids.clone(), 3, loaderSkipping(Set.of()), Runnable::run));
+        List<Long> other = drain(new QuizSession(3, 8, ids.clone(), 3, loaderSkipping(Set.of()), Runnable::run));
+
+        // Then
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void constructor_ShouldLoadFirstPageAndPrefetchSecond() {
+        // Given
+        long[] ids = {1, 2, 3, 4, 5, 6};
+
+        // When
+        try (QuizSession session = new QuizSession(1, 42, ids, 2, loaderSkipping(Set.of()), Runnable::run)) {
+            // Then
+            assertEquals(2, loadedPages.size());
+            assertArrayEquals(new int[]{0, 2}, loadedPages.get(0));
+            assertArrayEquals(new int[]{2, 4}, loadedPages.get(1));
+        }
+    }
+
+    @Test
+    void next_WithDeletedCards_ShouldSkipThem() {
+        // Given
+        long[] ids = {1, 2, 3, 4, 5};
+
+        // When
+        List<Long> served;
+        try (QuizSession session = new QuizSession(1, 42, ids, 2, loaderSkipping(Set.of(2L, 3L, 4L)), Runnable::run)) {
+            served = drain(session);
+        }
+
+        // Then
+        assertEquals(Set.of(1L, 5L), new HashSet<>(served));
+        assertEquals(2, served.size());
+    }
+
+    @Test
+    void next_WhenExhausted_ShouldThrowException() {
+        // Given
+        QuizSession session = new QuizSession(1, 42, new long[0], 2, loaderSkipping(Set.of()), Runnable::run);
+
+        // When & Then
+        assertFalse(session.hasNext());
+        assertThrows(NoSuchElementException.class, session::next);
+        assertTrue(loadedPages.isEmpty());
+    }
+
+    @Test
+    void close_ShouldEndSession() {
+        // Given
+        QuizSession session = new QuizSession(1, 42, new long[]{1, 2, 3}, 2, loaderSkipping(Set.of()), Runnable::run);
+        session.recordAnswer(true);
+        session.recordAnswer(false);
+
+        // When
+        session.close();
+
+        // Then
+        assertFalse(session.hasNext());
+        assertEquals(2, session.getAnswered());
+        assertEquals(1, session.getCorrect());
+    }
+
+    @Test
+    void getResponseTimeSummary_ShouldSummarizeMeasuredAnswersOnly() {
+        // Given
+        QuizSession session = new QuizSession(1, 42, new long[]{1, 2, 3}, 2, loaderSkipping(Set.of()), Runnable::run);
+        for (int i = 1; i <= 40; i++) {
+            session.recordAnswer(true, i * 1_000_000L);
+        }
+        session.recordAnswer(false);
+
+        // When
+        ResponseTimeSummary summary = session.getResponseTimeSummary();
+
+        // Then
+        assertEquals(41, session.getAnswered());
+        assertEquals(40, summary.getCount());
+        assertEquals(20_500_000L, summary.getMeanNanos());
+        assertEquals(20_000_000L, summary.getMedianNanos());
+        assertEquals(38_000_000L, summary.getP95Nanos());
+        assertThrows(IllegalArgumentException.class, () -> session.recordAnswer(true, -1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseTimeSummaryTest {
+
+    @Test
+    void of_ShouldUseNearestRankPercentilesOfUnsortedValues() {
+        // Given
+        long[] responseNanos = {500, 100, 400, 200, 300, 0, 0};
+
+        // When
+        ResponseTimeSummary summary = ResponseTimeSummary.of(responseNanos, 5);
+
+        // Then
+        assertEquals(5, summary.getCount());
+        assertEquals(300, summary.getMeanNanos());
+        assertEquals(300, summary.getMedianNanos());
+        assertEquals(500, summary.getP95Nanos());
+        assertEquals(500, responseNanos[0]);
+    }
+
+    @Test
+    void of_WithSingleValue_ShouldReturnItForEveryStatistic() {
+        // When
+        ResponseTimeSummary summary = ResponseTimeSummary.of(new long[]{42}, 1);
+
+        // Then
+        assertEquals(42, summary.getMeanNanos());
+        assertEquals(42, summary.getMedianNanos());
+        assertEquals(42, summary.getP95Nanos());
+    }
+
+    @Test
+    void of_WithNoValues_ShouldReturnZeroes() {
+        // When
+        ResponseTimeSummary summary = ResponseTimeSummary.of(new long[4], 0);
+
+        // Then
+        assertEquals(0, summary.getCount());
+        assertEquals(0, summary.getMeanNanos());
+        assertEquals(0, summary.getP95Nanos());
+    }
+}
@@ -0,0 +1,219 @@
+package com.flashcard.service;
+
+import com.flashcard.config.FlashcardProperties;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.flashcard.model.ReviewLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReviewLogWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private ReviewLogWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private ReviewLogWriter startWriter(int capacity, int batchSize, FlashcardProperties.ReviewLog.OverflowPolicy policy) {
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getReviewLog().setQueueCapacity(capacity);
+        properties.getReviewLog().setBatchSize(batchSize);
+        properties.getReviewLog().setOverflowPolicy(policy);
+        properties.getReviewLog().setShutdownTimeoutSeconds(5);
+        writer = new ReviewLogWriter(jdbcTemplate, mock(PlatformTransactionManager.class), properties);
+        writer.start();
+        return writer;
+    }
+
+    private static ReviewLog entry(long cardId) {
+        return new ReviewLog(cardId, cardId % 2 == 0, 1200L, LocalDateTime.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatchSizes(CountDownLatch release) {
+        when(jdbcTemplate.batchUpdate(eq(ReviewLogWriter.INSERT_SQL), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            Collection<ReviewLog> batch = invocation.getArgument(1);
+            batchSizes.add(batch.size());
+            return new int[0][];
+        });
+    }
+
+    @Test
+    void record_ShouldWriteEveryEntryInBatches() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(0);
+        recordBatchSizes(release);
+        startWriter(1000, 100, FlashcardProperties.ReviewLog.OverflowPolicy.BLOCK);
+
+        // When
+        for (long i = 1; i <= 250; i++) {
+            assertTrue(writer.record(entry(i)));
+        }
+        boolean flushed = writer.flush(5, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(flushed);
+        assertEquals(250, writer.getWrittenCount());
+        assertEquals(250, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+    }
+
+    @Test
+    void record_WithDropPolicyAndFullQueue_ShouldDropEntries() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        recordBatchSizes(release);
+        startWriter(10, 5, FlashcardProperties.ReviewLog.OverflowPolicy.DROP);
+
+        // When
+        List<Boolean> results = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            results.add(writer.record(entry(i)));
+        }
+        release.countDown();
+        writer.flush(5, TimeUnit.SECONDS);
+
+        // Then
+        long queued = results.stream().filter(Boolean::booleanValue).count();
+        assertTrue(writer.getDroppedCount() > 0);
+        assertEquals(100, queued + writer.getDroppedCount());
+        assertEquals(queued, writer.getWrittenCount());
+    }
+
+    @Test
+    void record_RacingWithStop_ShouldWriteOrDropEveryEntry() throws InterruptedException {
+        // Given
+        recordBatchSizes(new CountDownLatch(0));
+        int threads = 4;
+        int perThread = 2000;
+
+        for (int round = 0; round < 20; round++) {
+            batchSizes.clear();
+            startWriter(10_000, 50, FlashcardProperties.ReviewLog.OverflowPolicy.DROP);
+            ReviewLogWriter current = writer;
+            CountDownLatch started = new CountDownLatch(threads);
+            List<Thread> recorders = new ArrayList<>();
+            AtomicInteger queued = new AtomicInteger();
+            for (int t = 0; t < threads; t++) {
+                Thread recorder = new Thread(() -> {
+                    started.countDown();
+                    for (long i = 1; i <= perThread; i++) {
+                        if (current.record(entry(i))) {
+                            queued.incrementAndGet();
+                        }
+                    }
+                });
+                recorders.add(recorder);
+                recorder.start();
+            }
+
+            // When
+            started.await();
+            current.stop();
+            for (Thread recorder : recorders) {
+                recorder.join();
+            }
+
+            // Then: nothing accepted is left behind, so a flush returns at once
+            assertTrue(current.flush(1, TimeUnit.SECONDS));
+            assertEquals(queued.get(), current.getWrittenCount());
+            assertEquals(threads * perThread, current.getWrittenCount() + current.getDroppedCount());
+            assertEquals(0, current.getQueuedCount());
+            writer = null;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_WhenBatchFails_ShouldCountAndLogFailedEntries() throws InterruptedException {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Disk full"));
+        Logger logger = (Logger) LoggerFactory.getLogger(ReviewLogWriter.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        startWriter(100, 10, FlashcardProperties.ReviewLog.OverflowPolicy.BLOCK);
+
+        // When
+        boolean flushed;
+        try {
+            writer.record(entry(1));
+            writer.record(entry(2));
+            flushed = writer.flush(5, TimeUnit.SECONDS);
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        // Then
+        assertTrue(flushed);
+        assertEquals(2, writer.getFailedCount());
+        assertEquals(0, writer.getWrittenCount());
+        int loggedEntries = 0;
+        for (ILoggingEvent event : appender.list) {
+            assertEquals(Level.ERROR, event.getLevel());
+            assertEquals("Disk full", event.getThrowableProxy().getMessage());
+            loggedEntries += (Integer) event.getArgumentArray()[0];
+        }
+        assertEquals(2, loggedEntries);
+    }
+
+    @Test
+    void stop_ShouldWriteQueuedEntriesAndRejectNewOnes() {
+        // Given
+        CountDownLatch release = new CountDownLatch(0);
+        recordBatchSizes(release);
+        startWriter(1000, 10, FlashcardProperties.ReviewLog.OverflowPolicy.BLOCK);
+        for (long i = 1; i <= 50; i++) {
+            writer.record(entry(i));
+        }
+
+        // When
+        writer.stop();
+
+        // Then
+        assertEquals(50, writer.getWrittenCount());
+        assertFalse(writer.record(entry(51)));
+        assertEquals(1, writer.getDroppedCount());
+        writer = null;
+    }
+
+    @Test
+    void record_WithoutCardId_ShouldThrowException() {
+        // Given
+        startWriter(10, 5, FlashcardProperties.ReviewLog.OverflowPolicy.BLOCK);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.record(new ReviewLog(null, true, null, LocalDateTime.now())));
+    }
+}
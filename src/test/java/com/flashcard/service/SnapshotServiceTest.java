@@ -0,0 +1,179 @@
+package com.flashcard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.config.FlashcardProperties;
+import com.flashcard.model.Deck;
+import com.flashcard.model.dto.CardExportData;
+import com.flashcard.model.dto.SnapshotRow;
+import com.flashcard.model.dto.SnapshotSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotServiceTest {
+
+    @Mock
+    private DeckService deckService;
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    Path tempDir;
+
+    private SnapshotService snapshotService;
+
+    /**
+     * Cards restored per deck name, in the order they were saved
+     */
+    private final Map<String, List<String>> restored = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FlashcardProperties properties = new FlashcardProperties();
+        properties.getFile().setImportBatchSize(2);
+        FileService fileService = new FileService(objectMapper, deckService, cardService, properties, entityManager);
+        snapshotService = new SnapshotService(objectMapper, deckService, cardService, fileService, entityManager);
+    }
+
+    private void recordRestoredCards() {
+        when(deckService.createDeckWithUniqueName(anyString())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            restored.put(name, new ArrayList<>());
+            return new Deck(name);
+        });
+        when(cardService.createCards(any(Deck.class), anyCollection())).thenAnswer(invocation -> {
+            Deck deck = invocation.getArgument(0);
+            for (CardExportData card : invocation.<List<CardExportData>>getArgument(1)) {
+                restored.get(deck.getName()).add(card.getQuestion() + "=" + card.getAnswer());
+            }
+            return List.of();
+        });
+    }
+
+    private Path exportSampleSnapshot() throws IOException {
+        when(deckService.streamSnapshotRows()).thenReturn(Stream.of(
+                new SnapshotRow(1L, "Capitals", "France", "Paris"),
+                new SnapshotRow(1L, "Capitals", "Italy", "Rome"),
+                new SnapshotRow(1L, "Capitals", "Spain", "Madrid"),
+                new SnapshotRow(2L, "Empty", null, null),
+                new SnapshotRow(3L, "Rivers", "Longest", "Nile")));
+        Path path = tempDir.resolve("backup.zip");
+        SnapshotSummary summary = snapshotService.exportSnapshot(path.toString());
+        assertEquals(3, summary.getDeckCount());
+        assertEquals(4, summary.getCardCount());
+        return path;
+    }
+
+    @Test
+    void restoreSnapshot_InMergeMode_ShouldRecreateEveryDeckWithoutDeleting() throws Exception {
+        // Given
+        Path path = exportSampleSnapshot();
+        recordRestoredCards();
+
+        // When
+        SnapshotSummary summary = snapshotService.restoreSnapshot(path.toString(), SnapshotService.RestoreMode.MERGE);
+
+        // Then
+        assertEquals(3, summary.getDeckCount());
+        assertEquals(Map.of(
+                "Capitals", List.of("France=Paris", "Italy=Rome", "Spain=Madrid"),
+                "Empty", List.of(),
+                "Rivers", List.of("Longest=Nile")), restored);
+        assertEquals(List.of("Capitals", "Empty", "Rivers"), List.copyOf(restored.keySet()));
+        verify(cardService, never()).deleteAllCards();
+        verify(deckService, never()).deleteAllDecks();
+        // Two batches for Capitals, one for Rivers, each released from the persistence context
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void restoreSnapshot_InReplaceMode_ShouldDeleteEverythingBeforeRestoring() throws Exception {
+        // Given
+        Path path = exportSampleSnapshot();
+        recordRestoredCards();
+
+        // When
+        SnapshotSummary summary = snapshotService.restoreSnapshot(path.toString(), SnapshotService.RestoreMode.REPLACE);
+
+        // Then
+        assertEquals(3, summary.getDeckCount());
+        assertEquals(List.of("France=Paris", "Italy=Rome", "Spain=Madrid"), restored.get("Capitals"));
+        InOrder order = inOrder(cardService, deckService);
+        order.verify(cardService).deleteAllCards();
+        order.verify(deckService).deleteAllDecks();
+        order.verify(deckService).createDeckWithUniqueName("Capitals");
+    }
+
+    @Test
+    void restoreSnapshot_WithoutManifest_ShouldFailBeforeDeletingAnything() throws Exception {
+        // Given
+        Path path = tempDir.resolve("other.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path))) {
+            zip.putNextEntry(new ZipEntry("decks/000001.json"));
+            zip.write("{\"name\":\"Capitals\",\"cards\":[]}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class,
+                () -> snapshotService.restoreSnapshot(path.toString(), SnapshotService.RestoreMode.REPLACE));
+        assertEquals("Not a flashcard snapshot archive: missing manifest.json", exception.getMessage());
+        verifyNoInteractions(cardService, deckService);
+    }
+
+    @Test
+    void restoreSnapshot_WithCorruptDeckEntry_ShouldFailSoTheTransactionRollsBack() throws Exception {
+        // Given
+        Path path = tempDir.resolve("corrupt.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path))) {
+            zip.putNextEntry(new ZipEntry("decks/000001.json"));
+            zip.write("{\"name\":\"Capitals\",\"cards\":[{\"question\":\"France\",\"answer\":\"Paris\"}]}"
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("decks/000002.json"));
+            zip.write("{\"name\":\"Rivers\",\"cards\":[{\"question\":".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry(SnapshotService.MANIFEST_ENTRY));
+            zip.write("{\"format\":\"flashcard-snapshot\",\"version\":1}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        recordRestoredCards();
+
+        // When & Then
+        assertThrows(IOException.class,
+                () -> snapshotService.restoreSnapshot(path.toString(), SnapshotService.RestoreMode.REPLACE));
+        verify(cardService).deleteAllCards();
+        Transactional transactional = SnapshotService.class
+                .getMethod("restoreSnapshot", String.class, SnapshotService.RestoreMode.class)
+                .getAnnotation(Transactional.class);
+        assertArrayEquals(new Class<?>[]{IOException.class}, transactional.rollbackFor());
+    }
+}
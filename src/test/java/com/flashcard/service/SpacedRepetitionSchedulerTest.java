@@ -0,0 +1,88 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpacedRepetitionSchedulerTest {
+
+    private final SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler();
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        card = new Card("Question", "Answer");
+    }
+
+    @Test
+    void newCard_ShouldBeDueImmediately() {
+        // Then
+        assertEquals(card.getCreatedAt(), card.getDueAt());
+        assertEquals(0, card.getRepetitions());
+        assertEquals(Card.INITIAL_EASE_FACTOR, card.getEaseFactor());
+    }
+
+    @Test
+    void applyReview_WithConsecutiveGoodGrades_ShouldFollowSm2Intervals() {
+        // When & Then
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.GOOD, now);
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(now.plusDays(1), card.getDueAt());
+
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.GOOD, now);
+        assertEquals(6, card.getIntervalDays());
+
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.GOOD, now);
+        assertEquals(15, card.getIntervalDays());
+        assertEquals(3, card.getRepetitions());
+        assertEquals(2.5, card.getEaseFactor(), 1e-9);
+        assertEquals(now, card.getLastReviewedAt());
+    }
+
+    @Test
+    void applyReview_WithAgainAfterLearning_ShouldResetAndCountLapse() {
+        // Given
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.GOOD, now);
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.GOOD, now);
+
+        // When
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.AGAIN, now);
+
+        // Then
+        assertEquals(0, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(1, card.getLapses());
+        assertEquals(1.96, card.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void applyReview_WithAgainOnNewCard_ShouldNotCountLapse() {
+        // When
+        scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.AGAIN, now);
+
+        // Then
+        assertEquals(0, card.getLapses());
+    }
+
+    @Test
+    void applyReview_WithRepeatedFailures_ShouldNotDropEaseBelowMinimum() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            scheduler.applyReview(card, SpacedRepetitionScheduler.Grade.AGAIN, now);
+        }
+
+        // Then
+        assertEquals(SpacedRepetitionScheduler.MIN_EASE_FACTOR, card.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void applyReview_WithNullGrade_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> scheduler.applyReview(card, null, now));
+    }
+}
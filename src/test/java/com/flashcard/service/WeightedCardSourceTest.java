@@ -0,0 +1,153 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedCardSourceTest {
+
+    private static QuizSession.PageLoader loaderSkipping(Set<Long> deletedIds) {
+        return (ids, from, to) -> {
+            List<Card> cards = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                if (!deletedIds.contains(ids[i])) {
+                    Card card = new Card("Question " + ids[i], "Answer " + ids[i]);
+                    card.setId(ids[i]);
+                    cards.add(card);
+                }
+            }
+            return cards;
+        };
+    }
+
+    private static double[] unreviewed(int size) {
+        double[] accuracies = new double[size];
+        Arrays.fill(accuracies, Double.NaN);
+        return accuracies;
+    }
+
+    @Test
+    void difficultyWeight_ShouldFavourInaccurateAndUnreviewedCards() {
+        // When & Then
+        assertEquals(WeightedCardSource.UNREVIEWED_WEIGHT, WeightedCardSource.difficultyWeight(Double.NaN));
+        assertEquals(1.0, WeightedCardSource.difficultyWeight(0.0), 1e-12);
+        assertEquals(WeightedCardSource.MIN_WEIGHT, WeightedCardSource.difficultyWeight(1.0), 1e-12);
+        assertTrue(WeightedCardSource.difficultyWeight(0.3) > WeightedCardSource.difficultyWeight(0.8));
+    }
+
+    @Test
+    void next_ShouldDrawWeakCardsMoreOften() {
+        // Given: card 1 is always answered correctly, card 2 always wrong
+        WeightedCardSource source = new WeightedCardSource(new long[]{1, 2, 3}, new double[]{1.0, 0.0, 0.0},
+                30_000, 7, loaderSkipping(Set.of()));
+        int[] counts = new int[4];
+
+        // When
+        while (source.hasNext()) {
+            counts[source.next().getId().intValue()]++;
+        }
+
+        // Then
+        assertEquals(30_000, counts[1] + counts[2] + counts[3]);
+        assertTrue(counts[2] > 5 * counts[1], () -> Arrays.toString(counts));
+    }
+
+    @Test
+    void next_ShouldNotRepeatCardTwiceInARow() {
+        // Given
+        WeightedCardSource source = new WeightedCardSource(new long[]{1, 2}, unreviewed(2), 200, 3,
+                loaderSkipping(Set.of()));
+
+        // When & Then
+        long previous = -1;
+        while (source.hasNext()) {
+            long id = source.next().getId();
+            assertNotEquals(previous, id);
+            previous = id;
+        }
+    }
+
+    @Test
+    void recordAnswer_ShouldLowerWeightOfCorrectlyAnsweredCard() {
+        // Given
+        double[] accuracies = unreviewed(2);
+        WeightedCardSource source = new WeightedCardSource(new long[]{1, 2}, accuracies, 10, 5,
+                loaderSkipping(Set.of()));
+        int index = source.next().getId() == 1 ? 0 : 1;
+
+        // When
+        source.recordAnswer(true);
+        source.next();
+        source.recordAnswer(false);
+
+        // Then
+        assertEquals(1.0, accuracies[index], 1e-12);
+        assertEquals(0.0, accuracies[1 - index], 1e-12);
+    }
+
+    @Test
+    void next_WithSameSeed_ShouldReproduceDraws() {
+        // Given
+        long[] ids = {1, 2, 3, 4, 5};
+        WeightedCardSource first = new WeightedCardSource(ids, unreviewed(5), 50, 99, loaderSkipping(Set.of()));
+        WeightedCardSource second = new WeightedCardSource(ids, unreviewed(5), 50, 99, loaderSkipping(Set.of()));
+
+        // When & Then
+        while (first.hasNext()) {
+            assertEquals(first.next().getId(), second.next().getId());
+        }
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void next_ShouldLoadDrawnCardsInBatchesWithoutDuplicateIds() {
+        // Given
+        List<Integer> loadSizes = new ArrayList<>();
+        QuizSession.PageLoader loader = loaderSkipping(Set.of());
+        WeightedCardSource source = new WeightedCardSource(new long[]{1, 2, 3}, unreviewed(3), 40, 9,
+                (ids, from, to) -> {
+                    assertEquals(to - from, Arrays.stream(ids, from, to).distinct().count());
+                    loadSizes.add(to - from);
+                    return loader.load(ids, from, to);
+                });
+
+        // When
+        int served = 0;
+        while (source.hasNext()) {
+            source.next();
+            served++;
+        }
+
+        // Then
+        assertEquals(40, served);
+        assertEquals(40 / WeightedCardSource.DRAW_AHEAD, loadSizes.size());
+        assertTrue(loadSizes.stream().allMatch(size -> size <= 3));
+    }
+
+    @Test
+    void hasNext_WithDeletedCards_ShouldSkipThemAndStopWhenNoneLeft() {
+        // Given
+        WeightedCardSource source = new WeightedCardSource(new long[]{1, 2, 3}, unreviewed(3), 20, 1,
+                loaderSkipping(Set.of(1L, 3L)));
+
+        // When
+        List<Long> served = new ArrayList<>();
+        while (source.hasNext()) {
+            served.add(source.next().getId());
+        }
+
+        // Then: card 2 can only be repeated once nothing else is left
+        assertEquals(20, served.size());
+        assertTrue(served.stream().allMatch(id -> id == 2L));
+
+        WeightedCardSource allDeleted = new WeightedCardSource(new long[]{1, 3}, unreviewed(2), 5, 1,
+                loaderSkipping(Set.of(1L, 3L)));
+        assertFalse(allDeleted.hasNext());
+    }
+}
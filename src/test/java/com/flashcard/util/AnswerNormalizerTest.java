@@ -0,0 +1,73 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerNormalizerTest {
+
+    @Test
+    void normalize_WithAccentsAndCase_ShouldFoldThem() {
+        // When & Then
+        assertEquals("cafe", AnswerNormalizer.normalize("Café"));
+        assertEquals("cafe", AnswerNormalizer.normalize("CAFÉ"));
+        assertEquals("ubung", AnswerNormalizer.normalize("Übung"));
+        assertEquals("strasse", AnswerNormalizer.normalize("Straße"));
+    }
+
+    @Test
+    void normalize_WithCompatibilityCharacters_ShouldDecomposeThem() {
+        // When & Then
+        assertEquals("abc 123", AnswerNormalizer.normalize("ＡＢＣ　１２３"));
+        assertEquals("fine", AnswerNormalizer.normalize("ﬁne"));
+    }
+
+    @Test
+    void normalize_WithWhitespaceAndPunctuation_ShouldCollapseToSingleSpaces() {
+        // When & Then
+        assertEquals("new york city", AnswerNormalizer.normalize("  New-York,\tCity!  "));
+        assertEquals("", AnswerNormalizer.normalize(" \t "));
+        assertEquals("", AnswerNormalizer.normalize(null));
+    }
+
+    @Test
+    void normalize_WithOnlyPunctuation_ShouldKeepIt() {
+        // When & Then
+        assertEquals("?", AnswerNormalizer.normalize(" ? "));
+        assertEquals("... !", AnswerNormalizer.normalize("...  !"));
+    }
+
+    @Test
+    void normalize_WithSignificantSymbols_ShouldKeepThem() {
+        // When & Then
+        assertEquals("c#", AnswerNormalizer.normalize("C#"));
+        assertEquals("c++", AnswerNormalizer.normalize(" C++ "));
+        assertEquals("c#", AnswerNormalizer.normalize("Ｃ＃"));
+        assertEquals("100% r&d", AnswerNormalizer.normalize("100%, R&D!"));
+        assertNotEquals(AnswerNormalizer.normalize("C"), AnswerNormalizer.normalize("C#"));
+    }
+
+    @Test
+    void normalizeAnswer_ShouldNormalizeEachVariant() {
+        // When & Then
+        assertEquals("car;automobile;auto", AnswerNormalizer.normalizeAnswer("Car; Automobile,  AUTO "));
+        assertEquals("a;b", AnswerNormalizer.normalizeAnswer("a;;  ,b"));
+    }
+
+    @Test
+    void normalize_ShouldAgreeWithNormalizerForLatinText() {
+        // Given
+        String text = "Ça été déjà Ærøskøbing naïve façade";
+
+        // When
+        String expected = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase()
+                .toLowerCase();
+
+        // Then
+        assertEquals(expected, AnswerNormalizer.normalize(text));
+    }
+}
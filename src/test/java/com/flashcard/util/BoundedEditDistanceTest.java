@@ -0,0 +1,99 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedEditDistanceTest {
+
+    @Test
+    void isWithin_WithSingleTypo_ShouldRespectBound() {
+        // Given
+        BoundedEditDistance distance = BoundedEditDistance.compile("Photosynthesis");
+
+        // When & Then
+        assertTrue(distance.isWithin("photosynthesis", 0, 14, 0));
+        assertTrue(distance.isWithin("photosinthesis", 0, 14, 1));
+        assertFalse(distance.isWithin("fotosynthesis", 0, 13, 1));
+        assertTrue(distance.isWithin("fotosynthesis", 0, 13, 2));
+    }
+
+    @Test
+    void isWithin_WithTextRegion_ShouldOnlyCompareRegion() {
+        // Given
+        BoundedEditDistance distance = BoundedEditDistance.compile("Paris");
+
+        // When & Then
+        assertTrue(distance.isWithin("  PARSI  ", 2, 5, 2));
+        assertFalse(distance.isWithin("  PARSI  ", 2, 5, 1));
+    }
+
+    @Test
+    void isWithin_WithRandomStrings_ShouldMatchFullDynamicProgramming() {
+        // Given
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            // Pattern lengths on both sides of the 64 character bit-parallel limit
+            String pattern = randomString(random, random.nextInt(2) == 0 ? random.nextInt(12) : 60 + random.nextInt(10));
+            String text = mutate(random, pattern);
+            BoundedEditDistance distance = BoundedEditDistance.compile(pattern);
+            int expected = levenshtein(pattern.toLowerCase(), text.toLowerCase());
+
+            // When & Then
+            for (int bound = 0; bound <= 4; bound++) {
+                assertEquals(expected <= bound, distance.isWithin(text, 0, text.length(), bound),
+                        "[" + pattern + "] vs [" + text + "] within " + bound);
+            }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("abcABC".charAt(random.nextInt(6)));
+        }
+        return sb.toString();
+    }
+
+    private static String mutate(Random random, String text) {
+        StringBuilder sb = new StringBuilder(text);
+        int edits = random.nextInt(5);
+        for (int i = 0; i < edits; i++) {
+            int position = sb.length() == 0 ? 0 : random.nextInt(sb.length());
+            switch (random.nextInt(3)) {
+                case 0 -> sb.insert(position, (char) ('a' + random.nextInt(3)));
+                case 1 -> {
+                    if (sb.length() > 0) {
+                        sb.deleteCharAt(position);
+                    }
+                }
+                default -> {
+                    if (sb.length() > 0) {
+                        sb.setCharAt(position, (char) ('a' + random.nextInt(3)));
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            table[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            table[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                table[i][j] = Math.min(table[i - 1][j - 1] + cost, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+}
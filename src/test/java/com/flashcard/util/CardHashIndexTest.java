@@ -0,0 +1,42 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardHashIndexTest {
+
+    @Test
+    void addCard_ShouldIndexContentAndFirstCardPerQuestion() {
+        // Given
+        CardHashIndex index = new CardHashIndex();
+
+        // When
+        index.addCard(1L, 10L, 100L);
+        index.addCard(2L, 10L, 200L);
+
+        // Then
+        assertEquals(1L, index.findCardId(10L));
+        assertEquals(CardHashIndex.NO_CARD, index.findCardId(11L));
+        assertTrue(index.containsContent(100L));
+        assertTrue(index.containsContent(200L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void updateContent_ShouldReplaceOnlyThatCardsContent() {
+        // Given: cards 1 and 2 are identical
+        CardHashIndex index = new CardHashIndex();
+        index.addCard(1L, 10L, 100L);
+        index.addCard(2L, 10L, 100L);
+
+        // When & Then
+        index.updateContent(1L, 101L);
+        assertTrue(index.containsContent(100L));
+        assertTrue(index.containsContent(101L));
+
+        index.updateContent(2L, 102L);
+        assertFalse(index.containsContent(100L));
+        assertTrue(index.containsContent(102L));
+    }
+}
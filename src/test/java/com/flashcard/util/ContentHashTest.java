@@ -0,0 +1,42 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHashTest {
+
+    @Test
+    void ofCard_WithQuestionInDifferentCaseAndWhitespace_ShouldBeEqual() {
+        // When & Then
+        assertEquals(ContentHash.ofCard("What is  Java?", "A language"),
+                ContentHash.ofCard("  what is java?\t", " A language\n"));
+    }
+
+    @Test
+    void ofCard_WithAnswerInDifferentCase_ShouldDiffer() {
+        // When & Then
+        assertNotEquals(ContentHash.ofCard("Capital of France?", "paris"),
+                ContentHash.ofCard("Capital of France?", "Paris"));
+    }
+
+    @Test
+    void ofCard_WithTextMovedBetweenFields_ShouldDiffer() {
+        // When & Then
+        assertNotEquals(ContentHash.ofCard("ab", "c"), ContentHash.ofCard("a", "bc"));
+    }
+
+    @Test
+    void ofCard_WithDifferentAnswer_ShouldDifferWhileQuestionHashMatches() {
+        // When & Then
+        assertNotEquals(ContentHash.ofCard("Capital of France?", "Paris"),
+                ContentHash.ofCard("Capital of France?", "Lyon"));
+        assertEquals(ContentHash.ofQuestion("Capital of France?"), ContentHash.ofQuestion("capital of  france?"));
+    }
+
+    @Test
+    void ofQuestion_WithNull_ShouldEqualEmptyText() {
+        // When & Then
+        assertEquals(ContentHash.ofQuestion(""), ContentHash.ofQuestion(null));
+    }
+}
@@ -0,0 +1,143 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenwickSamplerTest {
+
+    @Test
+    void sample_ShouldPickItemWhosePrefixRangeContainsTarget() {
+        // Given: ranges [0, 1), [1, 3), [3, 3) and [3, 7) out of 7
+        FenwickSampler sampler = new FenwickSampler(new double[]{1, 2, 0, 4});
+
+        // When & Then
+        assertEquals(7, sampler.total(), 1e-12);
+        assertEquals(0, sampler.sample(0.0));
+        assertEquals(0, sampler.sample(0.9 / 7));
+        assertEquals(1, sampler.sample(1.0 / 7));
+        assertEquals(1, sampler.sample(2.9 / 7));
+        assertEquals(3, sampler.sample(3.0 / 7));
+        assertEquals(3, sampler.sample(0.999999));
+    }
+
+    @Test
+    void setWeight_ShouldMatchLinearScanAfterRandomUpdates() {
+        // Given
+        int size = 1000;
+        double[] weights = new double[size];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < size; i++) {
+            weights[i] = random.nextInt(5);
+        }
+        FenwickSampler sampler = new FenwickSampler(weights);
+
+        // When & Then
+        for (int round = 0; round < 2000; round++) {
+            int index = random.nextInt(size);
+            weights[index] = random.nextInt(5);
+            sampler.setWeight(index, weights[index]);
+
+            double uniform = random.nextDouble();
+            assertEquals(linearSample(weights, uniform), sampler.sample(uniform));
+        }
+    }
+
+    @Test
+    void sample_ShouldDrawInProportionToWeights() {
+        // Given
+        FenwickSampler sampler = new FenwickSampler(new double[]{1, 3, 6});
+        SplittableRandom random = new SplittableRandom(11);
+        int[] counts = new int[3];
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random.nextDouble())]++;
+        }
+
+        // Then
+        assertEquals(0.1, counts[0] / 100_000.0, 0.01);
+        assertEquals(0.3, counts[1] / 100_000.0, 0.01);
+        assertEquals(0.6, counts[2] / 100_000.0, 0.01);
+    }
+
+    @Test
+    void sampleExcluding_ShouldMatchLinearScanWithoutExcludedItem() {
+        // Given
+        int size = 500;
+        double[] weights = new double[size];
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < size; i++) {
+            weights[i] = random.nextInt(4);
+        }
+        FenwickSampler sampler = new FenwickSampler(weights);
+
+        // When & Then
+        for (int round = 0; round < 2000; round++) {
+            int excluded = random.nextInt(size);
+            double uniform = random.nextDouble();
+            double[] without = weights.clone();
+            without[excluded] = 0;
+            assertEquals(linearSample(without, uniform), sampler.sample(uniform, excluded));
+            assertEquals(weights[excluded], sampler.getWeight(excluded));
+        }
+    }
+
+    @Test
+    void sampleExcluding_WithOnlyExcludedItemWeighted_ShouldReturnMinusOne() {
+        // Given
+        FenwickSampler sampler = new FenwickSampler(new double[]{0, 3, 0});
+
+        // When & Then
+        assertEquals(-1, sampler.sample(0.5, 1));
+        assertEquals(1, sampler.sample(0.5, 0));
+    }
+
+    @Test
+    void sample_WithAllWeightsZero_ShouldReturnMinusOne() {
+        // Given
+        FenwickSampler sampler = new FenwickSampler(new double[]{2, 5});
+        sampler.setWeight(0, 0);
+        sampler.setWeight(1, 0);
+
+        // When & Then
+        assertEquals(-1, sampler.sample(0.5));
+        assertEquals(-1, new FenwickSampler(new double[0]).sample(0.5));
+    }
+
+    @Test
+    void setWeight_WithNegativeOrNaN_ShouldThrow() {
+        // Given
+        FenwickSampler sampler = new FenwickSampler(new double[]{1});
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> sampler.setWeight(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> sampler.setWeight(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new FenwickSampler(new double[]{Double.POSITIVE_INFINITY}));
+    }
+
+    private static int linearSample(double[] weights, double uniform) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (total <= 0) {
+            return -1;
+        }
+        double target = uniform * total;
+        double prefix = 0;
+        int last = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                last = i;
+                prefix += weights[i];
+                if (target < prefix) {
+                    return i;
+                }
+            }
+        }
+        return last;
+    }
+}
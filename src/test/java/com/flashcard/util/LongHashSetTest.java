@@ -0,0 +1,74 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void add_WithDuplicateValue_ShouldReturnFalse() {
+        // Given
+        LongHashSet set = new LongHashSet();
+
+        // When & Then
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_WithZero_ShouldBeTrackedSeparately() {
+        // Given
+        LongHashSet set = new LongHashSet();
+
+        // When
+        boolean added = set.add(0L);
+
+        // Then
+        assertTrue(added);
+        assertTrue(set.contains(0L));
+        assertFalse(set.add(0L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_WithManyRandomValues_ShouldMatchHashSetAfterGrowing() {
+        // Given
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextInt(30_000) - 15_000L;
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        // Then
+        assertEquals(expected.size(), set.size());
+        for (long value = -16_000; value < 16_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void clear_ShouldRemoveAllValues() {
+        // Given
+        LongHashSet set = new LongHashSet();
+        set.add(0L);
+        set.add(5L);
+
+        // When
+        set.clear();
+
+        // Then
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(5L));
+    }
+}
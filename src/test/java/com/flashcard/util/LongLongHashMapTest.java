@@ -0,0 +1,55 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongHashMapTest {
+
+    @Test
+    void get_WithMissingKey_ShouldReturnMissingValue() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(8, -1L);
+
+        // When & Then
+        assertEquals(-1L, map.get(3L));
+        assertFalse(map.containsKey(3L));
+    }
+
+    @Test
+    void put_WithExistingKey_ShouldReplaceValueAndReturnPrevious() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(8, -1L);
+        map.put(0L, 10L);
+        map.put(7L, 20L);
+
+        // When
+        long previousZero = map.put(0L, 11L);
+        long previousSeven = map.put(7L, 21L);
+
+        // Then
+        assertEquals(10L, previousZero);
+        assertEquals(20L, previousSeven);
+        assertEquals(11L, map.get(0L));
+        assertEquals(21L, map.get(7L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void put_WithManyKeys_ShouldKeepAllEntriesAfterGrowing() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(0, -1L);
+
+        // When
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key * 31, key);
+        }
+
+        // Then
+        assertEquals(100_000, map.size());
+        for (long key = 1; key <= 100_000; key++) {
+            assertEquals(key, map.get(key * 31));
+        }
+        assertEquals(-1L, map.get(32L));
+    }
+}
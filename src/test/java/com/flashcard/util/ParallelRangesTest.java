@@ -0,0 +1,39 @@
+package com.flashcard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelRangesTest {
+
+    @Test
+    void forEach_ShouldVisitEveryIndexOnceInSmallRanges() {
+        // Given
+        int size = 10 * ParallelRanges.SEQUENTIAL_THRESHOLD + 7;
+        AtomicIntegerArray visits = new AtomicIntegerArray(size);
+        AtomicInteger largestRange = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // When
+        try {
+            ParallelRanges.forEach(pool, size, (from, to) -> {
+                largestRange.accumulateAndGet(to - from, Math::max);
+                for (int i = from; i < to; i++) {
+                    visits.incrementAndGet(i);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        for (int i = 0; i < size; i++) {
+            assertEquals(1, visits.get(i));
+        }
+        assertTrue(largestRange.get() <= ParallelRanges.SEQUENTIAL_THRESHOLD);
+    }
+}